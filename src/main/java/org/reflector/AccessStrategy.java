@@ -0,0 +1,35 @@
+package org.reflector;
+
+/**
+ * How {@link FieldUtils#readField(Object, String)}, {@link InvokeUtils#invokeMethod(Object, String, Class[], Object[])}
+ * and {@link ObjectUtils#copy(Object)} reach fields and methods, selected with
+ * {@link ReflectorConfig#setAccessStrategy(AccessStrategy)}.
+ */
+public enum AccessStrategy {
+
+    /**
+     * Core reflection through {@link java.lang.reflect.Field} and {@link java.lang.reflect.Method}.
+     */
+    REFLECTION,
+
+    /**
+     * Method handles compiled once per member and cached.
+     */
+    METHOD_HANDLES,
+
+    /**
+     * Accessor classes generated at runtime per class, with a switch over the field or method index, defined as
+     * hidden nestmates of the class so they can reach its private members. On JDK 9 to 16 they are ordinary
+     * classes of its package that serve only non-private members. Members that the generated class cannot reach,
+     * and JDK 8, use {@link #METHOD_HANDLES}.
+     */
+    GENERATED;
+
+    /**
+     * @return true if the strategy is fully supported by the running JDK, which for {@link #GENERATED} requires
+     * hidden classes
+     */
+    public boolean isSupported() {
+        return this != GENERATED || JdkSupport.supportsHiddenClasses();
+    }
+}
@@ -0,0 +1,570 @@
+package org.reflector;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes the class files of {@link GeneratedAccessor} implementations.
+ *
+ * <p>The generated class serves the declared members of one host class: {@code get} and {@code set} switch
+ * over the field index and {@code invoke} over the method index, each case reading, writing or calling the
+ * member directly. An index the class does not serve throws {@link IllegalArgumentException}. The class is
+ * written in the version 49 format, which needs no stack map frames, and is defined in the package of the
+ * host, as a hidden nestmate where supported, giving it access to private members.
+ */
+final class AccessorGenerator {
+
+    static final String SUFFIX = "$$ReflectorAccessor";
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int VERSION = 49;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int ACONST_NULL = 0x01;
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int ALOAD_0 = 0x2A;
+    private static final int ALOAD_1 = 0x2B;
+    private static final int ALOAD_3 = 0x2D;
+    private static final int ILOAD_2 = 0x1C;
+    private static final int AALOAD = 0x32;
+    private static final int DUP = 0x59;
+    private static final int TABLESWITCH = 0xAA;
+    private static final int ARETURN = 0xB0;
+    private static final int RETURN = 0xB1;
+    private static final int GETSTATIC = 0xB2;
+    private static final int PUTSTATIC = 0xB3;
+    private static final int GETFIELD = 0xB4;
+    private static final int PUTFIELD = 0xB5;
+    private static final int INVOKEVIRTUAL = 0xB6;
+    private static final int INVOKESPECIAL = 0xB7;
+    private static final int INVOKESTATIC = 0xB8;
+    private static final int NEW = 0xBB;
+    private static final int ATHROW = 0xBF;
+    private static final int CHECKCAST = 0xC0;
+
+    private static final int MAX_LOCALS = 4;
+
+    private AccessorGenerator() {
+    }
+
+    /**
+     * Checks whether a generated class can read the field: it must not be synthetic, nor private unless the
+     * generated class is a nestmate of the host.
+     */
+    static boolean canRead(final Field field, final boolean nestmate) {
+        return !field.isSynthetic() && (nestmate || !Modifier.isPrivate(field.getModifiers()));
+    }
+
+    /**
+     * Checks whether a generated class can write the field: it must be readable, not final and of a type the
+     * generated class can cast to.
+     */
+    static boolean canWrite(final Field field, final boolean nestmate) {
+        return canRead(field, nestmate) && !Modifier.isFinal(field.getModifiers())
+                && isVisible(field.getDeclaringClass(), field.getType());
+    }
+
+    /**
+     * Checks whether a generated class can call the method: it must be concrete, not synthetic, not private
+     * unless the generated class is a nestmate of the host, and take parameters of types the generated class
+     * can cast to.
+     */
+    static boolean canInvoke(final Method method, final boolean nestmate) {
+        if (method.isSynthetic() || Modifier.isAbstract(method.getModifiers())
+                || (!nestmate && Modifier.isPrivate(method.getModifiers()))) {
+            return false;
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (!isVisible(method.getDeclaringClass(), parameterType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the type can be named in a cast by a class of the host's package: primitive types, types
+     * of the same package and loader, public types of the same loader and public {@code java.*} types.
+     */
+    private static boolean isVisible(final Class<?> host, final Class<?> type) {
+        Class<?> element = type;
+        while (element.isArray()) {
+            element = element.getComponentType();
+        }
+        if (element.isPrimitive()) {
+            return true;
+        }
+        if (element.getClassLoader() == host.getClassLoader() && packageOf(element).equals(packageOf(host))) {
+            return true;
+        }
+        for (Class<?> current = element; current != null; current = current.getDeclaringClass()) {
+            if (!Modifier.isPublic(current.getModifiers())) {
+                return false;
+            }
+        }
+        return element.getClassLoader() == null ? element.getName().startsWith("java.")
+                : element.getClassLoader() == host.getClassLoader();
+    }
+
+    private static String packageOf(final Class<?> type) {
+        String name = type.getName();
+        int index = name.lastIndexOf('.');
+        return (index < 0) ? "" : name.substring(0, index);
+    }
+
+    /**
+     * Writes the class file of an accessor for the host class.
+     *
+     * @param host      the class declaring the members
+     * @param fields    the fields, indexed by position
+     * @param readable  whether each field is served by {@code get}
+     * @param writable  whether each field is served by {@code set}
+     * @param methods   the methods, indexed by position
+     * @param invocable whether each method is served by {@code invoke}
+     * @return the class file
+     */
+    static byte[] generate(final Class<?> host, final Field[] fields, final boolean[] readable, final boolean[] writable,
+                           final Method[] methods, final boolean[] invocable) {
+        ConstantPool pool = new ConstantPool();
+        String hostName = internalName(host);
+        int thisClass = pool.classRef(hostName + SUFFIX);
+        int superClass = pool.classRef("java/lang/Object");
+        int accessorInterface = pool.classRef(internalName(GeneratedAccessor.class));
+        int code = pool.utf8("Code");
+
+        byte[][] methodInfos = {
+                constructor(pool, code, superClass),
+                method(pool, code, "get", "(Ljava/lang/Object;I)Ljava/lang/Object;", getter(pool, hostName, fields, readable)),
+                method(pool, code, "set", "(Ljava/lang/Object;ILjava/lang/Object;)V", setter(pool, hostName, fields, writable)),
+                method(pool, code, "invoke", "(Ljava/lang/Object;I[Ljava/lang/Object;)Ljava/lang/Object;",
+                        invoker(pool, hostName, methods, invocable))
+        };
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeShort(0);
+            out.writeShort(VERSION);
+            pool.writeTo(out);
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(accessorInterface);
+            out.writeShort(0);
+            out.writeShort(methodInfos.length);
+            for (byte[] methodInfo : methodInfos) {
+                out.write(methodInfo);
+            }
+            out.writeShort(0);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write accessor of " + host.getName(), e);
+        }
+    }
+
+    private static byte[] constructor(final ConstantPool pool, final int code, final int superClass) {
+        Code body = new Code(1);
+        body.op(ALOAD_0);
+        body.op(INVOKESPECIAL).u2(pool.memberRef(superClass, "<init>", "()V"));
+        body.op(RETURN);
+        return method(pool, code, "<init>", "()V", body);
+    }
+
+    private static Code getter(final ConstantPool pool, final String hostName, final Field[] fields, final boolean[] readable) {
+        Code body = new Code(3);
+        Switch cases = body.tableSwitch(fields.length);
+        for (int i = 0; i < fields.length; i++) {
+            if (!readable[i]) {
+                continue;
+            }
+            cases.target(i);
+            Field field = fields[i];
+            int ref = pool.memberRef(pool.classRef(hostName), field.getName(), descriptor(field.getType()));
+            if (Modifier.isStatic(field.getModifiers())) {
+                body.op(GETSTATIC).u2(ref);
+            } else {
+                body.op(ALOAD_1).op(CHECKCAST).u2(pool.classRef(hostName));
+                body.op(GETFIELD).u2(ref);
+            }
+            box(pool, body, field.getType());
+            body.op(ARETURN);
+        }
+        cases.defaultTarget(pool);
+        return body;
+    }
+
+    private static Code setter(final ConstantPool pool, final String hostName, final Field[] fields, final boolean[] writable) {
+        Code body = new Code(4);
+        Switch cases = body.tableSwitch(fields.length);
+        for (int i = 0; i < fields.length; i++) {
+            if (!writable[i]) {
+                continue;
+            }
+            cases.target(i);
+            Field field = fields[i];
+            int ref = pool.memberRef(pool.classRef(hostName), field.getName(), descriptor(field.getType()));
+            boolean isStatic = Modifier.isStatic(field.getModifiers());
+            if (!isStatic) {
+                body.op(ALOAD_1).op(CHECKCAST).u2(pool.classRef(hostName));
+            }
+            body.op(ALOAD_3);
+            unbox(pool, body, field.getType());
+            body.op(isStatic ? PUTSTATIC : PUTFIELD).u2(ref);
+            body.op(RETURN);
+        }
+        cases.defaultTarget(pool);
+        return body;
+    }
+
+    private static Code invoker(final ConstantPool pool, final String hostName, final Method[] methods, final boolean[] invocable) {
+        int maxSlots = 0;
+        for (Method method : methods) {
+            maxSlots = Math.max(maxSlots, 2 * method.getParameterCount());
+        }
+        Code body = new Code(maxSlots + 4);
+        Switch cases = body.tableSwitch(methods.length);
+        for (int i = 0; i < methods.length; i++) {
+            if (!invocable[i]) {
+                continue;
+            }
+            cases.target(i);
+            Method method = methods[i];
+            boolean isStatic = Modifier.isStatic(method.getModifiers());
+            if (!isStatic) {
+                body.op(ALOAD_1).op(CHECKCAST).u2(pool.classRef(hostName));
+            }
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            for (int j = 0; j < parameterTypes.length; j++) {
+                body.op(ALOAD_3);
+                body.pushInt(j);
+                body.op(AALOAD);
+                unbox(pool, body, parameterTypes[j]);
+            }
+            int ref = pool.memberRef(pool.classRef(hostName), method.getName(), descriptor(method));
+            body.op(isStatic ? INVOKESTATIC : INVOKEVIRTUAL).u2(ref);
+            if (method.getReturnType() == void.class) {
+                body.op(ACONST_NULL);
+            } else {
+                box(pool, body, method.getReturnType());
+            }
+            body.op(ARETURN);
+        }
+        cases.defaultTarget(pool);
+        return body;
+    }
+
+    private static void box(final ConstantPool pool, final Code body, final Class<?> type) {
+        if (type.isPrimitive()) {
+            String wrapper = internalName(wrapper(type));
+            body.op(INVOKESTATIC).u2(pool.memberRef(pool.classRef(wrapper), "valueOf",
+                    "(" + descriptor(type) + ")L" + wrapper + ";"));
+        }
+    }
+
+    private static void unbox(final ConstantPool pool, final Code body, final Class<?> type) {
+        if (type.isPrimitive()) {
+            String wrapper = internalName(wrapper(type));
+            body.op(CHECKCAST).u2(pool.classRef(wrapper));
+            body.op(INVOKEVIRTUAL).u2(pool.memberRef(pool.classRef(wrapper), type.getName() + "Value",
+                    "()" + descriptor(type)));
+        } else if (type != Object.class) {
+            body.op(CHECKCAST).u2(pool.classRef(type.isArray() ? descriptor(type) : internalName(type)));
+        }
+    }
+
+    private static byte[] method(final ConstantPool pool, final int code, final String name, final String descriptor, final Code body) {
+        byte[] bytecode = body.toByteArray();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeShort(ACC_PUBLIC);
+            out.writeShort(pool.utf8(name));
+            out.writeShort(pool.utf8(descriptor));
+            out.writeShort(1);
+            out.writeShort(code);
+            out.writeInt(12 + bytecode.length);
+            out.writeShort(body.maxStack);
+            out.writeShort(MAX_LOCALS);
+            out.writeInt(bytecode.length);
+            out.write(bytecode);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Class<?> wrapper(final Class<?> primitive) {
+        if (primitive == int.class) {
+            return Integer.class;
+        } else if (primitive == long.class) {
+            return Long.class;
+        } else if (primitive == double.class) {
+            return Double.class;
+        } else if (primitive == float.class) {
+            return Float.class;
+        } else if (primitive == boolean.class) {
+            return Boolean.class;
+        } else if (primitive == char.class) {
+            return Character.class;
+        } else if (primitive == short.class) {
+            return Short.class;
+        }
+        return Byte.class;
+    }
+
+    private static String internalName(final Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    private static String descriptor(final Method method) {
+        StringBuilder descriptor = new StringBuilder("(");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            descriptor.append(descriptor(parameterType));
+        }
+        return descriptor.append(')').append(descriptor(method.getReturnType())).toString();
+    }
+
+    private static String descriptor(final Class<?> type) {
+        if (type.isArray()) {
+            return internalName(type);
+        } else if (!type.isPrimitive()) {
+            return "L" + internalName(type) + ";";
+        } else if (type == int.class) {
+            return "I";
+        } else if (type == long.class) {
+            return "J";
+        } else if (type == double.class) {
+            return "D";
+        } else if (type == float.class) {
+            return "F";
+        } else if (type == boolean.class) {
+            return "Z";
+        } else if (type == char.class) {
+            return "C";
+        } else if (type == short.class) {
+            return "S";
+        } else if (type == byte.class) {
+            return "B";
+        }
+        return "V";
+    }
+
+    /**
+     * Constant pool entries, each added once.
+     */
+    private static final class ConstantPool {
+
+        private static final int UTF8 = 1;
+        private static final int CLASS = 7;
+        private static final int FIELD_REF = 9;
+        private static final int METHOD_REF = 10;
+        private static final int NAME_AND_TYPE = 12;
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> entries = new HashMap<>();
+        private int count = 1;
+
+        int utf8(final String value) {
+            Integer index = entries.get("U" + value);
+            if (index != null) {
+                return index;
+            }
+            try {
+                out.writeByte(UTF8);
+                out.writeUTF(value);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return add("U" + value);
+        }
+
+        int classRef(final String internalName) {
+            Integer index = entries.get("C" + internalName);
+            return (index != null) ? index : entry(CLASS, "C" + internalName, utf8(internalName));
+        }
+
+        /**
+         * Adds a field reference when the descriptor is a field type, a method reference otherwise.
+         */
+        int memberRef(final int owner, final String name, final String descriptor) {
+            String key = "M" + owner + '.' + name + descriptor;
+            Integer index = entries.get(key);
+            if (index != null) {
+                return index;
+            }
+            String nameAndTypeKey = "N" + name + descriptor;
+            Integer nameAndType = entries.get(nameAndTypeKey);
+            if (nameAndType == null) {
+                nameAndType = entry(NAME_AND_TYPE, nameAndTypeKey, utf8(name), utf8(descriptor));
+            }
+            int tag = descriptor.charAt(0) == '(' ? METHOD_REF : FIELD_REF;
+            return entry(tag, key, owner, nameAndType);
+        }
+
+        private int entry(final int tag, final String key, final int... references) {
+            try {
+                out.writeByte(tag);
+                for (int reference : references) {
+                    out.writeShort(reference);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return add(key);
+        }
+
+        private int add(final String key) {
+            entries.put(key, count);
+            return count++;
+        }
+
+        void writeTo(final DataOutputStream target) throws IOException {
+            target.writeShort(count);
+            out.flush();
+            bytes.writeTo(target);
+        }
+    }
+
+    /**
+     * Bytecode of one method body.
+     */
+    private static final class Code {
+
+        private final int maxStack;
+        private byte[] bytes = new byte[64];
+        private int length;
+
+        Code(final int maxStack) {
+            this.maxStack = maxStack;
+        }
+
+        Code op(final int opcode) {
+            ensure(1);
+            bytes[length++] = (byte) opcode;
+            return this;
+        }
+
+        Code u2(final int value) {
+            op(value >>> 8);
+            return op(value);
+        }
+
+        void u4(final int value) {
+            u2(value >>> 16);
+            u2(value);
+        }
+
+        void putU4(final int position, final int value) {
+            bytes[position] = (byte) (value >>> 24);
+            bytes[position + 1] = (byte) (value >>> 16);
+            bytes[position + 2] = (byte) (value >>> 8);
+            bytes[position + 3] = (byte) value;
+        }
+
+        void pushInt(final int value) {
+            if (value <= 5) {
+                op(ICONST_0 + value);
+            } else if (value <= Byte.MAX_VALUE) {
+                op(BIPUSH).op(value);
+            } else {
+                op(SIPUSH).u2(value);
+            }
+        }
+
+        /**
+         * Starts a {@code tableswitch} on the index argument over {@code 0..size-1}, or nothing if there are
+         * no cases.
+         */
+        Switch tableSwitch(final int size) {
+            if (size == 0) {
+                return new Switch(this, -1, -1);
+            }
+            op(ILOAD_2);
+            int start = length;
+            op(TABLESWITCH);
+            while (length % 4 != 0) {
+                op(0);
+            }
+            int table = length;
+            u4(0);
+            u4(0);
+            u4(size - 1);
+            for (int i = 0; i < size; i++) {
+                u4(0);
+            }
+            return new Switch(this, start, table);
+        }
+
+        byte[] toByteArray() {
+            byte[] copy = new byte[length];
+            System.arraycopy(bytes, 0, copy, 0, length);
+            return copy;
+        }
+
+        private void ensure(final int extra) {
+            if (length + extra > bytes.length) {
+                byte[] grown = new byte[Math.max(bytes.length * 2, length + extra)];
+                System.arraycopy(bytes, 0, grown, 0, length);
+                bytes = grown;
+            }
+        }
+    }
+
+    /**
+     * Patches the jump offsets of a {@code tableswitch}; cases without a target jump to the default.
+     */
+    private static final class Switch {
+
+        private final Code code;
+        private final int start;
+        private final int table;
+        private final int[] targets;
+
+        Switch(final Code code, final int start, final int table) {
+            this.code = code;
+            this.start = start;
+            this.table = table;
+            this.targets = new int[(table < 0) ? 0 : (code.length - table - 12) / 4];
+        }
+
+        void target(final int index) {
+            targets[index] = code.length;
+        }
+
+        /**
+         * Emits the default case, throwing {@link IllegalArgumentException}, and patches every offset.
+         */
+        void defaultTarget(final ConstantPool pool) {
+            int defaultOffset = code.length;
+            int exception = pool.classRef("java/lang/IllegalArgumentException");
+            code.op(NEW).u2(exception).op(DUP);
+            code.op(INVOKESPECIAL).u2(pool.memberRef(exception, "<init>", "()V"));
+            code.op(ATHROW);
+            if (table < 0) {
+                return;
+            }
+            code.putU4(table, defaultOffset - start);
+            for (int i = 0; i < targets.length; i++) {
+                code.putU4(table + 12 + 4 * i, (targets[i] == 0 ? defaultOffset : targets[i]) - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package org.reflector;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Factory of compiled member accessors.
+ *
+ * <p>Every accessor is a {@link MethodHandle} adapted to an erased, uniform type, so callers can use
+ * {@code invokeExact} without per-call argument adaptation: readers are {@code (Object)Object},
+ * writers are {@code (Object,Object)void} and method invokers are {@code (Object,Object[])Object}.
+ * Static members ignore the target argument.
+ */
+final class Accessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType READER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType WRITER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private Accessors() {
+    }
+
+    /**
+     * Compiles a reader of the field.
+     *
+     * @param field the field
+     * @return a {@code (Object)Object} handle, or null if the field is not accessible
+     */
+    static MethodHandle reader(final Field field) {
+        MethodHandle handle = typedReader(field);
+        return (handle != null) ? handle.asType(READER_TYPE) : null;
+    }
+
+    /**
+     * Compiles a reader of the field keeping the field type, so primitive values are returned unboxed.
+     *
+     * @param field the field
+     * @return a {@code (Object)T} handle where {@code T} is the field type, or null if the field is not accessible
+     */
+    static MethodHandle typedReader(final Field field) {
+        try {
+            makeAccessible(field);
+            MethodHandle handle = LOOKUP.unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(handle.type().changeParameterType(0, Object.class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Compiles a writer of the field, from a {@link java.lang.invoke.VarHandle} where the JDK provides one.
+     *
+     * @param field the field
+     * @return a {@code (Object,Object)void} handle, or null if the field is final or not accessible
+     */
+    static MethodHandle writer(final Field field) {
+        if (Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+        MethodHandle handle = JdkSupport.fieldSetter(field);
+        if (handle == null) {
+            handle = setter(field);
+        }
+        return (handle != null) ? adaptWriter(field, handle) : null;
+    }
+
+    /**
+     * Compiles a writer of a field that may be final. Final instance fields are written through a setter, which
+     * core reflection allows once the field is made accessible, and only in classes {@link JdkSupport#isOpen open}
+     * to the library, so the JDK's own final fields are never written.
+     *
+     * <p>Static final fields are never written: the JIT folds them into compiled code as constants, so a write
+     * would be seen by some callers and not by others.
+     *
+     * @param field the field
+     * @return a {@code (Object,Object)void} handle, or null if the field is static final, of a class not open to
+     * the library, or cannot be written
+     */
+    static MethodHandle finalWriter(final Field field) {
+        if (!Modifier.isFinal(field.getModifiers())) {
+            return writer(field);
+        }
+        if (Modifier.isStatic(field.getModifiers()) || !JdkSupport.isOpen(field.getDeclaringClass())) {
+            return null;
+        }
+        MethodHandle handle = setter(field);
+        return (handle != null) ? adaptWriter(field, handle) : null;
+    }
+
+    /**
+     * Compiles a reader calling a no-argument method, typically a getter.
+     *
+     * @param getter the method
+     * @return a {@code (Object)Object} handle, or null if the method is not accessible
+     */
+    static MethodHandle reader(final Method getter) {
+        MethodHandle handle = unreflect(getter);
+        if (handle == null) {
+            return null;
+        }
+        if (Modifier.isStatic(getter.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return handle.asType(READER_TYPE);
+    }
+
+    /**
+     * Compiles a writer calling a single-argument method, typically a setter. A return value is discarded.
+     *
+     * @param setter the method
+     * @return a {@code (Object,Object)void} handle, or null if the method is not accessible
+     */
+    static MethodHandle writer(final Method setter) {
+        MethodHandle handle = unreflect(setter);
+        if (handle == null) {
+            return null;
+        }
+        if (Modifier.isStatic(setter.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return handle.asType(WRITER_TYPE);
+    }
+
+    /**
+     * Compiles a call of the method taking its arguments as an array. A void method returns null.
+     *
+     * @param method the method
+     * @return a {@code (Object,Object[])Object} handle, or null if the method is not accessible
+     */
+    static MethodHandle invoker(final Method method) {
+        MethodHandle handle = unreflect(method);
+        if (handle == null) {
+            return null;
+        }
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return handle.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+    }
+
+    /**
+     * Compiles a call of the no-argument constructor of the class.
+     *
+     * @param type the class to instantiate
+     * @return a {@code ()Object} handle, or null if the class is abstract or has no accessible no-argument constructor
+     */
+    static MethodHandle constructor(final Class<?> type) {
+        if (Modifier.isAbstract(type.getModifiers()) || type.isInterface() || type.isArray() || type.isPrimitive()) {
+            return null;
+        }
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            makeAccessible(constructor);
+            return LOOKUP.unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Compiles a direct call of the method, keeping its exact type.
+     *
+     * @param method the method
+     * @return the handle, or null if the method is not accessible
+     */
+    static MethodHandle unreflect(final Method method) {
+        try {
+            makeAccessible(method);
+            return LOOKUP.unreflect(method);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle setter(final Field field) {
+        try {
+            makeAccessible(field);
+            return LOOKUP.unreflectSetter(field);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle adaptWriter(final Field field, final MethodHandle setter) {
+        MethodHandle handle = setter;
+        if (Modifier.isStatic(field.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return handle.asType(WRITER_TYPE);
+    }
+
+    private static void makeAccessible(final AccessibleObject member) {
+        try {
+            member.setAccessible(true);
+        } catch (RuntimeException e) {
+            // public members of exported packages stay usable without the accessible flag
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package org.reflector;
+
+import org.reflector.exception.MethodInvokeException;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Dispatches events to the methods of handler objects annotated with a given annotation.
+ *
+ * <p>A handler method takes a single parameter, the type of events it receives, and is found among the
+ * declared methods of the handler class and its superclasses. A method annotated in a superclass stays a
+ * handler when it is overridden, and the call reaches the overriding method. Handler classes are scanned
+ * once per annotation type, and each handler method is compiled into a call bound to its handler object
+ * when the dispatcher is created.
+ *
+ * <p>An event is delivered to every method whose parameter type is the class of the event, one of its
+ * superclasses or one of its interfaces, in the order the handlers were given and by method name within a
+ * handler. The handlers of each event class are resolved on its first dispatch and kept in the
+ * {@link ReflectorCaches#EVENT_ROUTES} cache, shared by the dispatchers whose handler methods take the same
+ * parameter types, so every later dispatch is a cache lookup followed by direct calls.
+ */
+public final class AnnotatedDispatcher {
+
+    private static final MethodType LISTENER_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private static final ClassValueCache<Map<Class<? extends Annotation>, List<Method>>> HANDLER_METHODS =
+            ReflectorCaches.create(ReflectorCaches.HANDLER_METHODS, type -> new ConcurrentHashMap<>(),
+                    (handlerMethods, stale) -> handlerMethods.keySet().removeIf(stale));
+
+    private static final ClassValueCache<Map<EventTypes, int[]>> EVENT_ROUTES =
+            ReflectorCaches.create(ReflectorCaches.EVENT_ROUTES, type -> new ConcurrentHashMap<>(),
+                    (routes, stale) -> routes.keySet().removeIf(key -> key.mentions(stale)));
+
+    private final Class<? extends Annotation> annotationType;
+    private final Class<?>[] eventTypes;
+    private final MethodHandle[] listeners;
+    private final EventTypes routeKey;
+
+    private AnnotatedDispatcher(final Class<? extends Annotation> annotationType, final Collection<?> handlers) {
+        this.annotationType = annotationType;
+        List<Class<?>> types = new ArrayList<>();
+        List<MethodHandle> handles = new ArrayList<>();
+        for (Object handler : handlers) {
+            if (handler == null) {
+                throw new NullPointerException("Handler cannot be null");
+            }
+            for (Method method : getHandlerMethods(handler.getClass(), annotationType)) {
+                MethodHandle handle = Accessors.unreflect(method);
+                if (handle == null) {
+                    throw new MethodInvokeException("Handler method " + method + " is not accessible");
+                }
+                if (!Modifier.isStatic(method.getModifiers())) {
+                    handle = handle.bindTo(handler);
+                }
+                types.add(MethodType.methodType(method.getParameterTypes()[0]).wrap().returnType());
+                handles.add(handle.asType(LISTENER_TYPE));
+            }
+        }
+        this.eventTypes = types.toArray(new Class<?>[0]);
+        this.listeners = handles.toArray(new MethodHandle[0]);
+        this.routeKey = new EventTypes(eventTypes);
+    }
+
+    /**
+     * Creates a dispatcher for the handler methods of the given objects.
+     *
+     * @param annotationType the annotation marking handler methods
+     * @param handlers       the handler objects
+     * @return the dispatcher
+     * @throws NullPointerException     if the annotation type, the handlers or one of them is null
+     * @throws IllegalArgumentException if an annotated method does not take exactly one parameter
+     * @throws MethodInvokeException    if a handler method is not accessible
+     */
+    public static AnnotatedDispatcher create(final Class<? extends Annotation> annotationType, final Object... handlers) {
+        if (handlers == null) {
+            throw new NullPointerException("Handlers cannot be null");
+        }
+        return create(annotationType, Arrays.asList(handlers));
+    }
+
+    /**
+     * Creates a dispatcher for the handler methods of the given objects.
+     *
+     * @param annotationType the annotation marking handler methods
+     * @param handlers       the handler objects
+     * @return the dispatcher
+     * @throws NullPointerException     if the annotation type, the handlers or one of them is null
+     * @throws IllegalArgumentException if an annotated method does not take exactly one parameter
+     * @throws MethodInvokeException    if a handler method is not accessible
+     */
+    public static AnnotatedDispatcher create(final Class<? extends Annotation> annotationType, final Collection<?> handlers) {
+        if (annotationType == null || handlers == null) {
+            throw new NullPointerException("Annotation type and handlers cannot be null");
+        }
+        return new AnnotatedDispatcher(annotationType, handlers);
+    }
+
+    /**
+     * Retrieves the handler methods of a class, see {@link AnnotatedDispatcher}.
+     *
+     * @param clazz          the handler class
+     * @param annotationType the annotation marking handler methods
+     * @return the handler methods ordered by name
+     * @throws NullPointerException     if the class or the annotation type is null
+     * @throws IllegalArgumentException if an annotated method does not take exactly one parameter
+     */
+    public static List<Method> getHandlerMethods(final Class<?> clazz, final Class<? extends Annotation> annotationType) {
+        if (clazz == null || annotationType == null) {
+            throw new NullPointerException("Class and annotation type cannot be null");
+        }
+        if (!ReflectorCaches.isWithin(clazz.getClassLoader(), annotationType.getClassLoader())) {
+            // the annotation cannot be present on the class, and is not cached so its class loader is not kept alive
+            return scan(clazz, annotationType);
+        }
+        return HANDLER_METHODS.get(clazz).computeIfAbsent(annotationType, key -> scan(clazz, annotationType));
+    }
+
+    private static List<Method> scan(final Class<?> clazz, final Class<? extends Annotation> annotationType) {
+        List<Method> methods = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Class<?> current : TypeHierarchy.of(clazz).superclassArray()) {
+            for (Method method : current.getDeclaredMethods()) {
+                if (method.isBridge() || method.isSynthetic()) {
+                    continue;
+                }
+                String signature = method.getName() + Arrays.toString(method.getParameterTypes());
+                if (!method.isAnnotationPresent(annotationType) || !seen.add(signature)) {
+                    continue;
+                }
+                if (method.getParameterCount() != 1) {
+                    throw new IllegalArgumentException("Handler method " + method + " must take exactly one parameter");
+                }
+                methods.add(method);
+            }
+        }
+        methods.sort(Comparator.comparing(Method::getName));
+        return Collections.unmodifiableList(methods);
+    }
+
+    /**
+     * @return the annotation marking handler methods
+     */
+    public Class<? extends Annotation> getAnnotationType() {
+        return annotationType;
+    }
+
+    /**
+     * @return the parameter types of the handler methods, primitive types boxed
+     */
+    public Set<Class<?>> getEventTypes() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(eventTypes)));
+    }
+
+    /**
+     * Checks whether an event of the given class would reach at least one handler method.
+     *
+     * @param eventClass the class of the event
+     * @return true if the event class has handlers
+     * @throws NullPointerException if the event class is null
+     */
+    public boolean hasHandlers(final Class<?> eventClass) {
+        if (eventClass == null) {
+            throw new NullPointerException("Event class cannot be null");
+        }
+        return route(eventClass).length > 0;
+    }
+
+    /**
+     * Delivers an event to every handler method accepting it.
+     *
+     * <p>Unchecked exceptions thrown by a handler method propagate to the caller and stop the delivery,
+     * checked exceptions are wrapped in a {@link MethodInvokeException}.
+     *
+     * @param event the event
+     * @return the number of handler methods called, 0 if the event has no handler
+     * @throws NullPointerException if the event is null
+     */
+    public int dispatch(final Object event) {
+        if (event == null) {
+            throw new NullPointerException("Event cannot be null");
+        }
+        int[] route = route(event.getClass());
+        try {
+            for (int index : route) {
+                listeners[index].invokeExact(event);
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new MethodInvokeException("Handler of " + event.getClass().getName() + " failed", e);
+        }
+        return route.length;
+    }
+
+    /**
+     * Returns the indexes of the listeners reached by events of a class, cached unless the cache entry of the
+     * event class would keep the class loader of a handler parameter type alive.
+     */
+    private int[] route(final Class<?> eventClass) {
+        if (!routeKey.isVisibleFrom(eventClass)) {
+            return computeRoute(eventClass);
+        }
+        return EVENT_ROUTES.get(eventClass).computeIfAbsent(routeKey, key -> computeRoute(eventClass));
+    }
+
+    private int[] computeRoute(final Class<?> eventClass) {
+        int[] route = new int[eventTypes.length];
+        int count = 0;
+        for (int i = 0; i < eventTypes.length; i++) {
+            if (eventTypes[i].isAssignableFrom(eventClass)) {
+                route[count++] = i;
+            }
+        }
+        return Arrays.copyOf(route, count);
+    }
+
+    /**
+     * The parameter types of the handler methods of a dispatcher, in listener order, which decide the route of an
+     * event class: dispatchers with equal types share their routes.
+     */
+    private static final class EventTypes {
+
+        private final Class<?>[] types;
+        private final int hash;
+        private final ClassLoader loader;
+        private final boolean chained;
+
+        EventTypes(final Class<?>[] types) {
+            this.types = types;
+            this.hash = Arrays.hashCode(types);
+            ClassLoader deepest = null;
+            boolean chain = true;
+            for (Class<?> type : types) {
+                ClassLoader typeLoader = type.getClassLoader();
+                if (ReflectorCaches.isWithin(typeLoader, deepest)) {
+                    deepest = typeLoader;
+                } else if (!ReflectorCaches.isWithin(deepest, typeLoader)) {
+                    chain = false;
+                }
+            }
+            this.loader = deepest;
+            this.chained = chain;
+        }
+
+        /**
+         * @return true if every type is visible from the class loader of the event class
+         */
+        boolean isVisibleFrom(final Class<?> eventClass) {
+            return chained && ReflectorCaches.isWithin(eventClass.getClassLoader(), loader);
+        }
+
+        boolean mentions(final Predicate<Class<?>> stale) {
+            for (Class<?> type : types) {
+                if (stale.test(type)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return this == other || (other instanceof EventTypes && Arrays.equals(types, ((EventTypes) other).types));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package org.reflector;
+
+import java.lang.annotation.Annotation;
+import java.util.BitSet;
+
+/**
+ * Composable annotation predicate evaluated against a {@link ClassIndex}.
+ *
+ * <p>Queries are immutable and may be reused across indexes, for example
+ * {@code classAnnotated(Component.class).andNot(classAnnotated(Lazy.class))}.
+ * Evaluation is a handful of bitset operations over the index, no classes are loaded.
+ */
+public abstract class AnnotationQuery {
+
+    AnnotationQuery() {
+    }
+
+    /**
+     * Evaluates the query.
+     *
+     * @param index the index to evaluate against
+     * @return a new bitset of matching class ids, owned by the caller
+     */
+    abstract BitSet evaluate(ClassIndex index);
+
+    /**
+     * Matches classes which declare the given annotation directly on the class.
+     *
+     * @param annotation the annotation type
+     * @return the query
+     * @throws NullPointerException if the annotation is null
+     */
+    public static AnnotationQuery classAnnotated(final Class<? extends Annotation> annotation) {
+        final String name = annotationName(annotation);
+        return new AnnotationQuery() {
+            @Override
+            BitSet evaluate(final ClassIndex index) {
+                return (BitSet) index.getClassAnnotated(name).clone();
+            }
+        };
+    }
+
+    /**
+     * Matches classes which declare at least one method or constructor annotated with the given annotation.
+     *
+     * @param annotation the annotation type
+     * @return the query
+     * @throws NullPointerException if the annotation is null
+     */
+    public static AnnotationQuery methodAnnotated(final Class<? extends Annotation> annotation) {
+        final String name = annotationName(annotation);
+        return new AnnotationQuery() {
+            @Override
+            BitSet evaluate(final ClassIndex index) {
+                return (BitSet) index.getMethodAnnotated(name).clone();
+            }
+        };
+    }
+
+    /**
+     * Matches classes which declare at least one field annotated with the given annotation.
+     *
+     * @param annotation the annotation type
+     * @return the query
+     * @throws NullPointerException if the annotation is null
+     */
+    public static AnnotationQuery fieldAnnotated(final Class<? extends Annotation> annotation) {
+        final String name = annotationName(annotation);
+        return new AnnotationQuery() {
+            @Override
+            BitSet evaluate(final ClassIndex index) {
+                return (BitSet) index.getFieldAnnotated(name).clone();
+            }
+        };
+    }
+
+    /**
+     * Matches classes which extend or implement the given type, directly or transitively.
+     *
+     * @param type the class or interface
+     * @return the query
+     * @throws NullPointerException if the type is null
+     */
+    public static AnnotationQuery subtypeOf(final Class<?> type) {
+        if (type == null) {
+            throw new NullPointerException("Type cannot be null");
+        }
+        final String name = type.getName();
+        return new AnnotationQuery() {
+            @Override
+            BitSet evaluate(final ClassIndex index) {
+                return (BitSet) index.getSubtypes(name).clone();
+            }
+        };
+    }
+
+    /**
+     * Matches every class of the index.
+     *
+     * @return the query
+     */
+    public static AnnotationQuery all() {
+        return new AnnotationQuery() {
+            @Override
+            BitSet evaluate(final ClassIndex index) {
+                BitSet result = new BitSet(index.size());
+                result.set(0, index.size());
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Matches classes which are not matched by the given query.
+     *
+     * @param query the query to negate
+     * @return the query
+     * @throws NullPointerException if the query is null
+     */
+    public static AnnotationQuery not(final AnnotationQuery query) {
+        if (query == null) {
+            throw new NullPointerException("Query cannot be null");
+        }
+        return new AnnotationQuery() {
+            @Override
+            BitSet evaluate(final ClassIndex index) {
+                BitSet result = query.evaluate(index);
+                result.flip(0, index.size());
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Matches classes matched by both this and the other query.
+     *
+     * @param other the other query
+     * @return the query
+     * @throws NullPointerException if the other query is null
+     */
+    public AnnotationQuery and(final AnnotationQuery other) {
+        if (other == null) {
+            throw new NullPointerException("Query cannot be null");
+        }
+        final AnnotationQuery self = this;
+        return new AnnotationQuery() {
+            @Override
+            BitSet evaluate(final ClassIndex index) {
+                BitSet result = self.evaluate(index);
+                result.and(other.evaluate(index));
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Matches classes matched by this or the other query.
+     *
+     * @param other the other query
+     * @return the query
+     * @throws NullPointerException if the other query is null
+     */
+    public AnnotationQuery or(final AnnotationQuery other) {
+        if (other == null) {
+            throw new NullPointerException("Query cannot be null");
+        }
+        final AnnotationQuery self = this;
+        return new AnnotationQuery() {
+            @Override
+            BitSet evaluate(final ClassIndex index) {
+                BitSet result = self.evaluate(index);
+                result.or(other.evaluate(index));
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Matches classes matched by this query but not by the other one.
+     *
+     * @param other the query whose matches are excluded
+     * @return the query
+     * @throws NullPointerException if the other query is null
+     */
+    public AnnotationQuery andNot(final AnnotationQuery other) {
+        if (other == null) {
+            throw new NullPointerException("Query cannot be null");
+        }
+        final AnnotationQuery self = this;
+        return new AnnotationQuery() {
+            @Override
+            BitSet evaluate(final ClassIndex index) {
+                BitSet result = self.evaluate(index);
+                result.andNot(other.evaluate(index));
+                return result;
+            }
+        };
+    }
+
+    private static String annotationName(final Class<? extends Annotation> annotation) {
+        if (annotation == null) {
+            throw new NullPointerException("Annotation class cannot be null");
+        }
+        return annotation.getName();
+    }
+}
@@ -0,0 +1,132 @@
+package org.reflector;
+
+import org.reflector.exception.PropertyAccessException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * A bean property bound to compiled read and write accessors.
+ *
+ * <p>Accessors call the getter and setter methods when present, so their side effects are preserved.
+ * Properties without any accessor method are backed by the field of the same name.
+ */
+public final class BeanProperty {
+
+    private final String name;
+    private final Class<?> type;
+    private final Method readMethod;
+    private final Method writeMethod;
+    private final Field field;
+    private final MethodHandle reader;
+    private final MethodHandle writer;
+
+    BeanProperty(final String name, final Class<?> type, final Method readMethod, final Method writeMethod, final Field field,
+                 final MethodHandle reader, final MethodHandle writer) {
+        this.name = name;
+        this.type = type;
+        this.readMethod = readMethod;
+        this.writeMethod = writeMethod;
+        this.field = field;
+        this.reader = reader;
+        this.writer = writer;
+    }
+
+    /**
+     * @return the name of the property
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the type of the property
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return the getter of the property, or null if it is field-backed or write-only
+     */
+    public Method getReadMethod() {
+        return readMethod;
+    }
+
+    /**
+     * @return the setter of the property, or null if it is field-backed or read-only
+     */
+    public Method getWriteMethod() {
+        return writeMethod;
+    }
+
+    /**
+     * @return the backing field of a property without accessor methods, null otherwise
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * @return true if the property can be read
+     */
+    public boolean isReadable() {
+        return reader != null;
+    }
+
+    /**
+     * @return true if the property can be written
+     */
+    public boolean isWritable() {
+        return writer != null;
+    }
+
+    /**
+     * Reads the property of the given bean.
+     *
+     * @param bean the bean to read from
+     * @return the value of the property
+     * @throws NullPointerException    if the bean is null
+     * @throws PropertyAccessException if the property is not readable or the getter throws a checked exception
+     */
+    public Object get(final Object bean) {
+        if (bean == null) {
+            throw new NullPointerException("Bean cannot be null");
+        }
+        if (reader == null) {
+            throw new PropertyAccessException("Property '" + name + "' is not readable");
+        }
+        try {
+            return reader.invokeExact(bean);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new PropertyAccessException("Failed to read property '" + name + "'", e);
+        }
+    }
+
+    /**
+     * Writes the property of the given bean.
+     *
+     * @param bean  the bean to write to
+     * @param value the new value of the property
+     * @throws NullPointerException    if the bean is null
+     * @throws PropertyAccessException if the property is not writable or the setter throws a checked exception
+     */
+    public void set(final Object bean, final Object value) {
+        if (bean == null) {
+            throw new NullPointerException("Bean cannot be null");
+        }
+        if (writer == null) {
+            throw new PropertyAccessException("Property '" + name + "' is not writable");
+        }
+        try {
+            writer.invokeExact(bean, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new PropertyAccessException("Failed to write property '" + name + "'", e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.reflector;
+
+import org.reflector.exception.PropertyAccessException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class BeanUtils {
+
+    private BeanUtils() {
+    }
+
+    /**
+     * Retrieves the cached property model of the given class.
+     *
+     * @param clazz the class whose properties are to be retrieved
+     * @return the property model of the class
+     * @throws NullPointerException if the class is null
+     */
+    public static PropertyModel getPropertyModel(final Class<?> clazz) {
+        if (clazz == null) {
+            throw new NullPointerException("Class cannot be null");
+        }
+        return PropertyModel.of(clazz);
+    }
+
+    /**
+     * Retrieves the names of the bean properties of the given class.
+     *
+     * @param clazz the class whose property names are to be retrieved
+     * @return a list of property names ordered by name
+     * @throws NullPointerException if the class is null
+     */
+    public static List<String> getPropertyNames(final Class<?> clazz) {
+        return new ArrayList<>(getPropertyModel(clazz).getPropertyNames());
+    }
+
+    /**
+     * Checks if the given class has a bean property with the specified name.
+     *
+     * @param clazz        the class to check
+     * @param propertyName the name of the property
+     * @return true if the class has the property, false otherwise
+     * @throws NullPointerException if the class is null
+     */
+    public static boolean hasProperty(final Class<?> clazz, final String propertyName) {
+        return getPropertyModel(clazz).getProperty(propertyName) != null;
+    }
+
+    /**
+     * Reads a bean property through its getter, or its field if it has no accessor methods.
+     *
+     * @param bean         the bean to read from
+     * @param propertyName the name of the property
+     * @return the value of the property
+     * @throws NullPointerException    if the bean is null
+     * @throws PropertyAccessException if the property does not exist or is not readable
+     */
+    public static Object getProperty(final Object bean, final String propertyName) {
+        return property(bean, propertyName).get(bean);
+    }
+
+    /**
+     * Writes a bean property through its setter, or its field if it has no accessor methods.
+     *
+     * @param bean         the bean to write to
+     * @param propertyName the name of the property
+     * @param value        the new value of the property
+     * @throws NullPointerException    if the bean is null
+     * @throws PropertyAccessException if the property does not exist or is not writable
+     */
+    public static void setProperty(final Object bean, final String propertyName, final Object value) {
+        property(bean, propertyName).set(bean, value);
+    }
+
+    private static BeanProperty property(final Object bean, final String propertyName) {
+        if (bean == null) {
+            throw new NullPointerException("Bean cannot be null");
+        }
+        BeanProperty property = PropertyModel.of(bean.getClass()).getProperty(propertyName);
+        if (property == null) {
+            throw new PropertyAccessException("Property '" + propertyName + "' not found on " + bean.getClass().getName());
+        }
+        return property;
+    }
+}
@@ -0,0 +1,60 @@
+package org.reflector;
+
+/**
+ * Statistics of a {@link ReflectorCache} since it was created, a snapshot taken by
+ * {@link ReflectorCache#getStats()}.
+ */
+public final class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+
+    CacheStats(final long hitCount, final long missCount, final long evictionCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * @return the number of lookups answered from the cache
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of lookups that computed and stored a new entry
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of lookups
+     */
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * @return the number of entries dropped to keep the cache within its maximum size, not counting explicit
+     * invalidation and entries released with their class
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the ratio of hits to lookups, 1.0 if there was no lookup
+     */
+    public double getHitRate() {
+        long requestCount = getRequestCount();
+        return (requestCount == 0) ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount=" + evictionCount + '}';
+    }
+}
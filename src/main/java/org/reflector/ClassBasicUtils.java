@@ -18,7 +18,7 @@ public final class ClassBasicUtils {
         if (obj == null) {
             throw new NullPointerException("Object must not be null");
         }
-        return obj.getClass().getName();
+        return ClassNames.of(obj.getClass()).getName();
     }
 
     /**
@@ -32,7 +32,7 @@ public final class ClassBasicUtils {
         if (obj == null) {
             throw new NullPointerException("Object must not be null");
         }
-        return obj.getClass().getCanonicalName();
+        return ClassNames.of(obj.getClass()).getCanonicalName();
     }
 
     /**
@@ -46,7 +46,7 @@ public final class ClassBasicUtils {
         if (obj == null) {
             throw new NullPointerException("Object must not be null");
         }
-        return obj.getClass().getSimpleName();
+        return ClassNames.of(obj.getClass()).getSimpleName();
     }
 
     /**
@@ -60,8 +60,7 @@ public final class ClassBasicUtils {
         if (obj == null) {
             throw new NullPointerException("Object must not be null");
         }
-        Package pkg = obj.getClass().getPackage();
-        return (pkg != null) ? pkg.getName() : null;
+        return ClassNames.of(obj.getClass()).getPackageName();
     }
 
     /**
@@ -74,7 +73,7 @@ public final class ClassBasicUtils {
         if (clazz == null) {
             return "";
         }
-        return clazz.getName();
+        return ClassNames.of(clazz).getName();
     }
 
     /**
@@ -87,7 +86,7 @@ public final class ClassBasicUtils {
         if (clazz == null) {
             return null;
         }
-        return clazz.getCanonicalName();
+        return ClassNames.of(clazz).getCanonicalName();
     }
 
     /**
@@ -101,7 +100,7 @@ public final class ClassBasicUtils {
         if (clazz == null) {
             throw new NullPointerException("Class must not be null");
         }
-        return clazz.getSimpleName();
+        return ClassNames.of(clazz).getSimpleName();
     }
 
     /**
@@ -116,8 +115,7 @@ public final class ClassBasicUtils {
             throw new NullPointerException("Class must not be null");
         }
 
-        Package pkg = clazz.getPackage();
-        return (pkg != null) ? pkg.getName() : null;
+        return ClassNames.of(clazz).getPackageName();
     }
 
     /**
@@ -209,4 +207,52 @@ public final class ClassBasicUtils {
 
         return Arrays.asList(clazz.getInterfaces());
     }
+
+    /**
+     * Retrieves the cached naming metadata of the given class.
+     *
+     * <p>The full, simple, canonical, package and enclosing class names are resolved once per class,
+     * later calls return the same instance without parsing or allocation.
+     *
+     * @param clazz the class whose names are to be retrieved
+     * @return the naming metadata of the class
+     * @throws NullPointerException if the provided class is null
+     */
+    public static ClassNames getClassNames(final Class<?> clazz) {
+        if (clazz == null) {
+            throw new NullPointerException("Class must not be null");
+        }
+
+        return ClassNames.of(clazz);
+    }
+
+    /**
+     * Retrieves the cached flattened type hierarchy of the given class.
+     *
+     * <p>The hierarchy is computed once per class and holds the superclass chain, all transitively
+     * implemented interfaces and the inheritance depth.
+     *
+     * @param clazz the class whose hierarchy is to be retrieved
+     * @return the type hierarchy of the class
+     * @throws NullPointerException if the provided class is null
+     */
+    public static TypeHierarchy getTypeHierarchy(final Class<?> clazz) {
+        if (clazz == null) {
+            throw new NullPointerException("Class must not be null");
+        }
+
+        return TypeHierarchy.of(clazz);
+    }
+
+    /**
+     * Retrieves all interfaces implemented by the given class, including interfaces of its superclasses
+     * and superinterfaces.
+     *
+     * @param clazz the class whose interfaces are to be retrieved
+     * @return a list of all interfaces implemented by the class, directly or transitively
+     * @throws NullPointerException if the provided class is null
+     */
+    public static List<Class<?>> getAllInterfaces(final Class<?> clazz) {
+        return getTypeHierarchy(clazz).getInterfaces();
+    }
 }
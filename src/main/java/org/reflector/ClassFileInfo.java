@@ -0,0 +1,70 @@
+package org.reflector;
+
+import java.util.Set;
+
+/**
+ * Metadata read from a class file without loading the class.
+ *
+ * <p>All type names are binary names ({@code java.lang.Object}, {@code a.b.Outer$Inner}).
+ */
+final class ClassFileInfo {
+
+    private final String className;
+    private final String superClassName;
+    private final String[] interfaceNames;
+    private final int accessFlags;
+    private final Set<String> classAnnotations;
+    private final Set<String> methodAnnotations;
+    private final Set<String> fieldAnnotations;
+
+    ClassFileInfo(final String className, final String superClassName, final String[] interfaceNames, final int accessFlags,
+                  final Set<String> classAnnotations, final Set<String> methodAnnotations, final Set<String> fieldAnnotations) {
+        this.className = className;
+        this.superClassName = superClassName;
+        this.interfaceNames = interfaceNames;
+        this.accessFlags = accessFlags;
+        this.classAnnotations = classAnnotations;
+        this.methodAnnotations = methodAnnotations;
+        this.fieldAnnotations = fieldAnnotations;
+    }
+
+    String getClassName() {
+        return className;
+    }
+
+    /**
+     * @return the binary name of the superclass, or null for {@code java.lang.Object} and module descriptors
+     */
+    String getSuperClassName() {
+        return superClassName;
+    }
+
+    String[] getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    int getAccessFlags() {
+        return accessFlags;
+    }
+
+    /**
+     * @return the runtime-visible annotation types declared directly on the class
+     */
+    Set<String> getClassAnnotations() {
+        return classAnnotations;
+    }
+
+    /**
+     * @return the runtime-visible annotation types declared on any method or constructor of the class
+     */
+    Set<String> getMethodAnnotations() {
+        return methodAnnotations;
+    }
+
+    /**
+     * @return the runtime-visible annotation types declared on any field of the class
+     */
+    Set<String> getFieldAnnotations() {
+        return fieldAnnotations;
+    }
+}
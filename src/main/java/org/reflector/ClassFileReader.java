@@ -0,0 +1,200 @@
+package org.reflector;
+
+import org.reflector.util.ReflectionConstant;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Minimal class file parser which extracts type hierarchy and annotation metadata.
+ *
+ * <p>Only the constant pool, the class header and the {@code RuntimeVisibleAnnotations}
+ * attributes are interpreted, everything else is skipped. Nothing is loaded or initialized.
+ */
+final class ClassFileReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private ClassFileReader() {
+    }
+
+    /**
+     * Reads the metadata of a single class file.
+     *
+     * @param in the class file content, it is not closed by this method
+     * @return the parsed class file metadata
+     * @throws IOException if the stream cannot be read or is not a valid class file
+     */
+    static ClassFileInfo read(final InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        data.readUnsignedShort();
+        data.readUnsignedShort();
+
+        int poolSize = data.readUnsignedShort();
+        String[] utf8 = new String[poolSize];
+        int[] classNameIndex = new int[poolSize];
+        for (int i = 1; i < poolSize; i++) {
+            int tag = data.readUnsignedByte();
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    utf8[i] = data.readUTF();
+                    break;
+                case CONSTANT_CLASS:
+                    classNameIndex[i] = data.readUnsignedShort();
+                    break;
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    skip(data, 2);
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    skip(data, 3);
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE_METHODREF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    skip(data, 4);
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    skip(data, 8);
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        int accessFlags = data.readUnsignedShort();
+        String className = className(utf8, classNameIndex, data.readUnsignedShort());
+        String superClassName = className(utf8, classNameIndex, data.readUnsignedShort());
+        String[] interfaceNames = new String[data.readUnsignedShort()];
+        for (int i = 0; i < interfaceNames.length; i++) {
+            interfaceNames[i] = className(utf8, classNameIndex, data.readUnsignedShort());
+        }
+
+        Set<String> fieldAnnotations = readMembers(data, utf8);
+        Set<String> methodAnnotations = readMembers(data, utf8);
+        Set<String> classAnnotations = orEmpty(readAttributes(data, utf8, null));
+
+        return new ClassFileInfo(className, superClassName, interfaceNames, accessFlags,
+                classAnnotations, methodAnnotations, fieldAnnotations);
+    }
+
+    private static String className(final String[] utf8, final int[] classNameIndex, final int index) {
+        if (index == 0) {
+            return null;
+        }
+        return utf8[classNameIndex[index]].replace(ReflectionConstant.SLASH, ReflectionConstant.DOT_SYMBOL);
+    }
+
+    private static Set<String> readMembers(final DataInputStream data, final String[] utf8) throws IOException {
+        Set<String> annotations = null;
+        int count = data.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            skip(data, 6);
+            annotations = readAttributes(data, utf8, annotations);
+        }
+        return orEmpty(annotations);
+    }
+
+    private static Set<String> readAttributes(final DataInputStream data, final String[] utf8, Set<String> annotations) throws IOException {
+        int count = data.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            String name = utf8[data.readUnsignedShort()];
+            int length = data.readInt();
+            if (RUNTIME_VISIBLE_ANNOTATIONS.equals(name)) {
+                if (annotations == null) {
+                    annotations = new LinkedHashSet<>();
+                }
+                int annotationCount = data.readUnsignedShort();
+                for (int j = 0; j < annotationCount; j++) {
+                    annotations.add(readAnnotation(data, utf8));
+                }
+            } else {
+                skip(data, length);
+            }
+        }
+        return annotations;
+    }
+
+    private static Set<String> orEmpty(final Set<String> annotations) {
+        return annotations == null ? Collections.emptySet() : annotations;
+    }
+
+    private static void skip(final DataInputStream data, final int length) throws IOException {
+        int remaining = length;
+        while (remaining > 0) {
+            int skipped = data.skipBytes(remaining);
+            if (skipped <= 0) {
+                throw new EOFException("Unexpected end of class file");
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static String readAnnotation(final DataInputStream data, final String[] utf8) throws IOException {
+        String descriptor = utf8[data.readUnsignedShort()];
+        int pairs = data.readUnsignedShort();
+        for (int i = 0; i < pairs; i++) {
+            skip(data, 2);
+            skipElementValue(data, utf8);
+        }
+        return descriptor.substring(1, descriptor.length() - 1).replace(ReflectionConstant.SLASH, ReflectionConstant.DOT_SYMBOL);
+    }
+
+    private static void skipElementValue(final DataInputStream data, final String[] utf8) throws IOException {
+        int tag = data.readUnsignedByte();
+        switch (tag) {
+            case 'e':
+                skip(data, 4);
+                break;
+            case '@':
+                readAnnotation(data, utf8);
+                break;
+            case '[':
+                int values = data.readUnsignedShort();
+                for (int i = 0; i < values; i++) {
+                    skipElementValue(data, utf8);
+                }
+                break;
+            default:
+                skip(data, 2);
+                break;
+        }
+    }
+}
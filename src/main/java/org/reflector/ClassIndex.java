@@ -0,0 +1,323 @@
+package org.reflector;
+
+import org.reflector.util.ReflectionConstant;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable index of the classes found by a single package scan.
+ *
+ * <p>Every scanned class gets a numeric id and every runtime-visible annotation type is mapped
+ * to a bitset of the ids of the classes carrying it, separately for class, method and field
+ * annotations. The index is built from class file bytes, so building it and querying it loads
+ * no classes, only {@link #findClasses(AnnotationQuery)} loads the matching ones.
+ *
+ * <p>The index also keeps the transitive supertype graph of the scanned classes, so subclasses and
+ * implementations of a type are found by a single lookup. Supertypes outside the scanned package
+ * are resolved from their class files as well.
+ *
+ * <p>Annotations are indexed as declared; {@link java.lang.annotation.Inherited} annotations are not
+ * propagated to subclasses.
+ */
+public final class ClassIndex {
+
+    private static final BitSet EMPTY = new BitSet();
+
+    private final String[] classNames;
+    private final Map<String, Integer> classIds;
+    private final Map<String, BitSet> classAnnotated;
+    private final Map<String, BitSet> methodAnnotated;
+    private final Map<String, BitSet> fieldAnnotated;
+    private final Map<String, BitSet> subtypes;
+    private final BitSet concrete;
+    private final ClassLoader classLoader;
+
+    private ClassIndex(final String[] classNames, final Map<String, Integer> classIds, final Map<String, BitSet> classAnnotated,
+                       final Map<String, BitSet> methodAnnotated, final Map<String, BitSet> fieldAnnotated,
+                       final Map<String, BitSet> subtypes, final BitSet concrete, final ClassLoader classLoader) {
+        this.classNames = classNames;
+        this.classIds = classIds;
+        this.classAnnotated = classAnnotated;
+        this.methodAnnotated = methodAnnotated;
+        this.fieldAnnotated = fieldAnnotated;
+        this.subtypes = subtypes;
+        this.concrete = concrete;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Builds the index from parsed class files, the first occurrence of a class name wins.
+     *
+     * @param classFiles  the parsed class files
+     * @param classLoader the class loader used to resolve external supertypes and to load query results
+     * @return the index
+     * @throws IOException if the class file of an external supertype is malformed
+     */
+    static ClassIndex build(final List<ClassFileInfo> classFiles, final ClassLoader classLoader) throws IOException {
+        List<String> names = new ArrayList<>(classFiles.size());
+        Map<String, Integer> ids = new HashMap<>();
+        Map<String, BitSet> classAnnotated = new HashMap<>();
+        Map<String, BitSet> methodAnnotated = new HashMap<>();
+        Map<String, BitSet> fieldAnnotated = new HashMap<>();
+        Map<String, BitSet> subtypes = new HashMap<>();
+        BitSet concrete = new BitSet();
+        Map<String, ClassFileInfo> classFilesByName = new HashMap<>();
+
+        for (ClassFileInfo classFile : classFiles) {
+            if (ids.containsKey(classFile.getClassName())) {
+                continue;
+            }
+            int id = names.size();
+            names.add(classFile.getClassName());
+            ids.put(classFile.getClassName(), id);
+            classFilesByName.put(classFile.getClassName(), classFile);
+            mark(classAnnotated, classFile.getClassAnnotations(), id);
+            mark(methodAnnotated, classFile.getMethodAnnotations(), id);
+            mark(fieldAnnotated, classFile.getFieldAnnotations(), id);
+            if ((classFile.getAccessFlags() & (Modifier.INTERFACE | Modifier.ABSTRACT)) == 0) {
+                concrete.set(id);
+            }
+        }
+
+        SupertypeResolver resolver = new SupertypeResolver(classFilesByName, classLoader);
+        for (int id = 0; id < names.size(); id++) {
+            mark(subtypes, resolver.supertypes(names.get(id)), id);
+        }
+
+        return new ClassIndex(names.toArray(new String[0]), ids, classAnnotated, methodAnnotated, fieldAnnotated,
+                subtypes, concrete, classLoader);
+    }
+
+    private static void mark(final Map<String, BitSet> index, final Iterable<String> annotations, final int id) {
+        for (String annotation : annotations) {
+            index.computeIfAbsent(annotation, key -> new BitSet()).set(id);
+        }
+    }
+
+    /**
+     * Returns the number of indexed classes.
+     *
+     * @return the number of indexed classes
+     */
+    public int size() {
+        return classNames.length;
+    }
+
+    /**
+     * Returns the names of all indexed classes in scan order.
+     *
+     * @return an unmodifiable list of binary class names
+     */
+    public List<String> getClassNames() {
+        return Collections.unmodifiableList(Arrays.asList(classNames));
+    }
+
+    /**
+     * Checks whether a class is part of the index.
+     *
+     * @param className the binary name of the class
+     * @return true if the class was found by the scan, false otherwise
+     */
+    public boolean contains(final String className) {
+        return classIds.containsKey(className);
+    }
+
+    /**
+     * Returns the names of the classes matched by the query without loading them.
+     *
+     * @param query the query to evaluate
+     * @return the matching binary class names in scan order
+     * @throws NullPointerException if the query is null
+     */
+    public List<String> findClassNames(final AnnotationQuery query) {
+        if (query == null) {
+            throw new NullPointerException("Query cannot be null");
+        }
+        return names(query.evaluate(this));
+    }
+
+    /**
+     * Loads the classes matched by the query, without initializing them.
+     *
+     * @param query the query to evaluate
+     * @return the matching classes in scan order
+     * @throws NullPointerException   if the query is null
+     * @throws ClassNotFoundException if a matching class cannot be loaded
+     */
+    public List<Class<?>> findClasses(final AnnotationQuery query) throws ClassNotFoundException {
+        if (query == null) {
+            throw new NullPointerException("Query cannot be null");
+        }
+        return classes(query.evaluate(this));
+    }
+
+    /**
+     * Loads the classes directly annotated with the given annotation.
+     *
+     * @param annotation the annotation type
+     * @return the annotated classes in scan order
+     * @throws NullPointerException   if the annotation is null
+     * @throws ClassNotFoundException if a matching class cannot be loaded
+     */
+    public List<Class<?>> getAnnotatedClasses(final Class<? extends Annotation> annotation) throws ClassNotFoundException {
+        return findClasses(AnnotationQuery.classAnnotated(annotation));
+    }
+
+    /**
+     * Returns the names of the indexed classes which extend or implement the given type, directly or transitively.
+     *
+     * @param typeName the binary name of the class or interface
+     * @return the matching binary class names in scan order, including interfaces and abstract classes
+     * @throws NullPointerException if the type name is null
+     */
+    public List<String> findSubclassNames(final String typeName) {
+        if (typeName == null) {
+            throw new NullPointerException("Type name cannot be null");
+        }
+        return names(getSubtypes(typeName));
+    }
+
+    /**
+     * Returns the names of the indexed concrete classes which extend or implement the given type,
+     * directly or transitively.
+     *
+     * @param typeName the binary name of the class or interface
+     * @return the matching binary class names in scan order, interfaces and abstract classes excluded
+     * @throws NullPointerException if the type name is null
+     */
+    public List<String> findImplementationNames(final String typeName) {
+        if (typeName == null) {
+            throw new NullPointerException("Type name cannot be null");
+        }
+        BitSet ids = (BitSet) getSubtypes(typeName).clone();
+        ids.and(concrete);
+        return names(ids);
+    }
+
+    /**
+     * Loads the indexed classes which extend or implement the given type, directly or transitively.
+     * Only the matching classes are loaded, without initializing them.
+     *
+     * @param type the class or interface
+     * @return the matching classes in scan order, including interfaces and abstract classes
+     * @throws NullPointerException   if the type is null
+     * @throws ClassNotFoundException if a matching class cannot be loaded
+     */
+    public List<Class<?>> findSubclasses(final Class<?> type) throws ClassNotFoundException {
+        if (type == null) {
+            throw new NullPointerException("Type cannot be null");
+        }
+        return classes(getSubtypes(type.getName()));
+    }
+
+    /**
+     * Loads the indexed concrete classes which extend or implement the given type, directly or transitively.
+     * Only the matching classes are loaded, without initializing them.
+     *
+     * @param type the class or interface, typically a service interface
+     * @return the matching classes in scan order, interfaces and abstract classes excluded
+     * @throws NullPointerException   if the type is null
+     * @throws ClassNotFoundException if a matching class cannot be loaded
+     */
+    public List<Class<?>> findImplementations(final Class<?> type) throws ClassNotFoundException {
+        if (type == null) {
+            throw new NullPointerException("Type cannot be null");
+        }
+        BitSet ids = (BitSet) getSubtypes(type.getName()).clone();
+        ids.and(concrete);
+        return classes(ids);
+    }
+
+    BitSet getSubtypes(final String typeName) {
+        return subtypes.getOrDefault(typeName, EMPTY);
+    }
+
+    BitSet getClassAnnotated(final String annotation) {
+        return classAnnotated.getOrDefault(annotation, EMPTY);
+    }
+
+    BitSet getMethodAnnotated(final String annotation) {
+        return methodAnnotated.getOrDefault(annotation, EMPTY);
+    }
+
+    BitSet getFieldAnnotated(final String annotation) {
+        return fieldAnnotated.getOrDefault(annotation, EMPTY);
+    }
+
+    private List<String> names(final BitSet ids) {
+        List<String> result = new ArrayList<>(ids.cardinality());
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            result.add(classNames[id]);
+        }
+        return result;
+    }
+
+    private List<Class<?>> classes(final BitSet ids) throws ClassNotFoundException {
+        List<Class<?>> result = new ArrayList<>(ids.cardinality());
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            result.add(Class.forName(classNames[id], false, classLoader));
+        }
+        return result;
+    }
+
+    /**
+     * Computes transitive supertypes from class files, memoizing every visited type.
+     */
+    private static final class SupertypeResolver {
+
+        private final Map<String, ClassFileInfo> classFiles;
+        private final Map<String, Set<String>> supertypes = new HashMap<>();
+        private final ClassLoader classLoader;
+
+        SupertypeResolver(final Map<String, ClassFileInfo> classFiles, final ClassLoader classLoader) {
+            this.classFiles = classFiles;
+            this.classLoader = classLoader;
+        }
+
+        Set<String> supertypes(final String className) throws IOException {
+            Set<String> result = supertypes.get(className);
+            if (result != null) {
+                return result;
+            }
+            ClassFileInfo classFile = classFile(className);
+            if (classFile == null) {
+                result = Collections.emptySet();
+            } else {
+                result = new LinkedHashSet<>();
+                if (classFile.getSuperClassName() != null) {
+                    result.add(classFile.getSuperClassName());
+                    result.addAll(supertypes(classFile.getSuperClassName()));
+                }
+                for (String interfaceName : classFile.getInterfaceNames()) {
+                    result.add(interfaceName);
+                    result.addAll(supertypes(interfaceName));
+                }
+            }
+            supertypes.put(className, result);
+            return result;
+        }
+
+        private ClassFileInfo classFile(final String className) throws IOException {
+            ClassFileInfo classFile = classFiles.get(className);
+            if (classFile != null || classLoader == null) {
+                return classFile;
+            }
+            String resource = className.replace(ReflectionConstant.DOT_SYMBOL, ReflectionConstant.SLASH) + ReflectionConstant.CLASS;
+            try (InputStream in = classLoader.getResourceAsStream(resource)) {
+                return in == null ? null : ClassFileReader.read(in);
+            }
+        }
+    }
+}
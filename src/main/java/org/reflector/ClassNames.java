@@ -0,0 +1,107 @@
+package org.reflector;
+
+/**
+ * Naming metadata of a class, computed once per class and cached.
+ *
+ * <p>{@link Class#getSimpleName()}, {@link Class#getCanonicalName()} and {@link Class#getPackage()}
+ * parse class attributes and allocate on every call on older JDKs; this holder resolves each of them on
+ * first use, so repeated name queries are plain field reads. They are resolved lazily because they can fail
+ * where {@link Class#getName()} cannot: {@link Class#getSimpleName()} throws {@link InternalError} for some
+ * classes produced by other JVM languages on JDK 8, and {@link Class#getEnclosingClass()} throws
+ * {@link NoClassDefFoundError} if the enclosing class cannot be loaded. Such a failure is rethrown by the
+ * accessor of that name only, on every call, as {@link Class} would.
+ */
+public final class ClassNames {
+
+    private static final ClassValueCache<ClassNames> NAMES = ReflectorCaches.create(ReflectorCaches.CLASS_NAMES, ClassNames::new);
+
+    /**
+     * Marks a name that was not resolved yet, compared by identity since null is a valid name.
+     */
+    private static final String UNRESOLVED = new String("");
+
+    private final Class<?> type;
+    private final String name;
+    private final String packageName;
+    private volatile String simpleName = UNRESOLVED;
+    private volatile String canonicalName = UNRESOLVED;
+    private volatile String enclosingName = UNRESOLVED;
+
+    private ClassNames(final Class<?> type) {
+        this.type = type;
+        this.name = type.getName();
+        Package pkg = type.getPackage();
+        this.packageName = (pkg != null) ? pkg.getName() : null;
+    }
+
+    /**
+     * Returns the cached naming metadata of the given class.
+     *
+     * @param type the class
+     * @return the naming metadata of the class
+     */
+    static ClassNames of(final Class<?> type) {
+        return NAMES.get(type);
+    }
+
+    /**
+     * Returns the full binary name, as {@link Class#getName()}.
+     *
+     * @return the full name of the class
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the simple name, as {@link Class#getSimpleName()}.
+     *
+     * @return the simple name of the class, empty for anonymous classes
+     */
+    public String getSimpleName() {
+        String resolved = simpleName;
+        if (resolved == UNRESOLVED) {
+            resolved = type.getSimpleName();
+            simpleName = resolved;
+        }
+        return resolved;
+    }
+
+    /**
+     * Returns the canonical name, as {@link Class#getCanonicalName()}.
+     *
+     * @return the canonical name of the class, or null for local and anonymous classes
+     */
+    public String getCanonicalName() {
+        String resolved = canonicalName;
+        if (resolved == UNRESOLVED) {
+            resolved = type.getCanonicalName();
+            canonicalName = resolved;
+        }
+        return resolved;
+    }
+
+    /**
+     * Returns the package name, as the name of {@link Class#getPackage()}.
+     *
+     * @return the package name of the class, or null if the class has no package
+     */
+    public String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * Returns the full name of the enclosing class, as the name of {@link Class#getEnclosingClass()}.
+     *
+     * @return the full name of the enclosing class, or null for top level classes
+     */
+    public String getEnclosingName() {
+        String resolved = enclosingName;
+        if (resolved == UNRESOLVED) {
+            Class<?> enclosingClass = type.getEnclosingClass();
+            resolved = (enclosingClass != null) ? enclosingClass.getName() : null;
+            enclosingName = resolved;
+        }
+        return resolved;
+    }
+}
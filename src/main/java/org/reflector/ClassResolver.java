@@ -0,0 +1,221 @@
+package org.reflector;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caching replacement for {@link Class#forName(String, boolean, ClassLoader)}.
+ *
+ * <p>Resolved classes and unknown names are remembered per class loader. Class loaders are held weakly
+ * and resolved classes through weak references, so the cache never keeps a loader alive. Unknown names
+ * are kept in a bounded least-recently-used set, so a repeated miss costs a lookup instead of a
+ * {@link ClassNotFoundException}. Only {@link ClassNotFoundException} is remembered: a {@link LinkageError}, such as a
+ * failed static initializer, is thrown to the caller every time.
+ *
+ * <p>Lookups take no lock: the entries of a loader are found in a concurrent map keyed by weak references to the
+ * loaders, cleared keys are expunged when a new loader is added.
+ */
+public final class ClassResolver {
+
+    private static final int MAX_MISSING_ENTRIES = 1024;
+
+    private static final Map<Object, LoaderEntries> ENTRIES = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<ClassLoader> STALE_LOADERS = new ReferenceQueue<>();
+
+    private static volatile LoaderEntries bootstrapEntries = new LoaderEntries();
+
+    private ClassResolver() {
+    }
+
+    /**
+     * Finds a class by its binary name using the class loader of the library, initializing it on first resolution.
+     *
+     * @param className the binary name of the class
+     * @return the class, or null if it cannot be found
+     * @throws NullPointerException if the class name is null
+     * @throws LinkageError         if the class is found but cannot be linked or initialized
+     */
+    public static Class<?> findClass(final String className) {
+        return findClass(className, ClassResolver.class.getClassLoader());
+    }
+
+    /**
+     * Finds a class by its binary name using the given class loader, initializing it on first resolution.
+     *
+     * @param className   the binary name of the class
+     * @param classLoader the class loader to use, null for the bootstrap class loader
+     * @return the class, or null if it cannot be found
+     * @throws NullPointerException if the class name is null
+     * @throws LinkageError         if the class is found but cannot be linked or initialized
+     */
+    public static Class<?> findClass(final String className, final ClassLoader classLoader) {
+        if (className == null) {
+            throw new NullPointerException("Class name cannot be null");
+        }
+
+        LoaderEntries entries = entries(classLoader);
+        WeakReference<Class<?>> reference = entries.found.get(className);
+        Class<?> clazz = (reference != null) ? reference.get() : null;
+        if (clazz != null || entries.isMissing(className)) {
+            return clazz;
+        }
+
+        try {
+            clazz = Class.forName(className, true, classLoader);
+        } catch (ClassNotFoundException e) {
+            entries.markMissing(className);
+            return null;
+        }
+        entries.found.put(className, new WeakReference<>(clazz));
+        return clazz;
+    }
+
+    /**
+     * Resolves a class by its binary name using the given class loader, initializing it on first resolution.
+     *
+     * @param className   the binary name of the class
+     * @param classLoader the class loader to use, null for the bootstrap class loader
+     * @return the class
+     * @throws NullPointerException   if the class name is null
+     * @throws ClassNotFoundException if the class cannot be found
+     * @throws LinkageError           if the class is found but cannot be linked or initialized
+     */
+    public static Class<?> resolve(final String className, final ClassLoader classLoader) throws ClassNotFoundException {
+        Class<?> clazz = findClass(className, classLoader);
+        if (clazz == null) {
+            throw new ClassNotFoundException(className);
+        }
+        return clazz;
+    }
+
+    /**
+     * Forgets every resolved class and unknown name.
+     */
+    public static void clear() {
+        ENTRIES.clear();
+        bootstrapEntries = new LoaderEntries();
+    }
+
+    /**
+     * Forgets the class wherever it was resolved, see {@link ReflectorCaches#invalidate(Class)}.
+     *
+     * @param type the class
+     */
+    static void invalidate(final Class<?> type) {
+        bootstrapEntries.forget(type);
+        for (LoaderEntries entries : ENTRIES.values()) {
+            entries.forget(type);
+        }
+    }
+
+    /**
+     * Forgets the classes and unknown names of a class loader and its descendants, see
+     * {@link ReflectorCaches#invalidate(ClassLoader)}.
+     *
+     * @param classLoader the class loader
+     */
+    static void invalidate(final ClassLoader classLoader) {
+        ENTRIES.keySet().removeIf(key -> {
+            ClassLoader loader = ((LoaderKey) key).get();
+            return loader != null && ReflectorCaches.isWithin(loader, classLoader);
+        });
+    }
+
+    private static LoaderEntries entries(final ClassLoader classLoader) {
+        if (classLoader == null) {
+            return bootstrapEntries;
+        }
+        LoaderEntries entries = ENTRIES.get(new LoaderLookup(classLoader));
+        if (entries == null) {
+            for (Reference<? extends ClassLoader> stale = STALE_LOADERS.poll(); stale != null; stale = STALE_LOADERS.poll()) {
+                ENTRIES.remove(stale);
+            }
+            entries = ENTRIES.computeIfAbsent(new LoaderKey(classLoader), key -> new LoaderEntries());
+        }
+        return entries;
+    }
+
+    /**
+     * A weakly held class loader as a map key, equal to the keys and lookups of the same loader until cleared.
+     */
+    private static final class LoaderKey extends WeakReference<ClassLoader> {
+
+        private final int hash;
+
+        LoaderKey(final ClassLoader classLoader) {
+            super(classLoader, STALE_LOADERS);
+            this.hash = System.identityHashCode(classLoader);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (other == this) {
+                return true;
+            }
+            ClassLoader loader = get();
+            if (loader == null) {
+                return false;
+            }
+            if (other instanceof LoaderLookup) {
+                return ((LoaderLookup) other).classLoader == loader;
+            }
+            return other instanceof LoaderKey && ((LoaderKey) other).get() == loader;
+        }
+    }
+
+    /**
+     * A class loader looked up without creating a weak reference.
+     */
+    private static final class LoaderLookup {
+
+        private final ClassLoader classLoader;
+
+        LoaderLookup(final ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(classLoader);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof LoaderKey && ((LoaderKey) other).get() == classLoader;
+        }
+    }
+
+    private static final class LoaderEntries {
+
+        private final Map<String, WeakReference<Class<?>>> found = new ConcurrentHashMap<>();
+
+        private final Map<String, Boolean> missing = Collections.synchronizedMap(new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+                return size() > MAX_MISSING_ENTRIES;
+            }
+        });
+
+        boolean isMissing(final String className) {
+            return missing.get(className) != null;
+        }
+
+        void markMissing(final String className) {
+            missing.put(className, Boolean.TRUE);
+        }
+
+        void forget(final Class<?> type) {
+            found.computeIfPresent(type.getName(), (name, reference) -> (reference.get() == type) ? null : reference);
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package org.reflector;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A {@link ReflectorCache} keyed by class, the implementation behind every per-class cache of the library.
+ *
+ * <p>Values are stored in a {@link ClassValue}, so they are released with their class even when they refer to it,
+ * as fields and method handles do. Next to it the cache keeps one node per entry, holding the class weakly with
+ * the time it was last used, which lets it count, enumerate and evict entries.
+ *
+ * <p>Time is counted in misses: every miss advances a clock, and a hit stamps the node, and marks it as
+ * referenced, only when it was not used since the last miss. Between two misses, repeated hits on an entry
+ * therefore only read shared state, apart from the striped hit counter. The same sampling feeds the frequency
+ * sketch of {@link EvictionPolicy#TINY_LFU}, which counts in how many of these intervals a class was used.
+ *
+ * <p>Eviction approximates least recently used order with the CLOCK algorithm: nodes wait in a queue in the order
+ * they were added, and the node at the head is evicted unless it was referenced since it was queued, in which case
+ * it is cleared and queued again. Each eviction thus costs a constant number of steps on average, instead of a scan
+ * of every entry. Under TinyLFU a new entry is first weighed against the entry it would displace, and dropped
+ * instead if its class was not used more often.
+ *
+ * <p>Values that cache metadata of other classes, such as the mappers from a class to target classes, are pruned
+ * by a function given to the cache, so that {@link #invalidateIf(Predicate)} also drops what they hold about the
+ * invalidated classes.
+ *
+ * @param <V> the type of the cached values
+ */
+final class ClassValueCache<V> implements ReflectorCache<Class<?>, V> {
+
+    private final String name;
+    private final Function<Class<?>, V> loader;
+    private final BiConsumer<V, Predicate<Class<?>>> pruner;
+    private final ReferenceQueue<Class<?>> queue = new ReferenceQueue<>();
+    private final Map<Node, Node> nodes = new ConcurrentHashMap<>();
+    private final ClassValue<Entry<V>> values = new ClassValue<Entry<V>>() {
+        @Override
+        protected Entry<V> computeValue(final Class<?> type) {
+            return new Entry<>(loader.apply(type), new Node(type, queue));
+        }
+    };
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicLong clock = new AtomicLong();
+    private final ArrayDeque<Node> order = new ArrayDeque<>();
+    private volatile int maximumSize;
+    private volatile EvictionPolicy evictionPolicy;
+    private volatile FrequencySketch sketch;
+
+    /**
+     * @param name           the name of the cache
+     * @param loader         computes the value of a class
+     * @param pruner         drops from a value what it holds about the classes matching a predicate, null if values
+     *                       hold nothing about other classes
+     * @param maximumSize    the maximum number of entries
+     * @param evictionPolicy the eviction policy
+     */
+    ClassValueCache(final String name, final Function<Class<?>, V> loader, final BiConsumer<V, Predicate<Class<?>>> pruner,
+                    final int maximumSize, final EvictionPolicy evictionPolicy) {
+        this.name = name;
+        this.loader = loader;
+        this.pruner = pruner;
+        this.maximumSize = maximumSize;
+        this.evictionPolicy = evictionPolicy;
+        this.sketch = (evictionPolicy == EvictionPolicy.TINY_LFU) ? new FrequencySketch(maximumSize) : null;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public V get(final Class<?> key) {
+        if (key == null) {
+            throw new NullPointerException("Key cannot be null");
+        }
+        Entry<V> entry = values.get(key);
+        Node node = entry.node;
+        if (node.registered || !register(key, node)) {
+            hits.increment();
+            long now = clock.get();
+            if (node.accessTime != now) {
+                node.accessTime = now;
+                node.referenced = true;
+                recordUse(key);
+            }
+        }
+        return entry.value;
+    }
+
+    @Override
+    public void invalidate(final Class<?> key) {
+        if (key == null) {
+            throw new NullPointerException("Key cannot be null");
+        }
+        nodes.remove(new Node(key, null));
+        values.remove(key);
+    }
+
+    @Override
+    public void invalidateAll() {
+        for (Node node : nodes.keySet()) {
+            unlink(node);
+        }
+        synchronized (this) {
+            order.removeIf(this::isStale);
+        }
+    }
+
+    /**
+     * Drops the entries of the classes matching the predicate, and prunes what the other entries hold about them.
+     *
+     * @param stale the classes to drop
+     */
+    void invalidateIf(final Predicate<Class<?>> stale) {
+        expunge();
+        for (Node node : nodes.keySet()) {
+            Class<?> type = node.get();
+            if (type == null) {
+                continue;
+            }
+            if (stale.test(type)) {
+                unlink(node);
+            } else if (pruner != null) {
+                pruner.accept(values.get(type).value, stale);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        expunge();
+        return nodes.size();
+    }
+
+    @Override
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    @Override
+    public void setMaximumSize(final int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size cannot be negative");
+        }
+        synchronized (this) {
+            this.maximumSize = maximumSize;
+            if (evictionPolicy == EvictionPolicy.TINY_LFU) {
+                sketch = new FrequencySketch(maximumSize);
+            }
+        }
+        evict(null);
+    }
+
+    @Override
+    public EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    @Override
+    public synchronized void setEvictionPolicy(final EvictionPolicy evictionPolicy) {
+        if (evictionPolicy == null) {
+            throw new NullPointerException("Eviction policy cannot be null");
+        }
+        if (evictionPolicy != this.evictionPolicy) {
+            this.evictionPolicy = evictionPolicy;
+            sketch = (evictionPolicy == EvictionPolicy.TINY_LFU) ? new FrequencySketch(maximumSize) : null;
+        }
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    @Override
+    public String toString() {
+        return "ReflectorCache{name=" + name + ", size=" + size() + ", maximumSize=" + maximumSize + ", "
+                + getStats() + '}';
+    }
+
+    /**
+     * Adds the node of a newly computed entry, unless another lookup of the same entry already did, and advances
+     * the clock.
+     *
+     * @param key  the class of the entry
+     * @param node the node of the entry
+     * @return true if the node was added, making the lookup a miss
+     */
+    private boolean register(final Class<?> key, final Node node) {
+        if (nodes.putIfAbsent(node, node) != null) {
+            return false;
+        }
+        node.accessTime = clock.incrementAndGet();
+        node.registered = true;
+        misses.increment();
+        recordUse(key);
+        expunge();
+        enqueue(node);
+        if (nodes.size() > maximumSize) {
+            evict(node);
+        }
+        return true;
+    }
+
+    /**
+     * Queues the node of a new entry for eviction, and drops the queued nodes of removed entries once they
+     * outnumber the entries, which keeps the queue within twice the size of the cache at a constant cost per entry.
+     *
+     * @param node the node of the entry
+     */
+    private synchronized void enqueue(final Node node) {
+        order.addLast(node);
+        if (order.size() > 2 * nodes.size() + 16) {
+            order.removeIf(this::isStale);
+        }
+    }
+
+    /**
+     * @param node a queued node
+     * @return true if the node no longer tracks an entry of the cache
+     */
+    private boolean isStale(final Node node) {
+        return nodes.get(node) != node;
+    }
+
+    /**
+     * Counts a use of the class in the frequency sketch, if the eviction policy keeps one.
+     *
+     * @param key the class
+     */
+    private void recordUse(final Class<?> key) {
+        FrequencySketch frequencies = sketch;
+        if (frequencies != null) {
+            frequencies.increment(key);
+        }
+    }
+
+    /**
+     * Drops the nodes of classes that were garbage collected, whose values went away with the class.
+     */
+    private void expunge() {
+        Reference<? extends Class<?>> reference;
+        while ((reference = queue.poll()) != null) {
+            nodes.remove(reference);
+        }
+    }
+
+    /**
+     * Evicts entries in CLOCK order until the cache is back to its maximum size. Under TinyLFU the new entry that
+     * filled the cache is weighed against the next victim first, and dropped alone if it loses.
+     *
+     * @param candidate the node of the entry just added, null if the cache was shrunk
+     */
+    private synchronized void evict(final Node candidate) {
+        FrequencySketch frequencySketch = sketch;
+        if (candidate != null && frequencySketch != null && nodes.size() > maximumSize) {
+            Node victim = nextVictim(candidate);
+            if (victim != null && !admit(candidate, victim, frequencySketch)) {
+                if (unlink(candidate)) {
+                    evictions.increment();
+                }
+                return;
+            }
+        }
+        while (nodes.size() > maximumSize) {
+            Node victim = nextVictim(null);
+            if (victim == null) {
+                return;
+            }
+            order.pollFirst();
+            if (unlink(victim) && victim.get() != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Advances the clock hand to the next entry to evict, leaving it at the head of the queue. Nodes of removed
+     * entries are dropped on the way, and referenced nodes, as well as the node to skip, are cleared and queued
+     * again; after a full turn every node is cleared, so the hand stops within two turns.
+     *
+     * @param skip a node that must not be chosen, null for none
+     * @return the node to evict, or null if no other node is queued
+     */
+    private Node nextVictim(final Node skip) {
+        for (int steps = 2 * order.size() + 1; steps > 0; steps--) {
+            Node node = order.peekFirst();
+            if (node == null) {
+                return null;
+            }
+            if (isStale(node)) {
+                order.pollFirst();
+            } else if (node.get() == null) {
+                return node;
+            } else if (node.referenced || node == skip) {
+                node.referenced = false;
+                order.addLast(order.pollFirst());
+            } else {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The TinyLFU admission check: a new entry is kept only if its class was used more often than the class of the
+     * entry it would displace, so a scan of classes used once cannot flush the classes used steadily, while a new
+     * class that keeps being used is admitted as its frequency grows.
+     *
+     * @param candidate       the node of the new entry
+     * @param victim          the node of the entry it would displace
+     * @param frequencySketch the frequencies
+     * @return true if the entry is kept
+     */
+    private static boolean admit(final Node candidate, final Node victim, final FrequencySketch frequencySketch) {
+        Class<?> type = candidate.get();
+        Class<?> victimType = victim.get();
+        return type == null || victimType == null || frequencySketch.frequency(type) > frequencySketch.frequency(victimType);
+    }
+
+    /**
+     * Removes the node, only if it is still the registered node of its class, and drops the value of the class.
+     *
+     * @param node the node
+     * @return true if the node was removed
+     */
+    private boolean unlink(final Node node) {
+        boolean[] removed = new boolean[1];
+        nodes.computeIfPresent(node, (key, current) -> {
+            if (current != node) {
+                return current;
+            }
+            removed[0] = true;
+            return null;
+        });
+        Class<?> type = node.get();
+        if (removed[0] && type != null) {
+            values.remove(type);
+        }
+        return removed[0];
+    }
+
+    /**
+     * A cached value with the node that tracks it.
+     */
+    private static final class Entry<V> {
+
+        private final V value;
+        private final Node node;
+
+        Entry(final V value, final Node node) {
+            this.value = value;
+            this.node = node;
+        }
+    }
+
+    /**
+     * The weakly held class of an entry. Nodes are equal when they hold the same class, so a node created for a
+     * lookup finds the registered one; once the class is collected a node is only equal to itself.
+     */
+    private static final class Node extends WeakReference<Class<?>> {
+
+        private final int hash;
+        private volatile boolean registered;
+        private volatile boolean referenced;
+        private volatile long accessTime;
+
+        Node(final Class<?> type, final ReferenceQueue<Class<?>> queue) {
+            super(type, queue);
+            this.hash = System.identityHashCode(type);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Node)) {
+                return false;
+            }
+            Class<?> type = get();
+            return type != null && type == ((Node) other).get();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.reflector;
+
+/**
+ * How a bounded {@link ReflectorCache} chooses the entries to drop when it grows past its maximum size.
+ */
+public enum EvictionPolicy {
+
+    /**
+     * Drops the least recently used entries.
+     */
+    LRU,
+
+    /**
+     * Drops the least recently used entries, but admits a new entry only if its class was used more often than the
+     * class of the entry it would displace, and drops the new entry otherwise. Frequencies are estimated by a
+     * TinyLFU sketch that also remembers keys evicted earlier and ages them over time, so a class used steadily is
+     * kept over a burst of classes used once, and a new class that keeps being used is admitted after a few uses.
+     */
+    TINY_LFU
+}
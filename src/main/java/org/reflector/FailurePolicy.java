@@ -0,0 +1,38 @@
+package org.reflector;
+
+/**
+ * How {@link InvokeUtils}, {@link FieldUtils#readField(Object, String)} and {@link ObjectUtils#copy(Object)}
+ * report a failure before throwing, selected with {@link ReflectorConfig#setFailurePolicy(FailurePolicy)}.
+ *
+ * <p>Log messages are formatted only when a failure is actually logged and the logger has ERROR enabled, so the
+ * policies that do not log cost no formatting at all.
+ */
+public enum FailurePolicy {
+
+    /**
+     * Logs every failure at ERROR with its stack trace, then throws an exception that carries the cause.
+     */
+    LOG_AND_THROW,
+
+    /**
+     * Logs at most one failure per call site within {@link ReflectorConfig#getFailureLogInterval()}, then throws
+     * an exception that carries the cause. The number of failures suppressed in between is logged with the next
+     * failure of the call site.
+     */
+    RATE_LIMITED_LOG,
+
+    /**
+     * Throws an exception that carries the cause, without logging.
+     */
+    THROW,
+
+    /**
+     * Throws an exception cached per call site, without a stack trace or cause, and does not log. The cached
+     * exception has suppression disabled and cannot be given a cause, so sharing it between callers is safe.
+     * Building and filling in the stack trace of a new exception is saved, but the reflective exception that
+     * reported the failure has already been created with its own stack trace, and what went wrong is lost.
+     * {@link ObjectUtils#copy(Object)} throws a new {@link IllegalStateException} with an empty stack trace
+     * instead, as that type cannot disable suppression.
+     */
+    STACKLESS
+}
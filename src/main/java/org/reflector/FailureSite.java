@@ -0,0 +1,128 @@
+package org.reflector;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * One place in the library where a failure is reported and turned into an exception, according to the configured
+ * {@link FailurePolicy}.
+ *
+ * <p>Each call site keeps its own rate limit and its own cached stackless exception, so a storm of failures at
+ * one site neither floods the log nor hides the failures of the others. The cached exception is shared by every
+ * thread, so it is created with suppression and a writable stack trace disabled and without a cause, which
+ * leaves nothing a caller could change on it.
+ */
+final class FailureSite {
+
+    private static final StackTraceElement[] NO_STACK_TRACE = new StackTraceElement[0];
+
+    private final Logger logger;
+    private final String message;
+    private final BiFunction<Object, Throwable, RuntimeException> exceptionFactory;
+    private final Supplier<RuntimeException> stacklessFactory;
+    private final AtomicLong nextLogTime = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong suppressed = new AtomicLong();
+    private volatile RuntimeException stackless;
+
+    /**
+     * @param logger           the logger of the call site
+     * @param message          the log message, with at most one placeholder for the argument
+     * @param exceptionFactory creates the exception from the argument and the cause, both of which may be null
+     * @param stacklessFactory creates the exception cached for {@link FailurePolicy#STACKLESS}, through the
+     *                         {@code stackless} factory of a library exception
+     */
+    FailureSite(final Logger logger, final String message,
+                final BiFunction<Object, Throwable, RuntimeException> exceptionFactory,
+                final Supplier<RuntimeException> stacklessFactory) {
+        this.logger = logger;
+        this.message = message;
+        this.exceptionFactory = exceptionFactory;
+        this.stacklessFactory = stacklessFactory;
+    }
+
+    /**
+     * Creates a call site whose exception type cannot disable suppression. Under {@link FailurePolicy#STACKLESS}
+     * it throws a new exception without a cause and with an empty stack trace on every failure.
+     *
+     * @param logger           the logger of the call site
+     * @param message          the log message, with at most one placeholder for the argument
+     * @param exceptionFactory creates the exception from the argument and the cause, both of which may be null
+     */
+    FailureSite(final Logger logger, final String message,
+                final BiFunction<Object, Throwable, RuntimeException> exceptionFactory) {
+        this(logger, message, exceptionFactory, null);
+    }
+
+    /**
+     * Reports the failure and returns the exception to throw.
+     *
+     * @param argument the argument of the log message and the exception factory
+     * @param cause    the cause of the failure, may be null
+     * @return the exception to throw
+     */
+    RuntimeException fail(final Object argument, final Throwable cause) {
+        FailurePolicy policy = ReflectorConfig.getFailurePolicy();
+        if (policy == FailurePolicy.STACKLESS) {
+            return stackless();
+        }
+        log(policy, argument, cause);
+        return exceptionFactory.apply(argument, cause);
+    }
+
+    /**
+     * Reports a failure that is not turned into an exception.
+     *
+     * @param argument the argument of the log message
+     * @param cause    the cause of the failure, may be null
+     */
+    void report(final Object argument, final Throwable cause) {
+        log(ReflectorConfig.getFailurePolicy(), argument, cause);
+    }
+
+    private void log(final FailurePolicy policy, final Object argument, final Throwable cause) {
+        if (policy == FailurePolicy.THROW || policy == FailurePolicy.STACKLESS || !logger.isErrorEnabled()) {
+            return;
+        }
+        if (policy == FailurePolicy.RATE_LIMITED_LOG && !acquire()) {
+            suppressed.incrementAndGet();
+            return;
+        }
+        long count = suppressed.getAndSet(0);
+        if (count > 0) {
+            logger.error("{} similar failures were not logged", count);
+        }
+        if (cause == null) {
+            logger.error(message, argument);
+        } else {
+            logger.error(message, argument, cause);
+        }
+    }
+
+    private boolean acquire() {
+        long now = System.nanoTime();
+        long next = nextLogTime.get();
+        if (next != Long.MIN_VALUE && now - next < 0) {
+            return false;
+        }
+        long interval = TimeUnit.MILLISECONDS.toNanos(ReflectorConfig.getFailureLogInterval().toMillis());
+        return nextLogTime.compareAndSet(next, now + interval);
+    }
+
+    private RuntimeException stackless() {
+        if (stacklessFactory == null) {
+            RuntimeException exception = exceptionFactory.apply(null, null);
+            exception.setStackTrace(NO_STACK_TRACE);
+            return exception;
+        }
+        RuntimeException exception = stackless;
+        if (exception == null) {
+            exception = stacklessFactory.get();
+            stackless = exception;
+        }
+        return exception;
+    }
+}
@@ -0,0 +1,46 @@
+package org.reflector;
+
+/**
+ * A change of a value between two snapshots of an object, found by {@link ObjectDiff}.
+ *
+ * <p>The path names the changed value from the compared object: field names separated by dots, list and
+ * array indexes and map keys in brackets, for example {@code address.city} or {@code items[2].price}.
+ */
+public final class FieldChange {
+
+    private final String path;
+    private final Object oldValue;
+    private final Object newValue;
+
+    FieldChange(final String path, final Object oldValue, final Object newValue) {
+        this.path = path;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    /**
+     * @return the path of the changed value
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return the value before the change, null if it was absent
+     */
+    public Object getOldValue() {
+        return oldValue;
+    }
+
+    /**
+     * @return the value after the change, null if it was removed
+     */
+    public Object getNewValue() {
+        return newValue;
+    }
+
+    @Override
+    public String toString() {
+        return path + ": " + oldValue + " -> " + newValue;
+    }
+}
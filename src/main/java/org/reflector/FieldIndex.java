@@ -0,0 +1,58 @@
+package org.reflector;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fields of a class indexed by name, computed once per class and cached.
+ *
+ * <p>The index holds every declared field of the class and, for lookups through the hierarchy, the most
+ * specific field of each name among the class and its superclasses, in the order of
+ * {@link FieldUtils#getAllFields(Class)}. Both maps are complete, so a name that is absent is a miss
+ * answered by a single hash lookup, without the {@link NoSuchFieldException} that
+ * {@link Class#getDeclaredField(String)} would build.
+ */
+final class FieldIndex {
+
+    private static final ClassValueCache<FieldIndex> INDEXES = ReflectorCaches.create(ReflectorCaches.FIELD_INDEXES, FieldIndex::new);
+
+    private final Map<String, Field> declared = new HashMap<>();
+    private final Map<String, Field> all = new HashMap<>();
+
+    private FieldIndex(final Class<?> type) {
+        MetadataSnapshot.record(type);
+        for (Field field : type.getDeclaredFields()) {
+            declared.put(field.getName(), field);
+        }
+        for (Field field : FieldUtils.getAllFields(type)) {
+            all.putIfAbsent(field.getName(), field);
+        }
+    }
+
+    /**
+     * Returns the cached field index of the given class.
+     *
+     * @param type the class
+     * @return the field index of the class
+     */
+    static FieldIndex of(final Class<?> type) {
+        return INDEXES.get(type);
+    }
+
+    /**
+     * @param name the field name
+     * @return the field declared by the class with the given name, or null if there is none
+     */
+    Field declared(final String name) {
+        return declared.get(name);
+    }
+
+    /**
+     * @param name the field name
+     * @return the most specific field with the given name in the class or its superclasses, or null if there is none
+     */
+    Field find(final String name) {
+        return all.get(name);
+    }
+}
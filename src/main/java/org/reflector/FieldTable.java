@@ -0,0 +1,93 @@
+package org.reflector;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Instance fields of a class with their compiled accessors, computed once per class and cached.
+ *
+ * <p>Fields are ordered as by {@link FieldUtils#getAllFields(Class)}: the class's own fields first,
+ * then those of each superclass. Static and synthetic fields are left out, shadowed fields are kept.
+ * Readers are {@code (Object)Object} and writers {@code (Object,Object)void} handles, see {@link Accessors};
+ * a reader is null when the field is not accessible and a writer when it is final or not accessible.
+ */
+final class FieldTable {
+
+    private static final ClassValueCache<FieldTable> TABLES = ReflectorCaches.create(ReflectorCaches.FIELD_TABLES, FieldTable::new);
+
+    private final Field[] fields;
+    private final MethodHandle[] readers;
+    private final MethodHandle[] writers;
+    private final boolean accessible;
+
+    private FieldTable(final Class<?> type) {
+        MetadataSnapshot.record(type);
+        List<Field> instanceFields = new ArrayList<>();
+        for (Field field : FieldUtils.getAllFields(type)) {
+            if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                instanceFields.add(field);
+            }
+        }
+        this.fields = instanceFields.toArray(new Field[0]);
+        this.readers = new MethodHandle[fields.length];
+        this.writers = new MethodHandle[fields.length];
+        boolean allReadable = true;
+        for (int i = 0; i < fields.length; i++) {
+            readers[i] = Accessors.reader(fields[i]);
+            writers[i] = Accessors.writer(fields[i]);
+            allReadable &= readers[i] != null;
+        }
+        this.accessible = allReadable;
+    }
+
+    /**
+     * Returns the cached field table of the given class.
+     *
+     * @param type the class
+     * @return the field table of the class
+     */
+    static FieldTable of(final Class<?> type) {
+        return TABLES.get(type);
+    }
+
+    int size() {
+        return fields.length;
+    }
+
+    Field field(final int index) {
+        return fields[index];
+    }
+
+    MethodHandle reader(final int index) {
+        return readers[index];
+    }
+
+    MethodHandle writer(final int index) {
+        return writers[index];
+    }
+
+    /**
+     * @return true if every field can be read, false if some field is encapsulated, typically in a JDK class
+     */
+    boolean isAccessible() {
+        return accessible;
+    }
+
+    /**
+     * Returns the index of the most specific field with the given name.
+     *
+     * @param name the field name
+     * @return the index of the field, or -1 if there is no such field
+     */
+    int indexOf(final String name) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -13,10 +13,18 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public final class FieldUtils {
     private static final Logger LOGGER = LoggerFactory.getLogger(FieldUtils.class);
 
+    private static final FailureSite READ_FIELD_FAILURE = new FailureSite(LOGGER, "Error reading field '{}'",
+            (fieldName, cause) -> new FieldAccessException("Requested field is not accessible", cause),
+            () -> FieldAccessException.stackless("Requested field is not accessible"));
+    private static final FailureSite WRITE_FIELD_FAILURE = new FailureSite(LOGGER, "Error writing field '{}'",
+            (fieldName, cause) -> new FieldAccessException("Requested field is not writable", cause),
+            () -> FieldAccessException.stackless("Requested field is not writable"));
+
     private FieldUtils() {
     }
 
@@ -30,10 +38,7 @@ public final class FieldUtils {
      * @throws NullPointerException if the clazz or fieldName is null
      */
     public static Class<?> getFieldType(Class<?> clazz, String fieldName) throws NoSuchFieldException {
-        if (clazz == null || fieldName == null) {
-            throw new NullPointerException("Class and field name cannot be null");
-        }
-        Field field = clazz.getDeclaredField(fieldName);
+        Field field = declaredField(clazz, fieldName);
         return field.getType();
     }
 
@@ -47,10 +52,7 @@ public final class FieldUtils {
      * @throws NullPointerException if the clazz or fieldName is null
      */
     public static int getFieldModifiers(Class<?> clazz, String fieldName) throws NoSuchFieldException {
-        if (clazz == null || fieldName == null) {
-            throw new NullPointerException("Class and field name cannot be null");
-        }
-        Field field = clazz.getDeclaredField(fieldName);
+        Field field = declaredField(clazz, fieldName);
         return field.getModifiers();
     }
 
@@ -64,10 +66,7 @@ public final class FieldUtils {
      * @throws NullPointerException if the clazz or fieldName is null
      */
     public static boolean isFieldFinal(Class<?> clazz, String fieldName) throws NoSuchFieldException {
-        if (clazz == null || fieldName == null) {
-            throw new NullPointerException("Class and field name cannot be null");
-        }
-        Field field = clazz.getDeclaredField(fieldName);
+        Field field = declaredField(clazz, fieldName);
         return Modifier.isFinal(field.getModifiers());
     }
 
@@ -81,10 +80,7 @@ public final class FieldUtils {
      * @throws NullPointerException if the clazz or fieldName is null
      */
     public static boolean isFieldStatic(Class<?> clazz, String fieldName) throws NoSuchFieldException {
-        if (clazz == null || fieldName == null) {
-            throw new NullPointerException("Class and field name cannot be null");
-        }
-        Field field = clazz.getDeclaredField(fieldName);
+        Field field = declaredField(clazz, fieldName);
         return Modifier.isStatic(field.getModifiers());
     }
 
@@ -97,11 +93,77 @@ public final class FieldUtils {
      * @throws NullPointerException if the clazz or fieldName is null
      */
     public static void setFieldAccessible(Class<?> clazz, String fieldName) throws NoSuchFieldException {
+        Field field = declaredField(clazz, fieldName);
+        field.setAccessible(true);
+    }
+
+    /**
+     * Finds a field declared by the given class, without throwing when there is none.
+     *
+     * <p>Lookups go through a per-class index of field names, so a missing field costs a single hash lookup.
+     * The returned field is shared with later lookups.
+     *
+     * @param clazz     the class declaring the field
+     * @param fieldName the name of the field
+     * @return the field, or an empty optional if the class declares no field with that name
+     * @throws NullPointerException if the clazz or fieldName is null
+     */
+    public static Optional<Field> findDeclaredField(final Class<?> clazz, final String fieldName) {
+        return Optional.ofNullable(getDeclaredFieldOrNull(clazz, fieldName));
+    }
+
+    /**
+     * Finds a field declared by the given class, see {@link #findDeclaredField(Class, String)}.
+     *
+     * @param clazz     the class declaring the field
+     * @param fieldName the name of the field
+     * @return the field, or null if the class declares no field with that name
+     * @throws NullPointerException if the clazz or fieldName is null
+     */
+    public static Field getDeclaredFieldOrNull(final Class<?> clazz, final String fieldName) {
         if (clazz == null || fieldName == null) {
             throw new NullPointerException("Class and field name cannot be null");
         }
-        Field field = clazz.getDeclaredField(fieldName);
-        field.setAccessible(true);
+        return FieldIndex.of(clazz).declared(fieldName);
+    }
+
+    /**
+     * Finds a field of the given class or of its superclasses, without throwing when there is none. A field of a
+     * subclass hides superclass fields of the same name.
+     *
+     * <p>Lookups go through a per-class index of field names, so a missing field costs a single hash lookup.
+     * The returned field is shared with later lookups.
+     *
+     * @param clazz     the class to search from
+     * @param fieldName the name of the field
+     * @return the most specific field with that name, or an empty optional if there is none
+     * @throws NullPointerException if the clazz or fieldName is null
+     */
+    public static Optional<Field> findField(final Class<?> clazz, final String fieldName) {
+        return Optional.ofNullable(getFieldOrNull(clazz, fieldName));
+    }
+
+    /**
+     * Finds a field of the given class or of its superclasses, see {@link #findField(Class, String)}.
+     *
+     * @param clazz     the class to search from
+     * @param fieldName the name of the field
+     * @return the most specific field with that name, or null if there is none
+     * @throws NullPointerException if the clazz or fieldName is null
+     */
+    public static Field getFieldOrNull(final Class<?> clazz, final String fieldName) {
+        if (clazz == null || fieldName == null) {
+            throw new NullPointerException("Class and field name cannot be null");
+        }
+        return FieldIndex.of(clazz).find(fieldName);
+    }
+
+    private static Field declaredField(final Class<?> clazz, final String fieldName) throws NoSuchFieldException {
+        Field field = getDeclaredFieldOrNull(clazz, fieldName);
+        if (field == null) {
+            throw new NoSuchFieldException(fieldName);
+        }
+        return field;
     }
 
     /**
@@ -158,11 +220,8 @@ public final class FieldUtils {
         }
 
         List<Field> fields = new ArrayList<>();
-        Class<?> currentType = type;
-
-        while (currentType != null) {
+        for (Class<?> currentType : TypeHierarchy.of(type).superclassArray()) {
             fields.addAll(Arrays.asList(currentType.getDeclaredFields()));
-            currentType = currentType.getSuperclass();
         }
 
         return fields;
@@ -181,16 +240,13 @@ public final class FieldUtils {
         }
 
         List<Field> fields = new ArrayList<>();
-        Class<?> currentClass = clazz;
-
-        while (currentClass != null) {
+        for (Class<?> currentClass : TypeHierarchy.of(clazz).superclassArray()) {
             Field[] classFields = currentClass.getDeclaredFields();
             for (Field field : classFields) {
                 if (Modifier.isPrivate(field.getModifiers())) {
                     fields.add(field);
                 }
             }
-            currentClass = currentClass.getSuperclass();
         }
 
         return fields;
@@ -216,6 +272,9 @@ public final class FieldUtils {
     /**
      * Reads the value of a field from an object.
      *
+     * <p>The field is read through the configured {@link AccessStrategy}, failures are reported according to the
+     * configured {@link FailurePolicy}.
+     *
      * @param object    the object from which to read the field
      * @param fieldName the name of the field to read
      * @return the value of the field in the object
@@ -223,12 +282,82 @@ public final class FieldUtils {
      */
     public static Object readField(final Object object, final String fieldName) {
         try {
-            Field field = object.getClass().getDeclaredField(fieldName);
-            field.setAccessible(true);
-            return field.get(object);
+            Field field = declaredField(object.getClass(), fieldName);
+            return MemberAccess.of(field.getDeclaringClass()).read(field, object);
         } catch (NoSuchFieldException | IllegalAccessException e) {
-            LOGGER.error("Error reading field '{}'", fieldName, e);
-            throw new FieldAccessException("Requested field is not accessible", e);
+            throw READ_FIELD_FAILURE.fail(fieldName, e);
+        }
+    }
+
+    /**
+     * Writes the value of a field declared by the class of an object.
+     *
+     * <p>The field is written through the configured {@link AccessStrategy}; final instance fields are written too, see
+     * {@link #writeFieldValue(Field, Object, Object)}. Failures are reported according to the configured
+     * {@link FailurePolicy}.
+     *
+     * @param object    the object to write the field of
+     * @param fieldName the name of the field, which may be static
+     * @param value     the new value
+     * @throws FieldAccessException if the field does not exist, is static final or cannot be written, or the value
+     *                              cannot be assigned to it
+     */
+    public static void writeField(final Object object, final String fieldName, final Object value) {
+        try {
+            Field field = declaredField(object.getClass(), fieldName);
+            MemberAccess.of(field.getDeclaringClass()).write(field, object, value);
+        } catch (NoSuchFieldException | IllegalAccessException | IllegalArgumentException | ClassCastException e) {
+            throw WRITE_FIELD_FAILURE.fail(fieldName, e);
+        }
+    }
+
+    /**
+     * Writes the value of a static field declared by a class, initializing the class first.
+     *
+     * @param clazz     the class declaring the field
+     * @param fieldName the name of the static field
+     * @param value     the new value
+     * @throws FieldAccessException if the class declares no such static field, or it is final or cannot be written,
+     *                              or the value cannot be assigned to it
+     * @see #writeFieldValue(Field, Object, Object)
+     */
+    public static void writeStaticField(final Class<?> clazz, final String fieldName, final Object value) {
+        try {
+            Field field = declaredField(clazz, fieldName);
+            if (!Modifier.isStatic(field.getModifiers())) {
+                throw new NoSuchFieldException("Field " + fieldName + " of " + clazz.getName() + " is not static");
+            }
+            MemberAccess.of(clazz).write(field, null, value);
+        } catch (NoSuchFieldException | IllegalAccessException | IllegalArgumentException | ClassCastException e) {
+            throw WRITE_FIELD_FAILURE.fail(fieldName, e);
+        }
+    }
+
+    /**
+     * Writes the value of a field, static or instance, final or not, except static final fields.
+     *
+     * <p>Non-final fields are written through the configured {@link AccessStrategy}, with setters compiled from
+     * {@link java.lang.invoke.VarHandle}s on JDK 9 and later. Final instance fields get a reflective setter compiled
+     * once per field, which the JDK allows once the field is made accessible. Final fields are only written in
+     * classes open to the library: classes of the JDK, or of packages their module does not open, are refused, as
+     * are static final fields, which the JIT treats as constants so code already compiled would keep the old value.
+     *
+     * @param field  the field
+     * @param target the object to write the field of, ignored for static fields
+     * @param value  the new value
+     * @throws NullPointerException if the field is null, or the target is null for an instance field
+     * @throws FieldAccessException if the field is static final, final in a class not open to the library, or
+     *                              cannot be made accessible or written, the target is not an instance of the
+     *                              declaring class, or the value cannot be assigned to the field
+     */
+    public static void writeFieldValue(final Field field, final Object target, final Object value) {
+        if (field == null) {
+            throw new NullPointerException("Field cannot be null");
+        }
+        try {
+            MemberAccess.of(field.getDeclaringClass()).write(field, target, value);
+        } catch (IllegalAccessException | IllegalArgumentException | ClassCastException e) {
+            throw WRITE_FIELD_FAILURE.fail(field.getName(), e);
         }
     }
 
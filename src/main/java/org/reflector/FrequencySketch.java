@@ -0,0 +1,79 @@
+package org.reflector;
+
+/**
+ * Approximate access frequencies of keys for the admission check of {@link EvictionPolicy#TINY_LFU}, a count-min
+ * sketch of saturating four-bit counters that halves every counter after a sample of increments so old popularity
+ * fades. Caches sample the accesses they record, so counts are relative rather than exact.
+ *
+ * <p>Updates are not synchronized: a lost increment under contention only makes an estimate slightly lower.
+ */
+final class FrequencySketch {
+
+    private static final int MAX_COUNT = 15;
+    private static final int MAX_TABLE_SIZE = 1 << 22;
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    private final byte[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * @param maximumSize the maximum size of the cache, which sizes the sketch
+     */
+    FrequencySketch(final int maximumSize) {
+        int size = 64;
+        while (size < MAX_TABLE_SIZE && size < maximumSize * 2L) {
+            size <<= 1;
+        }
+        this.table = new byte[size];
+        this.mask = size - 1;
+        this.sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * Math.max(maximumSize, 16));
+    }
+
+    /**
+     * Records an access to the key.
+     *
+     * @param key the key
+     */
+    void increment(final Object key) {
+        int hash = key.hashCode();
+        boolean added = false;
+        for (long seed : SEEDS) {
+            int index = indexOf(hash, seed);
+            if (table[index] < MAX_COUNT) {
+                table[index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * @param key the key
+     * @return the estimated number of recent accesses to the key, at most 15
+     */
+    int frequency(final Object key) {
+        int hash = key.hashCode();
+        int frequency = MAX_COUNT;
+        for (long seed : SEEDS) {
+            frequency = Math.min(frequency, table[indexOf(hash, seed)]);
+        }
+        return frequency;
+    }
+
+    private int indexOf(final int hash, final long seed) {
+        long mixed = (hash + seed) * seed;
+        mixed ^= mixed >>> 32;
+        return (int) mixed & mask;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] >>>= 1;
+        }
+        additions /= 2;
+    }
+}
@@ -0,0 +1,39 @@
+package org.reflector;
+
+/**
+ * Implemented by the accessor classes generated for {@link AccessStrategy#GENERATED}.
+ *
+ * <p>Each generated class serves the declared fields and methods of one class, numbered by the library when it
+ * generates the class. This interface is public only so that generated classes, defined in the package of the
+ * class they serve, can implement it; it is not meant to be implemented or called directly.
+ */
+public interface GeneratedAccessor {
+
+    /**
+     * Reads a field.
+     *
+     * @param target the object to read from, ignored for static fields
+     * @param index  the index of the field
+     * @return the value of the field, primitives boxed
+     */
+    Object get(Object target, int index);
+
+    /**
+     * Writes a field.
+     *
+     * @param target the object to write to, ignored for static fields
+     * @param index  the index of the field
+     * @param value  the new value, primitives boxed
+     */
+    void set(Object target, int index, Object value);
+
+    /**
+     * Invokes a method.
+     *
+     * @param target the object to invoke the method on, ignored for static methods
+     * @param index  the index of the method
+     * @param args   the arguments, primitives boxed
+     * @return the value returned by the method, null for void methods
+     */
+    Object invoke(Object target, int index, Object[] args);
+}
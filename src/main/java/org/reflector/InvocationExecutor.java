@@ -0,0 +1,45 @@
+package org.reflector;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The executor of parallel invocations before JDK 21: a pool of daemon threads that grows with the number of
+ * calls in flight and shrinks when they are idle.
+ *
+ * <p>Reflective calls often block, so they are not run on the common {@link java.util.concurrent.ForkJoinPool},
+ * whose few threads a handful of blocking calls would exhaust for the rest of the application. The pool is
+ * created on first use.
+ */
+final class InvocationExecutor {
+
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    private InvocationExecutor() {
+    }
+
+    /**
+     * @return the shared executor
+     */
+    static Executor shared() {
+        return Holder.EXECUTOR;
+    }
+
+    private static final class Holder {
+
+        private static final ExecutorService EXECUTOR = create();
+
+        private static ExecutorService create() {
+            AtomicInteger count = new AtomicInteger();
+            return new ThreadPoolExecutor(0, Integer.MAX_VALUE, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<>(), task -> {
+                Thread thread = new Thread(task, "reflector-invoke-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.reflector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of invoking one method on many targets: a result or a failure per target, in target order.
+ *
+ * <p>A failure is the exception thrown by the invoked method itself, or a
+ * {@link org.reflector.exception.MethodInvokeException} when the method could not be invoked on the target.
+ */
+public final class InvocationResults {
+
+    private final Object[] targets;
+    private final Object[] results;
+    private final Throwable[] failures;
+    private int failureCount;
+
+    InvocationResults(final Object[] targets) {
+        this.targets = targets;
+        this.results = new Object[targets.length];
+        this.failures = new Throwable[targets.length];
+    }
+
+    void succeeded(final int index, final Object result) {
+        results[index] = result;
+    }
+
+    void failed(final int index, final Throwable failure) {
+        failures[index] = failure;
+        failureCount++;
+    }
+
+    /**
+     * @return the number of targets
+     */
+    public int size() {
+        return targets.length;
+    }
+
+    /**
+     * @param index the index of the target
+     * @return the target at the given index
+     */
+    public Object getTarget(final int index) {
+        return targets[index];
+    }
+
+    /**
+     * @param index the index of the target
+     * @return the value returned for the target, null if the method is void or failed
+     */
+    public Object getResult(final int index) {
+        return results[index];
+    }
+
+    /**
+     * @param index the index of the target
+     * @return the failure for the target, or null if the invocation succeeded
+     */
+    public Throwable getFailure(final int index) {
+        return failures[index];
+    }
+
+    /**
+     * @return the returned values in target order, null for failed invocations
+     */
+    public List<Object> getResults() {
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    /**
+     * @return the failures in target order, without entries for successful invocations
+     */
+    public List<Throwable> getFailures() {
+        List<Throwable> found = new ArrayList<>(failureCount);
+        for (Throwable failure : failures) {
+            if (failure != null) {
+                found.add(failure);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return the number of failed invocations
+     */
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * @return true if at least one invocation failed
+     */
+    public boolean hasFailures() {
+        return failureCount > 0;
+    }
+}
@@ -5,18 +5,55 @@ import org.reflector.exception.MethodInvokeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public final class InvokeUtils {
     private static final Logger LOGGER = LoggerFactory.getLogger(InvokeUtils.class);
 
+    private static final FailureSite INVOKE_METHOD_FAILURE = new FailureSite(LOGGER, "Could not invoke {{}} method",
+            (methodName, cause) -> new MethodInvokeException("Error during method invoke has been happened", cause),
+            () -> MethodInvokeException.stackless("Error during method invoke has been happened"));
+    private static final FailureSite INVOKE_SINGLE_METHOD_FAILURE = new FailureSite(LOGGER, "Could not invoke {{}} method",
+            (methodName, cause) -> new MethodInvokeException("Error during method invoke has been happened", cause),
+            () -> MethodInvokeException.stackless("Error during method invoke has been happened"));
+    private static final FailureSite INSTANTIATE_FAILURE = new FailureSite(LOGGER, "Could not instantiate class {{}} object",
+            (className, cause) -> new InstanceInvocationException("Error during instance invoke has been happened", cause),
+            () -> InstanceInvocationException.stackless("Error during instance invoke has been happened"));
+    private static final FailureSite CLASS_NOT_FOUND_FAILURE = new FailureSite(LOGGER, "Could not find class {{}}",
+            (className, cause) -> new InstanceInvocationException("Error during instance invoke has been happened", cause),
+            () -> InstanceInvocationException.stackless("Error during instance invoke has been happened"));
+    private static final FailureSite LOAD_CLASS_FAILURE = new FailureSite(LOGGER, "Could not load class {{}}",
+            (className, cause) -> new InstanceInvocationException("Error during instance invoke has been happened", cause),
+            () -> InstanceInvocationException.stackless("Error during instance invoke has been happened"));
+
     private InvokeUtils() {
     }
 
     /**
      * Invokes a method on an object.
      *
+     * <p>The method is called through the configured {@link AccessStrategy}; with core reflection it must be
+     * accessible to the caller, the other strategies also reach private methods. Failures are reported according to
+     * the configured {@link FailurePolicy}.
+     *
      * @param objectToInvokeOn the object to invoke the method on
      * @param methodName        the name of the method to invoke
      * @param parameterTypes    the parameter types of the method
@@ -27,11 +64,10 @@ public final class InvokeUtils {
     public static Object invokeMethod(final Object objectToInvokeOn, final String methodName, final Class<?>[] parameterTypes, final Object[] args) {
         try {
             Method method = objectToInvokeOn.getClass().getDeclaredMethod(methodName, parameterTypes);
-            return method.invoke(objectToInvokeOn, args);
+            return MemberAccess.of(method.getDeclaringClass()).invoke(method, objectToInvokeOn, args);
         } catch (Exception e) {
-            LOGGER.error("Could not invoke method", e);
+            throw INVOKE_METHOD_FAILURE.fail(methodName, e);
         }
-        throw new MethodInvokeException("Error during method invoke has been happened");
     }
 
     /**
@@ -47,12 +83,271 @@ public final class InvokeUtils {
     public static Object invokeSingleMethod(final Object objectToInvokeOn, final String methodName, final Class<?> parameterType, final Object parameter) {
         try {
             final Class<?> clazz = objectToInvokeOn.getClass();
+            MetadataSnapshot.record(clazz);
             final Method method = clazz.getMethod(methodName, parameterType);
+            MetadataSnapshot.record(method.getDeclaringClass());
             return method.invoke(objectToInvokeOn, parameter);
         } catch (Exception e) {
-            LOGGER.error("Could not invoke {{}} method ", methodName, e);
+            throw INVOKE_SINGLE_METHOD_FAILURE.fail(methodName, e);
+        }
+    }
+
+    /**
+     * Invokes the same method on every target of a collection.
+     *
+     * <p>The method is resolved once per distinct receiver class, among the declared methods of the class and its
+     * superclasses and then its public methods, and called through a cached compiled invoker. Failures are
+     * collected in the returned results instead of being logged or thrown.
+     *
+     * @param targets        the objects to invoke the method on
+     * @param methodName     the name of the method to invoke
+     * @param parameterTypes the parameter types of the method, null for none
+     * @param args           the arguments passed to every invocation, null for none
+     * @return the result or failure of each invocation, in iteration order of the collection
+     * @throws NullPointerException if the collection or the method name is null
+     */
+    public static InvocationResults invokeAll(final Collection<?> targets, final String methodName, final Class<?>[] parameterTypes, final Object[] args) {
+        final InvocationResults results = newResults(targets, methodName);
+        final MethodHandle[] invokers = resolveInvokers(results, methodName, parameterTypes);
+        final Object[] arguments = (args != null) ? args : new Object[0];
+        for (int i = 0; i < invokers.length; i++) {
+            if (invokers[i] != null) {
+                try {
+                    results.succeeded(i, (Object) invokers[i].invokeExact(results.getTarget(i), arguments));
+                } catch (Throwable e) {
+                    results.failed(i, e);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Invokes the same method on every target of a collection concurrently, on a virtual thread per call on
+     * JDK 21 and later and on a shared pool of daemon threads otherwise, never on the common
+     * {@link ForkJoinPool}, since reflective calls may block.
+     *
+     * @param targets        the objects to invoke the method on
+     * @param methodName     the name of the method to invoke
+     * @param parameterTypes the parameter types of the method, null for none
+     * @param args           the arguments passed to every invocation, null for none
+     * @param timeout        the time each invocation may take, counted from the start of the call
+     * @param unit           the unit of the timeout
+     * @return the result or failure of each invocation, in iteration order of the collection
+     * @throws NullPointerException if the collection, the method name or the unit is null
+     * @see #invokeAllParallel(Collection, String, Class[], Object[], long, TimeUnit, Executor)
+     */
+    public static InvocationResults invokeAllParallel(final Collection<?> targets, final String methodName, final Class<?>[] parameterTypes,
+                                                      final Object[] args, final long timeout, final TimeUnit unit) {
+        return invokeAllParallel(targets, methodName, parameterTypes, args, timeout, unit, JdkSupport.defaultExecutor());
+    }
+
+    /**
+     * Invokes the same method on every target of a collection concurrently on the given executor.
+     *
+     * <p>Methods are resolved as by {@link #invokeAll(Collection, String, Class[], Object[])} before any call is
+     * submitted. The calling thread then waits for every call; a call still running when its timeout elapses is
+     * cancelled and interrupted, and recorded as a {@link TimeoutException} failure. The timeout of a call starts
+     * when the executor starts running it, so calls queued behind others are not timed out before they run; a call
+     * the executor accepts but never runs is waited for. If the calling thread is
+     * interrupted, the remaining calls are cancelled and recorded as {@link CancellationException} failures.
+     *
+     * @param targets        the objects to invoke the method on
+     * @param methodName     the name of the method to invoke
+     * @param parameterTypes the parameter types of the method, null for none
+     * @param args           the arguments passed to every invocation, null for none
+     * @param timeout        the time each invocation may take, counted from the start of the call
+     * @param unit           the unit of the timeout
+     * @param executor       the executor running the invocations
+     * @return the result or failure of each invocation, in iteration order of the collection
+     * @throws NullPointerException if the collection, the method name, the unit or the executor is null
+     */
+    public static InvocationResults invokeAllParallel(final Collection<?> targets, final String methodName, final Class<?>[] parameterTypes,
+                                                      final Object[] args, final long timeout, final TimeUnit unit, final Executor executor) {
+        if (unit == null || executor == null) {
+            throw new NullPointerException("Timeout unit and executor cannot be null");
+        }
+        final InvocationResults results = newResults(targets, methodName);
+        final MethodHandle[] invokers = resolveInvokers(results, methodName, parameterTypes);
+        final Object[] arguments = (args != null) ? args : new Object[0];
+
+        final long timeoutNanos = unit.toNanos(timeout);
+        final Semaphore events = new Semaphore(0);
+        final Queue<TimedInvocation> started = new ConcurrentLinkedQueue<>();
+        final Queue<TimedInvocation> completed = new ConcurrentLinkedQueue<>();
+        final List<TimedInvocation> tasks = new ArrayList<>();
+        for (int i = 0; i < invokers.length; i++) {
+            if (invokers[i] != null) {
+                final MethodHandle invoker = invokers[i];
+                final Object target = results.getTarget(i);
+                final TimedInvocation task = new TimedInvocation(i, () -> invoke(invoker, target, arguments),
+                        started, completed, events);
+                try {
+                    executor.execute(task);
+                    tasks.add(task);
+                } catch (RejectedExecutionException e) {
+                    task.cancel(false);
+                    completed.remove(task);
+                    results.failed(i, e);
+                }
+            }
+        }
+
+        boolean interrupted = false;
+        int remaining = tasks.size();
+        while (remaining > 0) {
+            for (TimedInvocation task = completed.poll(); task != null; task = completed.poll()) {
+                record(results, task, interrupted, methodName, parameterTypes, timeout, unit);
+                remaining--;
+            }
+            if (remaining == 0) {
+                break;
+            }
+            long wait = -1L;
+            long now = System.nanoTime();
+            for (TimedInvocation task = started.peek(); task != null; task = started.peek()) {
+                long left = task.startTime + timeoutNanos - now;
+                if (task.isDone()) {
+                    started.poll();
+                } else if (left <= 0) {
+                    started.poll();
+                    task.timedOut = true;
+                    task.cancel(true);
+                } else {
+                    wait = left;
+                    break;
+                }
+            }
+            if (interrupted) {
+                continue;
+            }
+            try {
+                if (wait < 0) {
+                    events.acquire();
+                } else {
+                    events.tryAcquire(wait, TimeUnit.NANOSECONDS);
+                }
+                events.drainPermits();
+            } catch (InterruptedException e) {
+                interrupted = true;
+                for (TimedInvocation task : tasks) {
+                    task.cancel(true);
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return results;
+    }
+
+    private static void record(final InvocationResults results, final TimedInvocation task, final boolean interrupted,
+                               final String methodName, final Class<?>[] parameterTypes, final long timeout, final TimeUnit unit) {
+        try {
+            results.succeeded(task.index, task.get());
+        } catch (ExecutionException e) {
+            results.failed(task.index, e.getCause());
+        } catch (CancellationException e) {
+            if (task.timedOut) {
+                results.failed(task.index, new TimeoutException("Method " + MethodInvokers.describe(methodName, parameterTypes)
+                        + " did not complete within " + timeout + " " + unit));
+            } else if (interrupted) {
+                results.failed(task.index, new CancellationException("Interrupted while waiting for the invocation"));
+            } else {
+                results.failed(task.index, e);
+            }
+        } catch (InterruptedException e) {
+            // a completed task does not block
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * One call of a parallel invocation, which records when it starts and signals its start and completion to
+     * the waiting thread.
+     */
+    private static final class TimedInvocation extends FutureTask<Object> {
+
+        private final int index;
+        private final Queue<TimedInvocation> started;
+        private final Queue<TimedInvocation> completed;
+        private final Semaphore events;
+        private volatile long startTime;
+        private volatile boolean timedOut;
+
+        TimedInvocation(final int index, final Callable<Object> call, final Queue<TimedInvocation> started,
+                        final Queue<TimedInvocation> completed, final Semaphore events) {
+            super(call);
+            this.index = index;
+            this.started = started;
+            this.completed = completed;
+            this.events = events;
+        }
+
+        @Override
+        public void run() {
+            if (!isDone()) {
+                startTime = System.nanoTime();
+                started.add(this);
+                events.release();
+            }
+            super.run();
+        }
+
+        @Override
+        protected void done() {
+            completed.add(this);
+            events.release();
+        }
+    }
+
+    private static InvocationResults newResults(final Collection<?> targets, final String methodName) {
+        if (targets == null) {
+            throw new NullPointerException("Targets cannot be null");
+        }
+        if (methodName == null) {
+            throw new NullPointerException("Method name cannot be null");
+        }
+        return new InvocationResults(targets.toArray());
+    }
+
+    /**
+     * Resolves the invoker of each target once per distinct receiver class, recording a failure for null
+     * targets and targets without the method.
+     *
+     * @return the invoker per target, null where a failure was recorded
+     */
+    private static MethodHandle[] resolveInvokers(final InvocationResults results, final String methodName, final Class<?>[] parameterTypes) {
+        final MethodHandle[] invokers = new MethodHandle[results.size()];
+        Class<?> receiverClass = null;
+        MethodHandle invoker = null;
+        for (int i = 0; i < invokers.length; i++) {
+            final Object target = results.getTarget(i);
+            if (target == null) {
+                results.failed(i, new NullPointerException("Target cannot be null"));
+                continue;
+            }
+            if (target.getClass() != receiverClass) {
+                receiverClass = target.getClass();
+                invoker = MethodInvokers.find(receiverClass, methodName, parameterTypes);
+            }
+            if (invoker == null) {
+                results.failed(i, new MethodInvokeException("Method " + MethodInvokers.describe(methodName, parameterTypes)
+                        + " not found on " + receiverClass.getName()));
+            }
+            invokers[i] = invoker;
+        }
+        return invokers;
+    }
+
+    private static Object invoke(final MethodHandle invoker, final Object target, final Object[] arguments) throws Exception {
+        try {
+            return (Object) invoker.invokeExact(target, arguments);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
         }
-        throw new MethodInvokeException("Error during method invoke has been happened");
     }
 
     /**
@@ -63,12 +358,12 @@ public final class InvokeUtils {
      * @throws InstanceInvocationException if an error occurs during instance invocation
      */
     public static Object invokeInstance(final String className) throws InstanceInvocationException {
+        final Class<?> clazz = resolveClass(className);
         try {
-            return Class.forName(className).newInstance();
+            return clazz.newInstance();
         } catch (Exception e) {
-            LOGGER.error("Could not instantiate class object ", e);
+            throw INSTANTIATE_FAILURE.fail(className, e);
         }
-        throw new InstanceInvocationException("Error during instance invoke has been happened");
     }
 
     /**
@@ -80,15 +375,14 @@ public final class InvokeUtils {
      * @throws InstanceInvocationException if an error occurs during instance invocation
      */
     public static Object invokeInstance(final String classFullName, final Object... args) throws InstanceInvocationException {
+        final Class<?> clazz = resolveClass(classFullName);
         try {
-            final Class<?> clazz = Class.forName(classFullName);
             final Class<?>[] ctorTypes = getArrayValuesTypesByArgs(args);
             final Constructor<?> ctor = getAccessibleConstructor(ctorTypes, clazz);
             return ctor.newInstance(args);
         } catch (Exception e) {
-            LOGGER.error("Could not instantiate class {{}} object ", classFullName, e);
+            throw INSTANTIATE_FAILURE.fail(classFullName, e);
         }
-        throw new InstanceInvocationException("Error during instance invoke has been happened");
     }
 
     /**
@@ -102,13 +396,35 @@ public final class InvokeUtils {
      */
     public static <T> T invokeInstance(final Class<T> clazz, final Object... args) throws InstanceInvocationException {
         try {
+            MetadataSnapshot.record(clazz);
             final Class<?>[] ctorTypes = getArrayValuesTypesByArgs(args);
             final Constructor<T> ctor = getAccessibleConstructor(ctorTypes, clazz);
             return ctor.newInstance(args);
         } catch (Exception e) {
-            LOGGER.error("Could not instantiate class {{}} object ", clazz, e);
+            throw INSTANTIATE_FAILURE.fail(clazz, e);
+        }
+    }
+
+    /**
+     * Resolves a class through {@link ClassResolver}, unknown names fail fast without a stack trace. The class is
+     * recorded in the installed {@link MetadataSnapshot}, as it is about to be instantiated reflectively.
+     *
+     * @param className the name of the class
+     * @return the class
+     * @throws InstanceInvocationException if the class cannot be found, or cannot be linked or initialized
+     */
+    private static Class<?> resolveClass(final String className) {
+        final Class<?> clazz;
+        try {
+            clazz = (className != null) ? ClassResolver.findClass(className) : null;
+        } catch (LinkageError e) {
+            throw LOAD_CLASS_FAILURE.fail(className, e);
+        }
+        if (clazz == null) {
+            throw CLASS_NOT_FOUND_FAILURE.fail(className, null);
         }
-        throw new InstanceInvocationException("Error during instance invoke has been happened");
+        MetadataSnapshot.record(clazz);
+        return clazz;
     }
 
     /**
@@ -0,0 +1,72 @@
+package org.reflector;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.util.concurrent.Executor;
+
+/**
+ * Runtime features that depend on the version of the running JDK.
+ *
+ * <p>This is the Java 8 implementation, which offers none of the newer features. The multi-release JAR carries
+ * implementations for JDK 9, 17 and 21 under {@code META-INF/versions} that provide them; all of them keep the
+ * same package-private methods.
+ */
+final class JdkSupport {
+
+    private static final ClassLoader EXTENSION_LOADER = ClassLoader.getSystemClassLoader().getParent();
+
+    private JdkSupport() {
+    }
+
+    /**
+     * Returns the executor used for parallel invocations when the caller does not provide one, the daemon
+     * threads of {@link InvocationExecutor}.
+     *
+     * @return the default executor
+     */
+    static Executor defaultExecutor() {
+        return InvocationExecutor.shared();
+    }
+
+    /**
+     * @return false, classes are not defined as hidden nestmates before JDK 17
+     */
+    static boolean supportsHiddenClasses() {
+        return false;
+    }
+
+    /**
+     * Defines a generated class in the package of the host class, which needs a private lookup of JDK 9.
+     *
+     * @param host  the host class
+     * @param bytes the class file, naming a class of the host package
+     * @return null, generated accessors are not used on JDK 8
+     */
+    static Class<?> defineAccessorClass(final Class<?> host, final byte[] bytes) {
+        return null;
+    }
+
+    /**
+     * Tells whether the library may override access checks on the members of a class, which it requires before
+     * writing final fields: on JDK 8, whether the class was defined by neither the bootstrap nor the extension
+     * loader, which load the JDK itself.
+     *
+     * @param type the class
+     * @return true if the class is open to the library
+     */
+    static boolean isOpen(final Class<?> type) {
+        ClassLoader loader = type.getClassLoader();
+        return loader != null && loader != EXTENSION_LOADER;
+    }
+
+    /**
+     * Compiles a setter of a non-final field from a {@link java.lang.invoke.VarHandle}, which needs JDK 9.
+     *
+     * @param field the field
+     * @return null, the setter is compiled from {@link java.lang.invoke.MethodHandles.Lookup#unreflectSetter(Field)}
+     * instead
+     */
+    static MethodHandle fieldSetter(final Field field) {
+        return null;
+    }
+}
@@ -0,0 +1,375 @@
+package org.reflector;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Access to the declared fields and methods of one class through the configured {@link AccessStrategy}.
+ *
+ * <p>Method handles are compiled on the first use of each member and the generated accessor on the first use
+ * of the class; both are kept while the class stays in the {@link ReflectorCaches#MEMBER_ACCESS} cache. Every
+ * strategy reports failures the same way: an inaccessible member as {@link IllegalAccessException}, a target that
+ * is not an instance of the class, a wrong number of arguments or a value of the wrong type as
+ * {@link IllegalArgumentException}, and an exception thrown by an invoked method as
+ * {@link InvocationTargetException}. Values are checked and widened as core reflection does before the compiled
+ * accessors are called.
+ */
+final class MemberAccess {
+
+    private static final ClassValueCache<MemberAccess> ACCESS = ReflectorCaches.create(ReflectorCaches.MEMBER_ACCESS, MemberAccess::new);
+
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final Object UNAVAILABLE = new Object();
+    private static final Object MISMATCH = new Object();
+
+    private final Class<?> type;
+    private final Map<String, Integer> fieldIndex = new HashMap<>();
+    private final Map<Method, Integer> methodIndex = new HashMap<>();
+    private final Field[] fields;
+    private final Method[] methods;
+    private final Class<?>[] valueTypes;
+    private final Class<?>[][] parameterTypes;
+    private final Class<?>[][] argumentTypes;
+    private final MethodHandle[] readers;
+    private final MethodHandle[] writers;
+    private final MethodHandle[] invokers;
+    private final boolean[] readable;
+    private final boolean[] writable;
+    private final boolean[] invocable;
+    private volatile Object generated;
+
+    private MemberAccess(final Class<?> type) {
+        this.type = type;
+        MetadataSnapshot.record(type);
+        this.fields = type.getDeclaredFields();
+        this.methods = type.getDeclaredMethods();
+        this.readers = new MethodHandle[fields.length];
+        this.writers = new MethodHandle[fields.length];
+        this.invokers = new MethodHandle[methods.length];
+        this.readable = new boolean[fields.length];
+        this.writable = new boolean[fields.length];
+        this.invocable = new boolean[methods.length];
+        this.valueTypes = new Class<?>[fields.length];
+        this.parameterTypes = new Class<?>[methods.length][];
+        this.argumentTypes = new Class<?>[methods.length][];
+        boolean nestmate = JdkSupport.supportsHiddenClasses();
+        for (int i = 0; i < fields.length; i++) {
+            fieldIndex.put(fields[i].getName(), i);
+            readable[i] = AccessorGenerator.canRead(fields[i], nestmate);
+            writable[i] = AccessorGenerator.canWrite(fields[i], nestmate);
+            valueTypes[i] = boxed(fields[i].getType());
+        }
+        for (int i = 0; i < methods.length; i++) {
+            methodIndex.put(methods[i], i);
+            invocable[i] = AccessorGenerator.canInvoke(methods[i], nestmate);
+            parameterTypes[i] = methods[i].getParameterTypes();
+            argumentTypes[i] = new Class<?>[parameterTypes[i].length];
+            for (int j = 0; j < parameterTypes[i].length; j++) {
+                argumentTypes[i][j] = boxed(parameterTypes[i][j]);
+            }
+        }
+    }
+
+    /**
+     * @param type the class declaring the members
+     * @return the cached access to the declared members of the class
+     */
+    static MemberAccess of(final Class<?> type) {
+        return ACCESS.get(type);
+    }
+
+    /**
+     * Reads a field declared by this class.
+     *
+     * @param field  the field
+     * @param target the object to read from, ignored for static fields
+     * @return the value of the field
+     * @throws IllegalAccessException   if the field is not accessible
+     * @throws IllegalArgumentException if the target is not an instance of the class
+     */
+    Object read(final Field field, final Object target) throws IllegalAccessException {
+        AccessStrategy strategy = ReflectorConfig.getAccessStrategy();
+        if (strategy == AccessStrategy.REFLECTION) {
+            makeAccessible(field);
+            return field.get(target);
+        }
+        checkTarget(field, target);
+        int index = indexOf(field);
+        GeneratedAccessor accessor = (strategy == AccessStrategy.GENERATED) ? generated() : null;
+        if (accessor != null && readable[index]) {
+            return accessor.get(target, index);
+        }
+        MethodHandle reader = readers[index];
+        if (reader == null) {
+            reader = Accessors.reader(field);
+            if (reader == null) {
+                throw new IllegalAccessException("Field " + field + " is not accessible");
+            }
+            readers[index] = reader;
+        }
+        try {
+            return (Object) reader.invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to read " + field, e);
+        }
+    }
+
+    /**
+     * Writes a field declared by this class. Final instance fields are written by a writer compiled once per field
+     * with {@link Accessors#finalWriter(Field)}, whatever the strategy; static final fields, and final fields of
+     * classes not {@link JdkSupport#isOpen open} to the library, are refused.
+     *
+     * @param field  the field
+     * @param target the object to write to, ignored for static fields
+     * @param value  the new value
+     * @throws IllegalAccessException   if the field is static final, final in a class not open to the library, or
+     *                                  cannot be written
+     * @throws IllegalArgumentException if the target is not an instance of the class, or the value cannot be
+     *                                  assigned to the field
+     */
+    void write(final Field field, final Object target, final Object value) throws IllegalAccessException {
+        AccessStrategy strategy = ReflectorConfig.getAccessStrategy();
+        boolean isFinal = Modifier.isFinal(field.getModifiers());
+        if (strategy == AccessStrategy.REFLECTION && !isFinal) {
+            makeAccessible(field);
+            field.set(target, value);
+            return;
+        }
+        if (isFinal && Modifier.isStatic(field.getModifiers())) {
+            throw new IllegalAccessException("Static final field " + field + " cannot be written");
+        }
+        if (isFinal && !JdkSupport.isOpen(type)) {
+            throw new IllegalAccessException("Final field " + field + " of a class not open to the library cannot be written");
+        }
+        checkTarget(field, target);
+        int index = indexOf(field);
+        Object converted = convert(field.getType(), valueTypes[index], value);
+        if (converted == MISMATCH) {
+            throw new IllegalArgumentException("Cannot assign " + describe(value) + " to field " + field);
+        }
+        GeneratedAccessor accessor = (strategy == AccessStrategy.GENERATED) ? generated() : null;
+        if (accessor != null && writable[index]) {
+            accessor.set(target, index, converted);
+            return;
+        }
+        MethodHandle writer = writers[index];
+        if (writer == null) {
+            writer = isFinal ? Accessors.finalWriter(field) : Accessors.writer(field);
+            if (writer == null) {
+                throw new IllegalAccessException("Field " + field + " cannot be written");
+            }
+            writers[index] = writer;
+        }
+        try {
+            writer.invokeExact(target, converted);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to write " + field, e);
+        }
+    }
+
+    /**
+     * Overrides access checks on a field for core reflection, reporting a refusal, such as a package its module
+     * does not open, the way an inaccessible field is reported.
+     *
+     * @param field the field
+     * @throws IllegalAccessException if access checks cannot be overridden
+     */
+    private static void makeAccessible(final Field field) throws IllegalAccessException {
+        try {
+            field.setAccessible(true);
+        } catch (RuntimeException e) {
+            IllegalAccessException failure = new IllegalAccessException("Field " + field + " is not accessible");
+            failure.initCause(e);
+            throw failure;
+        }
+    }
+
+    /**
+     * Invokes a method declared by this class. The reflection strategy calls the method as
+     * {@link Method#invoke(Object, Object...)} does, without overriding access checks.
+     *
+     * @param method the method
+     * @param target the object to invoke the method on, ignored for static methods
+     * @param args   the arguments, null for none
+     * @return the value returned by the method, null for void methods
+     * @throws IllegalAccessException    if the method is not accessible
+     * @throws IllegalArgumentException  if the target is not an instance of the class, or the arguments do not
+     *                                   match the parameters
+     * @throws InvocationTargetException if the method throws an exception
+     */
+    Object invoke(final Method method, final Object target, final Object[] args)
+            throws IllegalAccessException, InvocationTargetException {
+        AccessStrategy strategy = ReflectorConfig.getAccessStrategy();
+        if (strategy == AccessStrategy.REFLECTION) {
+            return method.invoke(target, args);
+        }
+        checkTarget(method, target);
+        int index = methodIndex.get(method);
+        Object[] arguments = checkArguments(index, (args != null) ? args : NO_ARGS);
+        GeneratedAccessor accessor = (strategy == AccessStrategy.GENERATED) ? generated() : null;
+        try {
+            if (accessor != null && invocable[index]) {
+                return accessor.invoke(target, index, arguments);
+            }
+            MethodHandle invoker = invokers[index];
+            if (invoker == null) {
+                invoker = Accessors.invoker(method);
+                if (invoker == null) {
+                    throw new IllegalAccessException("Method " + method + " is not accessible");
+                }
+                invokers[index] = invoker;
+            }
+            return (Object) invoker.invokeExact(target, arguments);
+        } catch (IllegalAccessException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     * Finds the accessor class defined as an ordinary class for an earlier instance of this cache entry, which
+     * cannot be defined a second time.
+     *
+     * @return the accessor class, or null if none was defined
+     */
+    private Class<?> definedAccessorClass() {
+        try {
+            Class<?> accessorClass = Class.forName(type.getName() + AccessorGenerator.SUFFIX, true, type.getClassLoader());
+            return GeneratedAccessor.class.isAssignableFrom(accessorClass) ? accessorClass : null;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private void checkTarget(final Member member, final Object target) {
+        if (target != null && !type.isInstance(target) && !Modifier.isStatic(member.getModifiers())) {
+            throw new IllegalArgumentException(target.getClass().getName() + " is not an instance of " + type.getName());
+        }
+    }
+
+    /**
+     * Checks the arguments against the parameters of a method, widening primitive values as core reflection does.
+     *
+     * @return the arguments, or a copy holding the widened values
+     */
+    private Object[] checkArguments(final int index, final Object[] arguments) {
+        Class<?>[] types = argumentTypes[index];
+        if (arguments.length != types.length) {
+            throw new IllegalArgumentException("Wrong number of arguments: expected " + types.length + ", got " + arguments.length);
+        }
+        Object[] checked = arguments;
+        for (int i = 0; i < types.length; i++) {
+            Object argument = arguments[i];
+            if (types[i].isInstance(argument)) {
+                continue;
+            }
+            Object value = convert(parameterTypes[index][i], types[i], argument);
+            if (value == MISMATCH) {
+                throw new IllegalArgumentException("Argument " + i + " of " + methods[index] + " cannot be " + describe(argument));
+            }
+            if (value != argument) {
+                if (checked == arguments) {
+                    checked = arguments.clone();
+                }
+                checked[i] = value;
+            }
+        }
+        return checked;
+    }
+
+    /**
+     * Converts a value for a field or parameter of the given type as core reflection does.
+     *
+     * @param type  the declared type
+     * @param boxed the declared type, boxed if it is primitive
+     * @param value the value
+     * @return the value, its primitive widening, or {@link #MISMATCH} if it cannot be assigned
+     */
+    private static Object convert(final Class<?> type, final Class<?> boxed, final Object value) {
+        if (boxed.isInstance(value)) {
+            return value;
+        }
+        if (value == null) {
+            return type.isPrimitive() ? MISMATCH : null;
+        }
+        if (!type.isPrimitive()) {
+            return MISMATCH;
+        }
+        Class<?> from = MethodType.methodType(value.getClass()).unwrap().returnType();
+        if (!TypeMapper.widens(from, type)) {
+            return MISMATCH;
+        }
+        Number number = (value instanceof Character) ? (int) (Character) value : (Number) value;
+        if (type == short.class) {
+            return number.shortValue();
+        } else if (type == int.class) {
+            return number.intValue();
+        } else if (type == long.class) {
+            return number.longValue();
+        } else if (type == float.class) {
+            return number.floatValue();
+        }
+        return number.doubleValue();
+    }
+
+    private static Class<?> boxed(final Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+    private static String describe(final Object value) {
+        return (value != null) ? "a value of " + value.getClass().getName() : "null";
+    }
+
+    private int indexOf(final Field field) {
+        return fieldIndex.get(field.getName());
+    }
+
+    /**
+     * @return the generated accessor of the class, or null if it cannot be generated
+     */
+    private GeneratedAccessor generated() {
+        Object accessor = generated;
+        if (accessor == null) {
+            synchronized (this) {
+                accessor = generated;
+                if (accessor == null) {
+                    accessor = define();
+                    generated = accessor;
+                }
+            }
+        }
+        return (accessor != UNAVAILABLE) ? (GeneratedAccessor) accessor : null;
+    }
+
+    private Object define() {
+        if (type.isInterface() || type.isArray() || type.isPrimitive() || type.getClassLoader() == null
+                || type.getName().contains("/")) {
+            return UNAVAILABLE;
+        }
+        Class<?> accessorClass = JdkSupport.supportsHiddenClasses() ? null : definedAccessorClass();
+        if (accessorClass == null) {
+            byte[] bytes = AccessorGenerator.generate(type, fields, readable, writable, methods, invocable);
+            accessorClass = JdkSupport.defineAccessorClass(type, bytes);
+        }
+        if (accessorClass == null || !Modifier.isPublic(accessorClass.getModifiers())) {
+            return UNAVAILABLE;
+        }
+        try {
+            return accessorClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            return UNAVAILABLE;
+        }
+    }
+}
@@ -0,0 +1,481 @@
+package org.reflector;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolved metadata saved to a file and restored on the next start, keyed by a fingerprint of the classpath.
+ *
+ * <p>A snapshot holds the results of package scans, the class files read by
+ * {@link PackageUtils#getClassIndex(String)} and the class names found by
+ * {@link PackageUtils#getClassesByPackage(String)}, and the field and method tables of classes. While a
+ * snapshot is installed with {@link ReflectorConfig#setMetadataSnapshot(MetadataSnapshot)}, package scans are
+ * answered from it and new scans and field tables are recorded into it, so a restored snapshot turns the scans
+ * of a cold start into a single file read:
+ *
+ * <pre>{@code
+ * MetadataSnapshot snapshot = MetadataSnapshot.load(path);
+ * ReflectorConfig.setMetadataSnapshot(snapshot);
+ * snapshot.warmUp();
+ * // ... start the application ...
+ * if (snapshot.isModified()) {
+ *     snapshot.save(path);
+ * }
+ * }</pre>
+ *
+ * <p>The fingerprint covers the JDK version and, for every classpath entry, its path, size and modification
+ * time, directories included recursively. A file written for another fingerprint is discarded on load.
+ * Reflective members cannot be stored, so field and method tables are stored by name and resolved again by
+ * {@link #warmUp()}. A matching fingerprint means the classes are unchanged, so warming up does not check the
+ * stored tables against the classes: it only drops the tables of classes that can no longer be loaded.
+ */
+public final class MetadataSnapshot {
+
+    private static final int MAGIC = 0x52464C53;
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAX_PREALLOCATED = 1024;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String fingerprint;
+    private final ClassLoader classLoader;
+    private final boolean restored;
+    private final Map<String, List<ClassFileInfo>> classFiles = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> classNames = new ConcurrentHashMap<>();
+    private final Map<String, ClassTable> classTables = new ConcurrentHashMap<>();
+    private volatile boolean modified;
+
+    private MetadataSnapshot(final String fingerprint, final ClassLoader classLoader, final boolean restored) {
+        this.fingerprint = fingerprint;
+        this.classLoader = classLoader;
+        this.restored = restored;
+    }
+
+    /**
+     * Creates an empty snapshot for the current classpath.
+     *
+     * @return the snapshot
+     */
+    public static MetadataSnapshot create() {
+        ClassLoader loader = defaultClassLoader();
+        return new MetadataSnapshot(fingerprint(loader), loader, false);
+    }
+
+    /**
+     * Loads a snapshot saved by {@link #save(Path)}. A missing file, a file in another format or a file written
+     * for another classpath fingerprint gives an empty snapshot for the current classpath.
+     *
+     * @param file the snapshot file
+     * @return the restored snapshot, or an empty one if the file cannot be used
+     * @throws NullPointerException if the file is null
+     * @throws IOException          if the file exists but cannot be read
+     */
+    public static MetadataSnapshot load(final Path file) throws IOException {
+        if (file == null) {
+            throw new NullPointerException("File cannot be null");
+        }
+        ClassLoader loader = defaultClassLoader();
+        String current = fingerprint(loader);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !current.equals(in.readUTF())) {
+                return new MetadataSnapshot(current, loader, false);
+            }
+            MetadataSnapshot snapshot = new MetadataSnapshot(current, loader, true);
+            snapshot.read(in);
+            return snapshot;
+        } catch (NoSuchFileException | EOFException | UTFDataFormatException e) {
+            return new MetadataSnapshot(current, loader, false);
+        }
+    }
+
+    /**
+     * Saves the snapshot, replacing the file atomically where the file system allows it.
+     *
+     * @param file the snapshot file
+     * @throws NullPointerException if the file is null
+     * @throws IOException          if the file cannot be written
+     */
+    public void save(final Path file) throws IOException {
+        if (file == null) {
+            throw new NullPointerException("File cannot be null");
+        }
+        Path target = file.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                write(out);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            modified = false;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Computes the fingerprint of the classpath seen by the class loader and its parents.
+     *
+     * @param classLoader the class loader
+     * @return the fingerprint, a hexadecimal SHA-256 digest
+     * @throws NullPointerException if the class loader is null
+     */
+    public static String fingerprint(final ClassLoader classLoader) {
+        if (classLoader == null) {
+            throw new NullPointerException("Class loader cannot be null");
+        }
+        Set<String> entries = new LinkedHashSet<>();
+        for (ClassLoader current = classLoader; current != null; current = current.getParent()) {
+            if (current instanceof URLClassLoader) {
+                for (URL url : ((URLClassLoader) current).getURLs()) {
+                    try {
+                        entries.add(Paths.get(url.toURI()).toString());
+                    } catch (URISyntaxException | RuntimeException e) {
+                        entries.add(url.toString());
+                    }
+                }
+            }
+        }
+        entries.addAll(Arrays.asList(System.getProperty("java.class.path", "").split(File.pathSeparator)));
+
+        StringBuilder source = new StringBuilder(System.getProperty("java.version")).append('\n');
+        for (String entry : entries) {
+            if (!entry.isEmpty()) {
+                source.append(entry).append('\n');
+                appendState(source, new File(entry));
+            }
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void appendState(final StringBuilder source, final File file) {
+        if (file.isDirectory()) {
+            File[] children = file.listFiles();
+            if (children != null) {
+                Arrays.sort(children);
+                for (File child : children) {
+                    source.append(child.getName()).append('/');
+                    appendState(source, child);
+                }
+            }
+        } else {
+            source.append(file.length()).append(':').append(file.lastModified()).append('\n');
+        }
+    }
+
+    /**
+     * @return the classpath fingerprint of the snapshot
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return true if the snapshot was restored from a file matching the current classpath
+     */
+    public boolean isRestored() {
+        return restored;
+    }
+
+    /**
+     * @return true if metadata was recorded since the snapshot was created, loaded or saved
+     */
+    public boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * @return the names of the packages whose scan results are held, in no particular order
+     */
+    public Set<String> getPackageNames() {
+        Set<String> names = new LinkedHashSet<>(classFiles.keySet());
+        names.addAll(classNames.keySet());
+        return Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * @return the names of the classes whose field and method tables are held, in no particular order
+     */
+    public Set<String> getClassNames() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(classTables.keySet()));
+    }
+
+    /**
+     * Records the field and method tables of a class.
+     *
+     * @param type the class
+     * @throws NullPointerException if the class is null
+     */
+    public void addClass(final Class<?> type) {
+        if (type == null) {
+            throw new NullPointerException("Class cannot be null");
+        }
+        if (type.getClassLoader() == null || type.isArray() || classTables.containsKey(type.getName())) {
+            return;
+        }
+        if (classTables.putIfAbsent(type.getName(), ClassTable.of(type)) == null) {
+            modified = true;
+        }
+    }
+
+    /**
+     * Resolves every recorded class and builds its field tables and member accessors ahead of first use, which
+     * enumerates the declared members of each class once, as its first use would. The classpath fingerprint
+     * already tells whether the classes changed, so the stored tables are trusted and only the tables of classes
+     * that cannot be loaded are dropped.
+     *
+     * @return the number of classes resolved
+     */
+    public int warmUp() {
+        int resolved = 0;
+        for (String className : classTables.keySet()) {
+            Class<?> type;
+            try {
+                type = Class.forName(className, false, classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                type = null;
+            }
+            if (type == null) {
+                classTables.remove(className);
+                modified = true;
+                continue;
+            }
+            FieldTable.of(type);
+            MemberAccess.of(type);
+            resolved++;
+        }
+        return resolved;
+    }
+
+    /**
+     * Records the class if a snapshot is installed.
+     */
+    static void record(final Class<?> type) {
+        MetadataSnapshot snapshot = ReflectorConfig.getMetadataSnapshot();
+        if (snapshot != null) {
+            snapshot.addClass(type);
+        }
+    }
+
+    /**
+     * @return the names of the classes found by the recorded package scans
+     */
+    Set<String> getScannedClassNames() {
+        Set<String> names = new LinkedHashSet<>();
+        for (List<ClassFileInfo> files : classFiles.values()) {
+            for (ClassFileInfo info : files) {
+                names.add(info.getClassName());
+            }
+        }
+        for (List<String> packageClassNames : classNames.values()) {
+            names.addAll(packageClassNames);
+        }
+        return names;
+    }
+
+    ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    /**
+     * @return the class files of the package, or null if the package was not scanned
+     */
+    List<ClassFileInfo> getClassFiles(final String packageName) {
+        return classFiles.get(packageName);
+    }
+
+    void putClassFiles(final String packageName, final List<ClassFileInfo> files) {
+        classFiles.put(packageName, Collections.unmodifiableList(new ArrayList<>(files)));
+        modified = true;
+    }
+
+    /**
+     * @return the names of the classes of the package, or null if the package was not scanned
+     */
+    List<String> getPackageClassNames(final String packageName) {
+        return classNames.get(packageName);
+    }
+
+    void putPackageClassNames(final String packageName, final List<String> names) {
+        classNames.put(packageName, Collections.unmodifiableList(new ArrayList<>(names)));
+        modified = true;
+    }
+
+    private static ClassLoader defaultClassLoader() {
+        ClassLoader threadClassLoader = Thread.currentThread().getContextClassLoader();
+        return (threadClassLoader != null) ? threadClassLoader : MetadataSnapshot.class.getClassLoader();
+    }
+
+    private void write(final DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(fingerprint);
+
+        out.writeInt(classFiles.size());
+        for (Map.Entry<String, List<ClassFileInfo>> entry : classFiles.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (ClassFileInfo info : entry.getValue()) {
+                writeClassFile(out, info);
+            }
+        }
+
+        out.writeInt(classNames.size());
+        for (Map.Entry<String, List<String>> entry : classNames.entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeStrings(out, entry.getValue().toArray(new String[0]));
+        }
+
+        out.writeInt(classTables.size());
+        for (Map.Entry<String, ClassTable> entry : classTables.entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeStrings(out, entry.getValue().fields);
+            writeStrings(out, entry.getValue().methods);
+        }
+    }
+
+    private void read(final DataInputStream in) throws IOException {
+        for (int i = in.readInt(); i > 0; i--) {
+            String packageName = in.readUTF();
+            int count = readCount(in);
+            List<ClassFileInfo> files = new ArrayList<>(Math.min(count, MAX_PREALLOCATED));
+            for (int j = 0; j < count; j++) {
+                files.add(readClassFile(in));
+            }
+            classFiles.put(packageName, Collections.unmodifiableList(files));
+        }
+        for (int i = in.readInt(); i > 0; i--) {
+            String packageName = in.readUTF();
+            classNames.put(packageName, Collections.unmodifiableList(Arrays.asList(readStrings(in))));
+        }
+        for (int i = in.readInt(); i > 0; i--) {
+            String className = in.readUTF();
+            classTables.put(className, new ClassTable(readStrings(in), readStrings(in)));
+        }
+    }
+
+    private static void writeClassFile(final DataOutputStream out, final ClassFileInfo info) throws IOException {
+        out.writeUTF(info.getClassName());
+        out.writeBoolean(info.getSuperClassName() != null);
+        if (info.getSuperClassName() != null) {
+            out.writeUTF(info.getSuperClassName());
+        }
+        writeStrings(out, info.getInterfaceNames());
+        out.writeInt(info.getAccessFlags());
+        writeStrings(out, info.getClassAnnotations().toArray(new String[0]));
+        writeStrings(out, info.getMethodAnnotations().toArray(new String[0]));
+        writeStrings(out, info.getFieldAnnotations().toArray(new String[0]));
+    }
+
+    private static ClassFileInfo readClassFile(final DataInputStream in) throws IOException {
+        String className = in.readUTF();
+        String superClassName = in.readBoolean() ? in.readUTF() : null;
+        String[] interfaceNames = readStrings(in);
+        int accessFlags = in.readInt();
+        return new ClassFileInfo(className, superClassName, interfaceNames, accessFlags, readSet(in), readSet(in), readSet(in));
+    }
+
+    private static void writeStrings(final DataOutputStream out, final String[] values) throws IOException {
+        out.writeInt(values.length);
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String[] readStrings(final DataInputStream in) throws IOException {
+        int count = readCount(in);
+        List<String> values = new ArrayList<>(Math.min(count, MAX_PREALLOCATED));
+        for (int i = 0; i < count; i++) {
+            values.add(in.readUTF());
+        }
+        return values.toArray(new String[0]);
+    }
+
+    /**
+     * Reads the element count of a list. Space is preallocated for at most {@link #MAX_PREALLOCATED} elements,
+     * so a corrupted count ends in an {@link EOFException} rather than an {@link OutOfMemoryError}.
+     */
+    private static int readCount(final DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new EOFException("Corrupted snapshot");
+        }
+        return count;
+    }
+
+    private static Set<String> readSet(final DataInputStream in) throws IOException {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(readStrings(in))));
+    }
+
+    /**
+     * Declared field names and method signatures of a class, in declaration order.
+     */
+    private static final class ClassTable {
+
+        private final String[] fields;
+        private final String[] methods;
+
+        ClassTable(final String[] fields, final String[] methods) {
+            this.fields = fields;
+            this.methods = methods;
+        }
+
+        static ClassTable of(final Class<?> type) {
+            Field[] declaredFields = type.getDeclaredFields();
+            String[] fields = new String[declaredFields.length];
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = declaredFields[i].getName() + ':' + declaredFields[i].getType().getName();
+            }
+            Method[] declaredMethods = type.getDeclaredMethods();
+            String[] methods = new String[declaredMethods.length];
+            for (int i = 0; i < methods.length; i++) {
+                StringBuilder signature = new StringBuilder(declaredMethods[i].getName()).append('(');
+                for (Class<?> parameterType : declaredMethods[i].getParameterTypes()) {
+                    signature.append(parameterType.getName()).append(',');
+                }
+                methods[i] = signature.append(')').append(declaredMethods[i].getReturnType().getName()).toString();
+            }
+            return new ClassTable(fields, methods);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.reflector;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Compiled method invokers, resolved once per receiver class and method signature and cached.
+ *
+ * <p>A method is looked up among the declared methods of the class and its superclasses, then among its
+ * public methods, which adds default methods of its interfaces. Invokers are {@code (Object,Object[])Object}
+ * handles, see {@link Accessors#invoker(Method)}. Unknown signatures are cached too.
+ */
+final class MethodInvokers {
+
+    private static final MethodHandle MISSING = MethodHandles.constant(Object.class, null);
+
+    private static final ClassValueCache<Map<Signature, MethodHandle>> INVOKERS =
+            ReflectorCaches.create(ReflectorCaches.METHOD_INVOKERS, type -> {
+                MetadataSnapshot.record(type);
+                return new ConcurrentHashMap<>();
+            }, (invokers, stale) -> invokers.keySet().removeIf(signature -> signature.references(stale)));
+
+    private MethodInvokers() {
+    }
+
+    /**
+     * Finds the invoker of a method of the given class.
+     *
+     * @param type           the receiver class
+     * @param methodName     the name of the method
+     * @param parameterTypes the parameter types of the method, null for none
+     * @return the invoker, or null if there is no such accessible method
+     */
+    static MethodHandle find(final Class<?> type, final String methodName, final Class<?>[] parameterTypes) {
+        Signature signature = new Signature(methodName, parameterTypes);
+        Map<Signature, MethodHandle> invokers = INVOKERS.get(type);
+        MethodHandle invoker = invokers.get(signature);
+        if (invoker == null) {
+            Method method = findMethod(type, signature.name, signature.parameterTypes);
+            invoker = (method != null) ? Accessors.invoker(method) : null;
+            if (invoker == null) {
+                invoker = MISSING;
+            }
+            if (signature.isVisibleFrom(type)) {
+                invokers.put(signature, invoker);
+            }
+        }
+        return (invoker != MISSING) ? invoker : null;
+    }
+
+    private static Method findMethod(final Class<?> type, final String methodName, final Class<?>[] parameterTypes) {
+        for (Class<?> current : TypeHierarchy.of(type).superclassArray()) {
+            try {
+                return current.getDeclaredMethod(methodName, parameterTypes);
+            } catch (NoSuchMethodException e) {
+                // continue with the superclass
+            }
+        }
+        try {
+            return type.getMethod(methodName, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Formats a method signature for messages, as {@code name(type, type)}.
+     */
+    static String describe(final String methodName, final Class<?>[] parameterTypes) {
+        StringBuilder description = new StringBuilder(methodName).append('(');
+        if (parameterTypes != null) {
+            for (int i = 0; i < parameterTypes.length; i++) {
+                description.append(i > 0 ? ", " : "").append(parameterTypes[i].getName());
+            }
+        }
+        return description.append(')').toString();
+    }
+
+    private static final class Signature {
+
+        private static final Class<?>[] NO_PARAMETERS = new Class<?>[0];
+
+        private final String name;
+        private final Class<?>[] parameterTypes;
+        private final int hash;
+
+        Signature(final String name, final Class<?>[] parameterTypes) {
+            this.name = name;
+            this.parameterTypes = (parameterTypes != null) ? parameterTypes.clone() : NO_PARAMETERS;
+            this.hash = 31 * name.hashCode() + Arrays.hashCode(this.parameterTypes);
+        }
+
+        /**
+         * @param stale the classes being invalidated
+         * @return true if a parameter type matches
+         */
+        boolean references(final Predicate<Class<?>> stale) {
+            for (Class<?> parameterType : parameterTypes) {
+                if (stale.test(parameterType)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * A signature is cached only when its parameter types come from the class loader of the receiver or its
+         * ancestors, so that a lookup with a class of an unrelated loader, which can only miss, does not keep
+         * that loader alive.
+         *
+         * @param type the receiver class
+         * @return true if every parameter type is defined by the loader of the receiver or one of its ancestors
+         */
+        boolean isVisibleFrom(final Class<?> type) {
+            for (Class<?> parameterType : parameterTypes) {
+                if (!ReflectorCaches.isWithin(type.getClassLoader(), parameterType.getClassLoader())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (!(other instanceof Signature)) {
+                return false;
+            }
+            Signature signature = (Signature) other;
+            return name.equals(signature.name) && Arrays.equals(parameterTypes, signature.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -247,15 +247,21 @@ public final class MethodUtils {
             throw new IllegalArgumentException("Class and method name parameters cannot be null");
         }
 
-        Class<?> classSearchType = clazz;
-        while (classSearchType != null) {
+        TypeHierarchy hierarchy = TypeHierarchy.of(clazz);
+        for (Class<?> classSearchType : hierarchy.superclassArray()) {
             Method[] methods = (classSearchType.isInterface() ? classSearchType.getMethods() : getDeclaredMethods(classSearchType));
             for (Method method : methods) {
                 if (name.equals(method.getName())) {
                     return method;
                 }
             }
-            classSearchType = classSearchType.getSuperclass();
+        }
+        for (Class<?> anInterface : hierarchy.interfaceArray()) {
+            for (Method method : anInterface.getDeclaredMethods()) {
+                if (name.equals(method.getName())) {
+                    return method;
+                }
+            }
         }
         return null;
     }
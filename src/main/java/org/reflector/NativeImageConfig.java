@@ -0,0 +1,159 @@
+package org.reflector;
+
+import org.reflector.util.ReflectionConstant;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * GraalVM native-image reflection and resource configuration generated from the metadata a
+ * {@link MetadataSnapshot} recorded during a training run.
+ *
+ * <p>Every class whose members the library resolved, through {@link FieldUtils}, {@link InvokeUtils},
+ * {@link ObjectUtils#copy(Object)} and the compiled mappers, and every class found by a {@link PackageUtils}
+ * scan is registered for reflection with all its declared constructors, fields and methods and its public
+ * methods, together with its superclasses outside the JDK. The directories of the scanned packages are
+ * registered as resources.
+ *
+ * <pre>{@code
+ * MetadataSnapshot training = MetadataSnapshot.create();
+ * ReflectorConfig.setMetadataSnapshot(training);
+ * // ... exercise the application ...
+ * NativeImageConfig.from(training).writeTo(Paths.get("src/main/resources/META-INF/native-image/com.acme/service"));
+ * }</pre>
+ */
+public final class NativeImageConfig {
+
+    public static final String REFLECT_CONFIG_FILE = "reflect-config.json";
+    public static final String RESOURCE_CONFIG_FILE = "resource-config.json";
+
+    private static final String INDENT = "  ";
+
+    private final Set<String> classNames;
+    private final Set<String> resourcePatterns;
+
+    private NativeImageConfig(final Set<String> classNames, final Set<String> resourcePatterns) {
+        this.classNames = Collections.unmodifiableSet(classNames);
+        this.resourcePatterns = Collections.unmodifiableSet(resourcePatterns);
+    }
+
+    /**
+     * Builds the configuration from the metadata recorded in the snapshot.
+     *
+     * @param snapshot the snapshot recorded during the training run
+     * @return the configuration
+     * @throws NullPointerException if the snapshot is null
+     */
+    public static NativeImageConfig from(final MetadataSnapshot snapshot) {
+        if (snapshot == null) {
+            throw new NullPointerException("Snapshot cannot be null");
+        }
+        Set<String> classNames = new TreeSet<>();
+        Set<String> recorded = new TreeSet<>(snapshot.getClassNames());
+        recorded.addAll(snapshot.getScannedClassNames());
+        for (String className : recorded) {
+            classNames.add(className);
+            try {
+                Class<?> type = Class.forName(className, false, snapshot.getClassLoader());
+                for (Class<?> current = type.getSuperclass(); current != null && current.getClassLoader() != null;
+                     current = current.getSuperclass()) {
+                    classNames.add(current.getName());
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                // a class that cannot be loaded any more is registered without its superclasses
+            }
+        }
+        Set<String> resourcePatterns = new TreeSet<>();
+        for (String packageName : snapshot.getPackageNames()) {
+            resourcePatterns.add("\\Q" + packageName.replace(ReflectionConstant.DOT_SYMBOL, ReflectionConstant.SLASH) + "\\E(/.*)?");
+        }
+        return new NativeImageConfig(classNames, resourcePatterns);
+    }
+
+    /**
+     * @return the names of the classes registered for reflection, sorted
+     */
+    public Set<String> getClassNames() {
+        return classNames;
+    }
+
+    /**
+     * @return the resource patterns, sorted
+     */
+    public Set<String> getResourcePatterns() {
+        return resourcePatterns;
+    }
+
+    /**
+     * @return the content of {@value #REFLECT_CONFIG_FILE}
+     */
+    public String toReflectConfig() {
+        StringBuilder json = new StringBuilder("[");
+        String separator = "\n";
+        for (String className : classNames) {
+            json.append(separator).append(INDENT).append("{\n");
+            appendProperty(json, "name", quote(className)).append(",\n");
+            appendProperty(json, "allDeclaredConstructors", "true").append(",\n");
+            appendProperty(json, "allDeclaredFields", "true").append(",\n");
+            appendProperty(json, "allDeclaredMethods", "true").append(",\n");
+            appendProperty(json, "allPublicMethods", "true").append('\n');
+            json.append(INDENT).append('}');
+            separator = ",\n";
+        }
+        return json.append("\n]\n").toString();
+    }
+
+    /**
+     * @return the content of {@value #RESOURCE_CONFIG_FILE}
+     */
+    public String toResourceConfig() {
+        StringBuilder json = new StringBuilder("{\n").append(INDENT).append("\"resources\": {\n")
+                .append(INDENT).append(INDENT).append("\"includes\": [");
+        String separator = "\n";
+        for (String pattern : resourcePatterns) {
+            json.append(separator).append(INDENT).append(INDENT).append(INDENT)
+                    .append("{\"pattern\": ").append(quote(pattern)).append('}');
+            separator = ",\n";
+        }
+        return json.append('\n').append(INDENT).append(INDENT).append("]\n")
+                .append(INDENT).append("}\n}\n").toString();
+    }
+
+    /**
+     * Writes {@value #REFLECT_CONFIG_FILE} and {@value #RESOURCE_CONFIG_FILE} to the directory, creating it if
+     * needed.
+     *
+     * @param directory the configuration directory, typically under {@code META-INF/native-image}
+     * @throws NullPointerException if the directory is null
+     * @throws IOException          if a file cannot be written
+     */
+    public void writeTo(final Path directory) throws IOException {
+        if (directory == null) {
+            throw new NullPointerException("Directory cannot be null");
+        }
+        Files.createDirectories(directory);
+        Files.write(directory.resolve(REFLECT_CONFIG_FILE), toReflectConfig().getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve(RESOURCE_CONFIG_FILE), toResourceConfig().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static StringBuilder appendProperty(final StringBuilder json, final String name, final String value) {
+        return json.append(INDENT).append(INDENT).append('"').append(name).append("\": ").append(value);
+    }
+
+    private static String quote(final String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\');
+            }
+            quoted.append(c);
+        }
+        return quoted.append('"').toString();
+    }
+}
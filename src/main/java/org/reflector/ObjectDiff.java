@@ -0,0 +1,195 @@
+package org.reflector;
+
+import org.reflector.annotation.EqualityExclude;
+import org.reflector.util.ReflectionConstant;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Field-level comparison of two snapshots of an object, for change tracking and audit logging.
+ *
+ * <p>Each class is compiled once into a plan of its instance fields, with primitive fields compared unboxed
+ * and values detected by {@link ObjectUtils#isFieldPrimitiveType(Field)} compared with {@code equals}.
+ * Nested objects are walked field by field, lists and arrays element by element and maps key by key, so a
+ * change is reported at the deepest path where it occurs. Values that are the same instance in both snapshots
+ * are skipped without being walked. JDK classes, sets and classes whose fields cannot be accessed are compared
+ * with {@code equals} and reported as a whole.
+ *
+ * <p>Static and transient fields, and fields annotated with {@link EqualityExclude}, are ignored. Cyclic
+ * object graphs are supported.
+ */
+public final class ObjectDiff {
+
+    private static final ClassValueCache<DiffPlan> PLANS = ReflectorCaches.create(ReflectorCaches.DIFF_PLANS, DiffPlan::new);
+
+    private ObjectDiff() {
+    }
+
+    /**
+     * Lists the changes between two instances of the same class.
+     *
+     * @param before the earlier snapshot
+     * @param after  the later snapshot
+     * @return the changed values in field order, empty if the snapshots are equal
+     * @throws NullPointerException     if one of the snapshots is null
+     * @throws IllegalArgumentException if the snapshots are not of the same class
+     */
+    public static List<FieldChange> compare(final Object before, final Object after) {
+        if (before == null || after == null) {
+            throw new NullPointerException("Objects to compare cannot be null");
+        }
+        if (before.getClass() != after.getClass()) {
+            throw new IllegalArgumentException("Cannot compare " + before.getClass().getName() + " with " + after.getClass().getName());
+        }
+        List<FieldChange> changes = new ArrayList<>();
+        diff(before, after, "", changes, new HashSet<>());
+        return changes;
+    }
+
+    /**
+     * Checks whether two instances of the same class differ in any field.
+     *
+     * @param before the earlier snapshot
+     * @param after  the later snapshot
+     * @return true if there is at least one change
+     * @throws NullPointerException     if one of the snapshots is null
+     * @throws IllegalArgumentException if the snapshots are not of the same class
+     */
+    public static boolean hasChanges(final Object before, final Object after) {
+        return !compare(before, after).isEmpty();
+    }
+
+    private static void diff(final Object before, final Object after, final String path, final List<FieldChange> changes,
+                             final Set<ReflectiveEquality.IdentityPair> visited) {
+        if (before == after) {
+            return;
+        }
+        if (before == null || after == null || before.getClass() != after.getClass()) {
+            changes.add(new FieldChange(path, before, after));
+            return;
+        }
+        Class<?> type = before.getClass();
+        if (type.isArray() && !type.getComponentType().isPrimitive()) {
+            diffElements(Arrays.asList((Object[]) before).iterator(), Arrays.asList((Object[]) after).iterator(), path, changes, visited);
+        } else if (before instanceof List) {
+            diffElements(((List<?>) before).iterator(), ((List<?>) after).iterator(), path, changes, visited);
+        } else if (before instanceof Map) {
+            diffEntries((Map<?, ?>) before, (Map<?, ?>) after, path, changes, visited);
+        } else {
+            DiffPlan plan = PLANS.get(type);
+            if (plan.reflective) {
+                if (visited.add(new ReflectiveEquality.IdentityPair(before, after))) {
+                    plan.diff(before, after, path, changes, visited);
+                }
+            } else if (!ReflectiveEquality.equals(before, after)) {
+                changes.add(new FieldChange(path, before, after));
+            }
+        }
+    }
+
+    private static void diffElements(final Iterator<?> before, final Iterator<?> after, final String path,
+                                     final List<FieldChange> changes, final Set<ReflectiveEquality.IdentityPair> visited) {
+        int index = 0;
+        while (before.hasNext() || after.hasNext()) {
+            Object oldValue = before.hasNext() ? before.next() : null;
+            Object newValue = after.hasNext() ? after.next() : null;
+            diff(oldValue, newValue, path + '[' + index + ']', changes, visited);
+            index++;
+        }
+    }
+
+    private static void diffEntries(final Map<?, ?> before, final Map<?, ?> after, final String path,
+                                    final List<FieldChange> changes, final Set<ReflectiveEquality.IdentityPair> visited) {
+        for (Map.Entry<?, ?> entry : before.entrySet()) {
+            diff(entry.getValue(), after.get(entry.getKey()), path + '[' + entry.getKey() + ']', changes, visited);
+        }
+        for (Map.Entry<?, ?> entry : after.entrySet()) {
+            if (!before.containsKey(entry.getKey())) {
+                diff(null, entry.getValue(), path + '[' + entry.getKey() + ']', changes, visited);
+            }
+        }
+    }
+
+    private static String childPath(final String path, final String name) {
+        return path.isEmpty() ? name : path + ReflectionConstant.DOT + name;
+    }
+
+    private static final class DiffPlan {
+
+        private final boolean reflective;
+        private final String[] names;
+        private final MethodHandle[] readers;
+        private final MethodHandle[] primitiveComparators;
+        private final boolean[] values;
+
+        DiffPlan(final Class<?> type) {
+            FieldTable table = FieldTable.of(type);
+            Map<String, Field> visible = new LinkedHashMap<>();
+            for (int i = 0; i < table.size(); i++) {
+                Field field = table.field(i);
+                if (!Modifier.isTransient(field.getModifiers()) && !field.isAnnotationPresent(EqualityExclude.class)) {
+                    visible.putIfAbsent(field.getName(), field);
+                }
+            }
+            this.names = visible.keySet().toArray(new String[0]);
+            this.readers = new MethodHandle[names.length];
+            this.primitiveComparators = new MethodHandle[names.length];
+            this.values = new boolean[names.length];
+
+            boolean accessible = type.getClassLoader() != null && table.isAccessible();
+            int index = 0;
+            for (Field field : visible.values()) {
+                readers[index] = Accessors.reader(field);
+                if (field.getType().isPrimitive()) {
+                    primitiveComparators[index] = ReflectiveEquality.primitiveComparator(field);
+                    accessible &= primitiveComparators[index] != null;
+                }
+                values[index] = ObjectUtils.isFieldPrimitiveType(field) || field.getType().isEnum();
+                accessible &= readers[index] != null;
+                index++;
+            }
+            this.reflective = accessible;
+        }
+
+        void diff(final Object before, final Object after, final String path, final List<FieldChange> changes,
+                  final Set<ReflectiveEquality.IdentityPair> visited) {
+            try {
+                for (int i = 0; i < names.length; i++) {
+                    if (primitiveComparators[i] != null) {
+                        if (!(boolean) primitiveComparators[i].invokeExact(before, after)) {
+                            changes.add(new FieldChange(childPath(path, names[i]), (Object) readers[i].invokeExact(before),
+                                    (Object) readers[i].invokeExact(after)));
+                        }
+                        continue;
+                    }
+                    Object oldValue = (Object) readers[i].invokeExact(before);
+                    Object newValue = (Object) readers[i].invokeExact(after);
+                    if (oldValue == newValue) {
+                        continue;
+                    }
+                    if (values[i]) {
+                        if (oldValue == null || !oldValue.equals(newValue)) {
+                            changes.add(new FieldChange(childPath(path, names[i]), oldValue, newValue));
+                        }
+                    } else {
+                        ObjectDiff.diff(oldValue, newValue, childPath(path, names[i]), changes, visited);
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to compare instances of " + before.getClass().getName(), e);
+            }
+        }
+    }
+}
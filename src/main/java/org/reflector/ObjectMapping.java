@@ -0,0 +1,276 @@
+package org.reflector;
+
+import org.reflector.exception.FieldAccessException;
+import org.reflector.exception.InstanceInvocationException;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts objects to maps and flat arrays of their field values, and back.
+ *
+ * <p>Each class is compiled once into a mapping plan: the instance fields of the class and its superclasses,
+ * with a field of a subclass hiding a superclass field of the same name, their compiled accessors and the
+ * no-argument constructor. Conversions then run the plan without any reflective lookup. Field values keep
+ * their declaration order, the class's own fields first, and {@link #getFieldNames(Class)} gives the
+ * index of each value in the flat array form.
+ */
+public final class ObjectMapping {
+
+    private static final ClassValueCache<MappingPlan> PLANS = ReflectorCaches.create(ReflectorCaches.MAPPING_PLANS, MappingPlan::new);
+
+    private ObjectMapping() {
+    }
+
+    /**
+     * Retrieves the names of the mapped fields of the given class in mapping order.
+     *
+     * @param clazz the class whose mapped fields are to be retrieved
+     * @return the field names, the index of a name is the index of its value in {@link #toArray(Object)}
+     * @throws NullPointerException if the class is null
+     */
+    public static List<String> getFieldNames(final Class<?> clazz) {
+        if (clazz == null) {
+            throw new NullPointerException("Class cannot be null");
+        }
+        return Collections.unmodifiableList(Arrays.asList(PLANS.get(clazz).names));
+    }
+
+    /**
+     * Copies the field values of the given object into a new map keyed by field name.
+     *
+     * @param object the object to convert
+     * @return a map from field name to field value, in mapping order
+     * @throws NullPointerException  if the object is null
+     * @throws FieldAccessException if a field cannot be read
+     */
+    public static Map<String, Object> toMap(final Object object) {
+        if (object == null) {
+            throw new NullPointerException("Object cannot be null");
+        }
+        return PLANS.get(object.getClass()).toMap(object);
+    }
+
+    /**
+     * Converts each object of the collection into a map, see {@link #toMap(Object)}.
+     *
+     * @param objects the objects to convert
+     * @return the maps in iteration order of the collection
+     * @throws NullPointerException  if the collection or one of its elements is null
+     * @throws FieldAccessException if a field cannot be read
+     */
+    public static List<Map<String, Object>> toMaps(final Collection<?> objects) {
+        if (objects == null) {
+            throw new NullPointerException("Collection cannot be null");
+        }
+        List<Map<String, Object>> maps = new ArrayList<>(objects.size());
+        MappingPlan plan = null;
+        for (Object object : objects) {
+            if (object == null) {
+                throw new NullPointerException("Object cannot be null");
+            }
+            if (plan == null || plan.type != object.getClass()) {
+                plan = PLANS.get(object.getClass());
+            }
+            maps.add(plan.toMap(object));
+        }
+        return maps;
+    }
+
+    /**
+     * Creates an instance of the given class through its no-argument constructor and assigns the map values
+     * to the fields of the same name. Keys without a matching field and final fields are ignored, fields
+     * without a key keep the value set by the constructor.
+     *
+     * @param map   the field values keyed by field name
+     * @param clazz the class to instantiate
+     * @param <T>   the type of the instance
+     * @return the new instance
+     * @throws NullPointerException         if the map or the class is null
+     * @throws InstanceInvocationException if the class cannot be instantiated
+     * @throws FieldAccessException        if a value cannot be assigned to its field
+     */
+    public static <T> T fromMap(final Map<String, ?> map, final Class<T> clazz) {
+        if (map == null) {
+            throw new NullPointerException("Map cannot be null");
+        }
+        if (clazz == null) {
+            throw new NullPointerException("Class cannot be null");
+        }
+        return clazz.cast(PLANS.get(clazz).fromMap(map));
+    }
+
+    /**
+     * Converts each map of the collection into an instance of the given class, see {@link #fromMap(Map, Class)}.
+     *
+     * @param maps  the field values of each instance
+     * @param clazz the class to instantiate
+     * @param <T>   the type of the instances
+     * @return the instances in iteration order of the collection
+     * @throws NullPointerException         if the collection, one of its maps or the class is null
+     * @throws InstanceInvocationException if the class cannot be instantiated
+     * @throws FieldAccessException        if a value cannot be assigned to its field
+     */
+    public static <T> List<T> fromMaps(final Collection<? extends Map<String, ?>> maps, final Class<T> clazz) {
+        if (maps == null) {
+            throw new NullPointerException("Collection cannot be null");
+        }
+        if (clazz == null) {
+            throw new NullPointerException("Class cannot be null");
+        }
+        MappingPlan plan = PLANS.get(clazz);
+        List<T> objects = new ArrayList<>(maps.size());
+        for (Map<String, ?> map : maps) {
+            if (map == null) {
+                throw new NullPointerException("Map cannot be null");
+            }
+            objects.add(clazz.cast(plan.fromMap(map)));
+        }
+        return objects;
+    }
+
+    /**
+     * Copies the field values of the given object into a flat array indexed as {@link #getFieldNames(Class)}.
+     *
+     * @param object the object to convert
+     * @return the field values in mapping order
+     * @throws NullPointerException  if the object is null
+     * @throws FieldAccessException if a field cannot be read
+     */
+    public static Object[] toArray(final Object object) {
+        if (object == null) {
+            throw new NullPointerException("Object cannot be null");
+        }
+        return PLANS.get(object.getClass()).toArray(object);
+    }
+
+    /**
+     * Creates an instance of the given class through its no-argument constructor and assigns the values
+     * of a flat array indexed as {@link #getFieldNames(Class)}. Final fields are ignored.
+     *
+     * @param values the field values in mapping order
+     * @param clazz  the class to instantiate
+     * @param <T>    the type of the instance
+     * @return the new instance
+     * @throws NullPointerException         if the array or the class is null
+     * @throws IllegalArgumentException    if the array length does not match the number of mapped fields
+     * @throws InstanceInvocationException if the class cannot be instantiated
+     * @throws FieldAccessException        if a value cannot be assigned to its field
+     */
+    public static <T> T fromArray(final Object[] values, final Class<T> clazz) {
+        if (values == null) {
+            throw new NullPointerException("Array cannot be null");
+        }
+        if (clazz == null) {
+            throw new NullPointerException("Class cannot be null");
+        }
+        return clazz.cast(PLANS.get(clazz).fromArray(values));
+    }
+
+    private static final class MappingPlan {
+
+        private final Class<?> type;
+        private final String[] names;
+        private final MethodHandle[] readers;
+        private final MethodHandle[] writers;
+        private final MethodHandle constructor;
+        private final int mapCapacity;
+
+        MappingPlan(final Class<?> type) {
+            this.type = type;
+            FieldTable table = FieldTable.of(type);
+            Map<String, Integer> visible = new LinkedHashMap<>();
+            for (int i = 0; i < table.size(); i++) {
+                visible.putIfAbsent(table.field(i).getName(), i);
+            }
+            this.names = visible.keySet().toArray(new String[0]);
+            this.readers = new MethodHandle[names.length];
+            this.writers = new MethodHandle[names.length];
+            int index = 0;
+            for (int fieldIndex : visible.values()) {
+                readers[index] = table.reader(fieldIndex);
+                writers[index] = table.writer(fieldIndex);
+                index++;
+            }
+            this.constructor = Accessors.constructor(type);
+            this.mapCapacity = (int) (names.length / 0.75f) + 1;
+        }
+
+        Map<String, Object> toMap(final Object object) {
+            Map<String, Object> map = new LinkedHashMap<>(mapCapacity);
+            for (int i = 0; i < names.length; i++) {
+                map.put(names[i], read(i, object));
+            }
+            return map;
+        }
+
+        Object[] toArray(final Object object) {
+            Object[] values = new Object[names.length];
+            for (int i = 0; i < names.length; i++) {
+                values[i] = read(i, object);
+            }
+            return values;
+        }
+
+        Object fromMap(final Map<String, ?> map) {
+            Object object = newInstance();
+            for (int i = 0; i < names.length; i++) {
+                if (writers[i] != null && map.containsKey(names[i])) {
+                    write(i, object, map.get(names[i]));
+                }
+            }
+            return object;
+        }
+
+        Object fromArray(final Object[] values) {
+            if (values.length != names.length) {
+                throw new IllegalArgumentException("Expected " + names.length + " values for " + type.getName() + " but got " + values.length);
+            }
+            Object object = newInstance();
+            for (int i = 0; i < names.length; i++) {
+                if (writers[i] != null) {
+                    write(i, object, values[i]);
+                }
+            }
+            return object;
+        }
+
+        private Object newInstance() {
+            if (constructor == null) {
+                throw new InstanceInvocationException("No accessible no-argument constructor for " + type.getName());
+            }
+            try {
+                return constructor.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new InstanceInvocationException("Failed to instantiate " + type.getName(), e);
+            }
+        }
+
+        private Object read(final int index, final Object object) {
+            if (readers[index] == null) {
+                throw new FieldAccessException("Field '" + names[index] + "' of " + type.getName() + " is not accessible");
+            }
+            try {
+                return readers[index].invokeExact(object);
+            } catch (Throwable e) {
+                throw new FieldAccessException("Failed to read field '" + names[index] + "'", e);
+            }
+        }
+
+        private void write(final int index, final Object object, final Object value) {
+            try {
+                writers[index].invokeExact(object, value);
+            } catch (Throwable e) {
+                throw new FieldAccessException("Cannot assign " + value + " to field '" + names[index] + "' of " + type.getName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package org.reflector;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Estimates the memory used by objects from their field types, without an instrumentation agent.
+ *
+ * <p>The shallow size of an object is its header plus its instance fields, rounded up to the object alignment;
+ * the shallow size of an array is the array header plus its elements. The layout, given by the header sizes,
+ * the reference size and the alignment, defaults to a 64-bit HotSpot VM with compressed references. Field
+ * padding inside the object is ignored, so sizes are estimates rather than exact figures.
+ *
+ * <p>The retained size is the sum of the shallow sizes of every object reachable from the root, each object
+ * counted once. Classes, class loaders and enum constants are shared and not counted. JDK classes whose
+ * fields cannot be read are not walked through their fields: strings are counted with a UTF-16 character
+ * array, collections and maps with an estimated backing array and entry objects, and their elements are
+ * walked. Object arrays longer than the sampling threshold are estimated from evenly spaced elements.
+ *
+ * <p>Class layouts, the sizes of the primitive fields and the readers of the reference fields of a class, do not
+ * depend on the estimator: they are computed once per class and kept in the {@link ReflectorCaches#OBJECT_LAYOUTS}
+ * cache, shared by all estimators.
+ */
+public final class ObjectSizeEstimator {
+
+    public static final int DEFAULT_SAMPLING_THRESHOLD = 1024;
+    public static final int DEFAULT_SAMPLE_SIZE = 64;
+
+    private static final int LONG_SIZE = 8;
+    private static final int INT_SIZE = 4;
+    private static final int SHORT_SIZE = 2;
+    private static final int BYTE_SIZE = 1;
+    private static final float MAP_LOAD_FACTOR = 0.75f;
+
+    private static final ClassValueCache<ClassLayout> LAYOUTS = ReflectorCaches.create(ReflectorCaches.OBJECT_LAYOUTS, ClassLayout::new);
+
+    private static final ObjectSizeEstimator DEFAULT = new ObjectSizeEstimator(12, 16, 4, 8,
+            DEFAULT_SAMPLING_THRESHOLD, DEFAULT_SAMPLE_SIZE);
+
+    private final int objectHeaderSize;
+    private final int arrayHeaderSize;
+    private final int referenceSize;
+    private final int alignment;
+    private final int samplingThreshold;
+    private final int sampleSize;
+
+    private ObjectSizeEstimator(final int objectHeaderSize, final int arrayHeaderSize, final int referenceSize, final int alignment,
+                                final int samplingThreshold, final int sampleSize) {
+        this.objectHeaderSize = objectHeaderSize;
+        this.arrayHeaderSize = arrayHeaderSize;
+        this.referenceSize = referenceSize;
+        this.alignment = alignment;
+        this.samplingThreshold = samplingThreshold;
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * Returns the estimator for a 64-bit VM with compressed references: 12 byte object headers, 16 byte array
+     * headers, 4 byte references and 8 byte alignment.
+     *
+     * @return the default estimator
+     */
+    public static ObjectSizeEstimator getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Creates an estimator for the given memory layout, for example {@code withLayout(16, 24, 8, 8)} for a
+     * 64-bit VM without compressed references.
+     *
+     * @param objectHeaderSize the size of an object header in bytes
+     * @param arrayHeaderSize  the size of an array header in bytes, including the length
+     * @param referenceSize    the size of a reference in bytes
+     * @param alignment        the object alignment in bytes, a power of two
+     * @return the estimator
+     * @throws IllegalArgumentException if a size is not positive or the alignment is not a power of two
+     */
+    public static ObjectSizeEstimator withLayout(final int objectHeaderSize, final int arrayHeaderSize, final int referenceSize,
+                                                 final int alignment) {
+        if (objectHeaderSize <= 0 || arrayHeaderSize <= 0 || referenceSize <= 0) {
+            throw new IllegalArgumentException("Header and reference sizes must be positive");
+        }
+        if (alignment <= 0 || Integer.bitCount(alignment) != 1) {
+            throw new IllegalArgumentException("Alignment must be a power of two: " + alignment);
+        }
+        return new ObjectSizeEstimator(objectHeaderSize, arrayHeaderSize, referenceSize, alignment,
+                DEFAULT_SAMPLING_THRESHOLD, DEFAULT_SAMPLE_SIZE);
+    }
+
+    /**
+     * Creates an estimator with this layout and the given array sampling.
+     *
+     * @param threshold  the array length above which elements are sampled
+     * @param sampleSize the number of elements sampled
+     * @return the estimator
+     * @throws IllegalArgumentException if the sample size is not positive or larger than the threshold
+     */
+    public ObjectSizeEstimator withArraySampling(final int threshold, final int sampleSize) {
+        if (sampleSize <= 0 || sampleSize > threshold) {
+            throw new IllegalArgumentException("Sample size must be positive and not larger than the threshold");
+        }
+        return new ObjectSizeEstimator(objectHeaderSize, arrayHeaderSize, referenceSize, alignment, threshold, sampleSize);
+    }
+
+    /**
+     * Estimates the size of an instance of the given class, not counting referenced objects.
+     *
+     * @param clazz the class, not an array class
+     * @return the estimated size in bytes
+     * @throws NullPointerException     if the class is null
+     * @throws IllegalArgumentException if the class is an array, primitive or interface type
+     */
+    public long instanceSize(final Class<?> clazz) {
+        if (clazz == null) {
+            throw new NullPointerException("Class cannot be null");
+        }
+        if (clazz.isArray() || clazz.isPrimitive() || clazz.isInterface()) {
+            throw new IllegalArgumentException("Class has no instance layout: " + clazz.getName());
+        }
+        return instanceSize(LAYOUTS.get(clazz));
+    }
+
+    /**
+     * Estimates the size of the object, not counting referenced objects.
+     *
+     * @param object the object
+     * @return the estimated size in bytes, 0 for null
+     */
+    public long shallowSize(final Object object) {
+        if (object == null) {
+            return 0;
+        }
+        Class<?> type = object.getClass();
+        if (type.isArray()) {
+            return arraySize(type.getComponentType(), Array.getLength(object));
+        }
+        return instanceSize(LAYOUTS.get(type));
+    }
+
+    /**
+     * Estimates the size of the object and every object reachable from it.
+     *
+     * @param object the root object
+     * @return the estimated size in bytes, 0 for null
+     */
+    public long retainedSize(final Object object) {
+        return walk(object, Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    /**
+     * Estimates the shallow size with the default estimator, see {@link #shallowSize(Object)}.
+     *
+     * @param object the object
+     * @return the estimated size in bytes, 0 for null
+     */
+    public static long shallowSizeOf(final Object object) {
+        return DEFAULT.shallowSize(object);
+    }
+
+    /**
+     * Estimates the retained size with the default estimator, see {@link #retainedSize(Object)}.
+     *
+     * @param object the root object
+     * @return the estimated size in bytes, 0 for null
+     */
+    public static long retainedSizeOf(final Object object) {
+        return DEFAULT.retainedSize(object);
+    }
+
+    private long walk(final Object root, final Set<Object> visited) {
+        long total = 0;
+        Deque<Object> pending = new ArrayDeque<>();
+        push(pending, root);
+        while (!pending.isEmpty()) {
+            Object object = pending.pop();
+            if (!visited.add(object)) {
+                continue;
+            }
+            Class<?> type = object.getClass();
+            if (type.isArray()) {
+                total += shallowSize(object);
+                if (!type.getComponentType().isPrimitive()) {
+                    total += pushElements(pending, (Object[]) object, visited);
+                }
+                continue;
+            }
+            ClassLayout layout = LAYOUTS.get(type);
+            total += instanceSize(layout);
+            if (layout.walkable) {
+                for (MethodHandle reader : layout.references) {
+                    push(pending, read(reader, object));
+                }
+            } else if (object instanceof String) {
+                total += arraySize(char.class, ((String) object).length());
+            } else if (object instanceof Collection) {
+                Collection<?> collection = (Collection<?>) object;
+                total += arraySize(Object.class, collection.size());
+                for (Object element : collection) {
+                    push(pending, element);
+                }
+            } else if (object instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) object;
+                total += arraySize(Object.class, (int) (map.size() / MAP_LOAD_FACTOR)) + map.size() * entrySize();
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    push(pending, entry.getKey());
+                    push(pending, entry.getValue());
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Queues the elements of an object array, or estimates their retained size from evenly spaced samples
+     * when the array is longer than the sampling threshold.
+     *
+     * @return the estimated size of the elements that were sampled instead of queued
+     */
+    private long pushElements(final Deque<Object> pending, final Object[] array, final Set<Object> visited) {
+        if (array.length <= samplingThreshold) {
+            for (Object element : array) {
+                push(pending, element);
+            }
+            return 0;
+        }
+        long sampled = 0;
+        double step = (double) array.length / sampleSize;
+        for (int i = 0; i < sampleSize; i++) {
+            sampled += walk(array[(int) (i * step)], visited);
+        }
+        return sampled * array.length / sampleSize;
+    }
+
+    private static void push(final Deque<Object> pending, final Object value) {
+        if (value != null && !isShared(value)) {
+            pending.push(value);
+        }
+    }
+
+    private static boolean isShared(final Object value) {
+        return value instanceof Class || value instanceof ClassLoader || value instanceof Enum;
+    }
+
+    private static Object read(final MethodHandle reader, final Object object) {
+        try {
+            return (Object) reader.invokeExact(object);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to read a field of " + object.getClass().getName(), e);
+        }
+    }
+
+    private long arraySize(final Class<?> componentType, final int length) {
+        return align(arrayHeaderSize + (long) length * fieldSize(componentType));
+    }
+
+    private long instanceSize(final ClassLayout layout) {
+        return align(objectHeaderSize + layout.primitiveSize + (long) layout.referenceCount * referenceSize);
+    }
+
+    private long entrySize() {
+        return align(objectHeaderSize + 3L * referenceSize + INT_SIZE);
+    }
+
+    private long align(final long size) {
+        return (size + alignment - 1) & -alignment;
+    }
+
+    private int fieldSize(final Class<?> type) {
+        return type.isPrimitive() ? primitiveSize(type) : referenceSize;
+    }
+
+    private static int primitiveSize(final Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return LONG_SIZE;
+        }
+        if (type == int.class || type == float.class) {
+            return INT_SIZE;
+        }
+        if (type == short.class || type == char.class) {
+            return SHORT_SIZE;
+        }
+        return BYTE_SIZE;
+    }
+
+    /**
+     * The instance fields of a class, independent of the memory layout of the VM.
+     */
+    private static final class ClassLayout {
+
+        private final long primitiveSize;
+        private final int referenceCount;
+        private final boolean walkable;
+        private final MethodHandle[] references;
+
+        ClassLayout(final Class<?> type) {
+            FieldTable table = FieldTable.of(type);
+            long size = 0;
+            List<MethodHandle> readers = new ArrayList<>();
+            boolean readable = true;
+            for (int i = 0; i < table.size(); i++) {
+                Class<?> fieldType = table.field(i).getType();
+                if (fieldType.isPrimitive()) {
+                    size += primitiveSize(fieldType);
+                } else {
+                    readers.add(table.reader(i));
+                    readable &= table.reader(i) != null;
+                }
+            }
+            this.primitiveSize = size;
+            this.referenceCount = readers.size();
+            this.walkable = readable;
+            this.references = readable ? readers.toArray(new MethodHandle[0]) : new MethodHandle[0];
+        }
+    }
+}
@@ -9,6 +9,11 @@ import java.lang.reflect.Modifier;
 public final class ObjectUtils {
     private static final Logger LOGGER = LoggerFactory.getLogger(ObjectUtils.class);
 
+    private static final FailureSite INSTANTIATE_COPY_FAILURE = new FailureSite(LOGGER, "Error copy for object{{}}",
+            (object, cause) -> new IllegalStateException("Failed to instantiate the copy", cause));
+    private static final FailureSite COPY_FAILURE = new FailureSite(LOGGER, "Error during copy object of {}",
+            (type, cause) -> new IllegalStateException((type != null) ? "Failed to copy object of " + type : "Failed to copy object", cause));
+
     private ObjectUtils() {
     }
 
@@ -34,6 +39,10 @@ public final class ObjectUtils {
     /**
      * Creates a deep copy of the given object.
      *
+     * <p>Fields are read and written through the configured {@link AccessStrategy}, failures are reported according
+     * to the configured {@link FailurePolicy}. Final instance fields are copied as well, static fields are left
+     * untouched.
+     *
      * @param object the object to be copied
      * @return the deep copy of the object
      * @throws IllegalStateException if copying fails
@@ -44,24 +53,26 @@ public final class ObjectUtils {
             try {
                 copyObj = object.getClass().newInstance();
             } catch (Exception ex) {
-                LOGGER.error("Error copy for object{{}}", object);
+                INSTANTIATE_COPY_FAILURE.report(object, ex);
                 return null;
             }
+            MemberAccess access = MemberAccess.of(object.getClass());
             for (Field field : object.getClass().getDeclaredFields()) {
-                field.setAccessible(true);
-                if (field.get(object) == null || Modifier.isFinal(field.getModifiers())) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                Object value = access.read(field, object);
+                if (value == null) {
                     continue;
                 }
                 if (isFieldPrimitiveType(field)) {
-                    field.set(copyObj, field.get(object));
+                    access.write(field, copyObj, value);
                 } else {
-                    Object childObj = field.get(object);
-                    field.set(copyObj, (childObj == object) ? copyObj : copy(field.get(object)));
+                    access.write(field, copyObj, (value == object) ? copyObj : copy(value));
                 }
             }
         } catch (Exception e) {
-            LOGGER.error("Error during copy object", e);
-            throw new IllegalStateException("Failed to get declared methods for Class [" + object.getClass().getName() + "] from ClassLoader [" + object.getClass().getClassLoader() + "]", e);
+            throw COPY_FAILURE.fail(object.getClass(), e);
         }
         return copyObj;
     }
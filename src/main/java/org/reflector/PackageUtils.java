@@ -3,7 +3,9 @@ package org.reflector;
 import org.reflector.util.ReflectionConstant;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -13,17 +15,14 @@ import java.util.List;
 
 public final class PackageUtils {
 
-    private static final ClassLoader CLASSLOADER;
-
-    static {
-        final ClassLoader threadClassLoader = Thread.currentThread().getContextClassLoader();
-        CLASSLOADER = (threadClassLoader != null) ? threadClassLoader : PackageUtils.class.getClassLoader();
-    }
-
     private PackageUtils() {}
 
     /**
-     * Retrieves all classes within a package.
+     * Retrieves all classes within a package, using the context class loader of the current thread, or the
+     * class loader of the library if there is none.
+     *
+     * <p>When a {@link MetadataSnapshot} is installed, the class names are taken from it, or recorded into it
+     * after the scan.
      *
      * @param packageName the name of the package
      * @return a list of classes within the specified package
@@ -32,23 +31,97 @@ public final class PackageUtils {
      * @throws URISyntaxException     if a URI syntax error occurs
      */
     public static List<Class<?>> getClassesByPackage(final String packageName) throws ClassNotFoundException, IOException, URISyntaxException {
-        // Convert package name to directory path
-        String path = packageName.replace(ReflectionConstant.DOT_SYMBOL, ReflectionConstant.SLASH);
-        // Get resources within the package
-        Enumeration<URL> resources = CLASSLOADER.getResources(path);
-        List<File> directories = new ArrayList<>();
-        // Store directories containing resources
-        while (resources.hasMoreElements()) {
-            directories.add(new File(new URI(resources.nextElement().toString()).getPath()));
+        return getClassesByPackage(packageName, defaultClassLoader());
+    }
+
+    /**
+     * Retrieves all classes within a package visible to the given class loader, which also loads them.
+     *
+     * <p>An installed {@link MetadataSnapshot} is used when it was created for the same class loader.
+     *
+     * @param packageName the name of the package
+     * @param classLoader the class loader to scan and load with
+     * @return a list of classes within the specified package
+     * @throws NullPointerException   if the class loader is null
+     * @throws ClassNotFoundException if a class cannot be found
+     * @throws IOException            if an I/O error occurs
+     * @throws URISyntaxException     if a URI syntax error occurs
+     */
+    public static List<Class<?>> getClassesByPackage(final String packageName, final ClassLoader classLoader) throws ClassNotFoundException, IOException, URISyntaxException {
+        if (classLoader == null) {
+            throw new NullPointerException("Class loader cannot be null");
+        }
+        MetadataSnapshot snapshot = snapshotFor(classLoader);
+        List<String> classNames = (snapshot != null) ? snapshot.getPackageClassNames(packageName) : null;
+        if (classNames != null) {
+            List<Class<?>> classes = new ArrayList<>(classNames.size());
+            for (String className : classNames) {
+                classes.add(Class.forName(className, true, classLoader));
+            }
+            return classes;
         }
         // Store classes found in directories
         List<Class<?>> classes = new ArrayList<>();
-        for (File directory : directories) {
-            classes.addAll(getClassesByDirectoryAndPackage(directory, packageName));
+        for (File directory : getPackageDirectories(packageName, classLoader)) {
+            classes.addAll(getClassesByDirectoryAndPackage(directory, packageName, classLoader));
+        }
+        if (snapshot != null) {
+            List<String> names = new ArrayList<>(classes.size());
+            for (Class<?> clazz : classes) {
+                names.add(clazz.getName());
+            }
+            snapshot.putPackageClassNames(packageName, names);
         }
         return classes;
     }
 
+    /**
+     * Scans a package once and builds an index of its classes from their class files.
+     *
+     * <p>The scan reads bytecode only, no class of the package is loaded or initialized.
+     * The resulting {@link ClassIndex} answers annotation queries such as
+     * {@code classAnnotated(Component.class).andNot(classAnnotated(Lazy.class))} without rescanning.
+     * When a {@link MetadataSnapshot} is installed, the class files are taken from it, or recorded into it
+     * after the scan.
+     *
+     * @param packageName the name of the package, subpackages are included
+     * @return the index of the classes within the specified package
+     * @throws IOException        if an I/O error occurs or a class file is malformed
+     * @throws URISyntaxException if a URI syntax error occurs
+     */
+    public static ClassIndex getClassIndex(final String packageName) throws IOException, URISyntaxException {
+        return getClassIndex(packageName, defaultClassLoader());
+    }
+
+    /**
+     * Scans a package visible to the given class loader once and builds an index of its classes, which the index
+     * loads through the same class loader.
+     *
+     * @param packageName the name of the package, subpackages are included
+     * @param classLoader the class loader to scan and resolve classes with
+     * @return the index of the classes within the specified package
+     * @throws NullPointerException if the class loader is null
+     * @throws IOException          if an I/O error occurs or a class file is malformed
+     * @throws URISyntaxException   if a URI syntax error occurs
+     */
+    public static ClassIndex getClassIndex(final String packageName, final ClassLoader classLoader) throws IOException, URISyntaxException {
+        if (classLoader == null) {
+            throw new NullPointerException("Class loader cannot be null");
+        }
+        MetadataSnapshot snapshot = snapshotFor(classLoader);
+        List<ClassFileInfo> classFiles = (snapshot != null) ? snapshot.getClassFiles(packageName) : null;
+        if (classFiles == null) {
+            classFiles = new ArrayList<>();
+            for (File directory : getPackageDirectories(packageName, classLoader)) {
+                readClassFiles(directory, classFiles);
+            }
+            if (snapshot != null) {
+                snapshot.putClassFiles(packageName, classFiles);
+            }
+        }
+        return ClassIndex.build(classFiles, classLoader);
+    }
+
     /**
      * Retrieves all classes within a directory and its subdirectories.
      *
@@ -58,6 +131,10 @@ public final class PackageUtils {
      * @throws ClassNotFoundException if a class cannot be found
      */
     public static List<Class<?>> getClassesByDirectoryAndPackage(final File directory, final String packageName) throws ClassNotFoundException {
+        return getClassesByDirectoryAndPackage(directory, packageName, defaultClassLoader());
+    }
+
+    private static List<Class<?>> getClassesByDirectoryAndPackage(final File directory, final String packageName, final ClassLoader classLoader) throws ClassNotFoundException {
         List<Class<?>> classes = new ArrayList<>();
         if (!directory.exists()) {
             return classes;
@@ -66,15 +143,65 @@ public final class PackageUtils {
         if (files != null) {
             for (File file : files) {
                 if (file.isDirectory()) {
-                    classes.addAll(getClassesByDirectoryAndPackage(file, packageName + ReflectionConstant.DOT + file.getName()));
+                    classes.addAll(getClassesByDirectoryAndPackage(file, packageName + ReflectionConstant.DOT + file.getName(), classLoader));
                 } else if (file.getName().endsWith(ReflectionConstant.CLASS)) {
-                    classes.add(Class.forName(packageName + ReflectionConstant.DOT + file.getName().substring(0, file.getName().length() - ReflectionConstant.CLASS_NAME_CONSTANT)));
+                    classes.add(Class.forName(packageName + ReflectionConstant.DOT + file.getName().substring(0, file.getName().length() - ReflectionConstant.CLASS_NAME_CONSTANT), true, classLoader));
                 }
             }
         }
         return classes;
     }
 
+    /**
+     * The class loader is looked up on every call rather than captured once, so a scan never sees, or keeps
+     * alive, the context class loader of whichever thread first used the class.
+     *
+     * @return the context class loader of the current thread, or the class loader of the library if there is none
+     */
+    private static ClassLoader defaultClassLoader() {
+        ClassLoader threadClassLoader = Thread.currentThread().getContextClassLoader();
+        return (threadClassLoader != null) ? threadClassLoader : PackageUtils.class.getClassLoader();
+    }
+
+    /**
+     * @param classLoader the class loader of the scan
+     * @return the installed snapshot if it was created for the class loader, otherwise null
+     */
+    private static MetadataSnapshot snapshotFor(final ClassLoader classLoader) {
+        MetadataSnapshot snapshot = ReflectorConfig.getMetadataSnapshot();
+        return (snapshot != null && snapshot.getClassLoader() == classLoader) ? snapshot : null;
+    }
+
+    private static List<File> getPackageDirectories(final String packageName, final ClassLoader classLoader) throws IOException, URISyntaxException {
+        // Convert package name to directory path
+        String path = packageName.replace(ReflectionConstant.DOT_SYMBOL, ReflectionConstant.SLASH);
+        // Get resources within the package
+        Enumeration<URL> resources = classLoader.getResources(path);
+        List<File> directories = new ArrayList<>();
+        // Store directories containing resources
+        while (resources.hasMoreElements()) {
+            directories.add(new File(new URI(resources.nextElement().toString()).getPath()));
+        }
+        return directories;
+    }
+
+    private static void readClassFiles(final File directory, final List<ClassFileInfo> classFiles) throws IOException {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                readClassFiles(file, classFiles);
+            // package-info and module-info are the only class files with a dash in their name
+            } else if (file.getName().endsWith(ReflectionConstant.CLASS) && file.getName().indexOf('-') < 0) {
+                try (InputStream in = new FileInputStream(file)) {
+                    classFiles.add(ClassFileReader.read(in));
+                }
+            }
+        }
+    }
+
     /**
      * Retrieves all classes within a package that are annotated with a specific annotation.
      *
@@ -0,0 +1,176 @@
+package org.reflector;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The bean properties of a class, discovered once per class and cached.
+ *
+ * <p>Properties come from public instance getters ({@code getX()}, {@code isX()} for booleans) and setters
+ * ({@code setX(value)}) declared on the class or its superclasses. Instance fields without any accessor
+ * method become field-backed properties. Properties are ordered by name.
+ */
+public final class PropertyModel {
+
+    private static final String GET_PREFIX = "get";
+    private static final String IS_PREFIX = "is";
+    private static final String SET_PREFIX = "set";
+
+    private static final ClassValueCache<PropertyModel> MODELS = ReflectorCaches.create(ReflectorCaches.PROPERTY_MODELS, PropertyModel::new);
+
+    private final Class<?> type;
+    private final Map<String, BeanProperty> properties;
+
+    private PropertyModel(final Class<?> type) {
+        this.type = type;
+
+        Map<String, Method> getters = new TreeMap<>();
+        Map<String, List<Method>> setters = new TreeMap<>();
+        for (Class<?> current : TypeHierarchy.of(type).superclassArray()) {
+            if (current == Object.class) {
+                break;
+            }
+            for (Method method : MethodUtils.getAllPublicMethods(current)) {
+                if (Modifier.isStatic(method.getModifiers()) || method.isBridge() || method.isSynthetic()) {
+                    continue;
+                }
+                String getterName = getterPropertyName(method);
+                if (getterName != null) {
+                    getters.putIfAbsent(getterName, method);
+                    continue;
+                }
+                String setterName = setterPropertyName(method);
+                if (setterName != null) {
+                    setters.computeIfAbsent(setterName, key -> new ArrayList<>()).add(method);
+                }
+            }
+        }
+
+        Map<String, BeanProperty> discovered = new TreeMap<>();
+        for (Map.Entry<String, Method> entry : getters.entrySet()) {
+            Method getter = entry.getValue();
+            Method setter = selectSetter(setters.remove(entry.getKey()), getter.getReturnType());
+            discovered.put(entry.getKey(), methodProperty(entry.getKey(), getter.getReturnType(), getter, setter));
+        }
+        for (Map.Entry<String, List<Method>> entry : setters.entrySet()) {
+            Method setter = entry.getValue().get(0);
+            discovered.put(entry.getKey(), methodProperty(entry.getKey(), setter.getParameterTypes()[0], null, setter));
+        }
+        for (Field field : FieldUtils.getAllFields(type)) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic() || discovered.containsKey(field.getName())) {
+                continue;
+            }
+            MethodHandle reader = Accessors.reader(field);
+            if (reader != null) {
+                discovered.put(field.getName(), new BeanProperty(field.getName(), field.getType(), null, null, field,
+                        reader, Accessors.writer(field)));
+            }
+        }
+
+        this.properties = Collections.unmodifiableMap(new LinkedHashMap<>(discovered));
+    }
+
+    /**
+     * Returns the cached property model of the given class.
+     *
+     * @param type the class
+     * @return the property model of the class
+     */
+    static PropertyModel of(final Class<?> type) {
+        return MODELS.get(type);
+    }
+
+    private static BeanProperty methodProperty(final String name, final Class<?> type, final Method getter, final Method setter) {
+        MethodHandle reader = (getter != null) ? Accessors.reader(getter) : null;
+        MethodHandle writer = (setter != null) ? Accessors.writer(setter) : null;
+        return new BeanProperty(name, type, reader != null ? getter : null, writer != null ? setter : null, null, reader, writer);
+    }
+
+    private static Method selectSetter(final List<Method> candidates, final Class<?> propertyType) {
+        if (candidates == null) {
+            return null;
+        }
+        for (Method candidate : candidates) {
+            if (candidate.getParameterTypes()[0] == propertyType) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static String getterPropertyName(final Method method) {
+        if (method.getParameterCount() != 0 || method.getReturnType() == void.class) {
+            return null;
+        }
+        String name = method.getName();
+        if (name.startsWith(GET_PREFIX)) {
+            return propertyName(name, GET_PREFIX.length());
+        }
+        if (name.startsWith(IS_PREFIX) && method.getReturnType() == boolean.class) {
+            return propertyName(name, IS_PREFIX.length());
+        }
+        return null;
+    }
+
+    private static String setterPropertyName(final Method method) {
+        if (method.getParameterCount() != 1 || !method.getName().startsWith(SET_PREFIX)) {
+            return null;
+        }
+        return propertyName(method.getName(), SET_PREFIX.length());
+    }
+
+    /**
+     * Derives the property name following the JavaBeans rules, {@code getURL} maps to {@code URL}
+     * and {@code getName} maps to {@code name}.
+     */
+    private static String propertyName(final String methodName, final int prefixLength) {
+        if (methodName.length() == prefixLength) {
+            return null;
+        }
+        String name = methodName.substring(prefixLength);
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(0)) && Character.isUpperCase(name.charAt(1))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * @return the class described by this model
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return all properties ordered by name
+     */
+    public Collection<BeanProperty> getProperties() {
+        return properties.values();
+    }
+
+    /**
+     * @return the property names in order
+     */
+    public Collection<String> getPropertyNames() {
+        return properties.keySet();
+    }
+
+    /**
+     * Looks up a property by name.
+     *
+     * @param name the property name
+     * @return the property, or null if the class has no such property
+     */
+    public BeanProperty getProperty(final String name) {
+        return properties.get(name);
+    }
+}
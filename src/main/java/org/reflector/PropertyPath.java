@@ -0,0 +1,373 @@
+package org.reflector;
+
+import org.reflector.exception.PropertyAccessException;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A nested property path, such as {@code order.customer.address.city} or {@code items[3].sku}, parsed once and
+ * evaluated against any number of objects.
+ *
+ * <p>A path is a sequence of segments:
+ * <ul>
+ *     <li>{@code name} reads the bean property of that name, through its getter or its field as
+ *     {@link BeanProperty} does; on a {@link Map} it reads the entry with that key;</li>
+ *     <li>{@code [3]} reads the element at that index of a {@link List} or an array; on a {@link Map} it reads the
+ *     entry with the key {@code "3"};</li>
+ *     <li>{@code [key]}, {@code ['key']} or {@code ["key"]} reads the entry of a {@link Map} with that key; quotes
+ *     allow keys containing dots and brackets.</li>
+ * </ul>
+ *
+ * <p>Each property segment keeps the compiled property of the last class it was evaluated on, so a path used
+ * on objects of the same classes resolves every level with a class comparison and a method handle call, without
+ * parsing or looking up names. Evaluation short-circuits to null at the first null value, missing map entry or
+ * index out of range.
+ *
+ * <pre>{@code
+ * private static final PropertyPath CITY = PropertyPath.compile("order.customer.address.city");
+ * ...
+ * String city = (String) CITY.get(invoice);
+ * }</pre>
+ */
+public final class PropertyPath {
+
+    private final String path;
+    private final Segment[] segments;
+
+    private PropertyPath(final String path, final Segment[] segments) {
+        this.path = path;
+        this.segments = segments;
+    }
+
+    /**
+     * Parses a property path.
+     *
+     * @param path the path, for example {@code order.items[0].sku} or {@code attributes['color']}
+     * @return the compiled path
+     * @throws NullPointerException     if the path is null
+     * @throws IllegalArgumentException if the path is empty or malformed
+     */
+    public static PropertyPath compile(final String path) {
+        if (path == null) {
+            throw new NullPointerException("Path cannot be null");
+        }
+        return new PropertyPath(path, new Parser(path).parse());
+    }
+
+    /**
+     * Reads the value at the end of the path.
+     *
+     * @param root the object the path starts from
+     * @return the value, or null if the root or any value along the path is null, a map has no entry for a key or
+     * an index is out of range
+     * @throws PropertyAccessException if a property does not exist or is not readable, or an index is applied to
+     *                                 a value that is neither a list, an array nor a map
+     */
+    public Object get(final Object root) {
+        Object current = root;
+        for (Segment segment : segments) {
+            if (current == null) {
+                return null;
+            }
+            current = segment.get(current);
+        }
+        return current;
+    }
+
+    /**
+     * Writes the value at the end of the path, through the setter or field of the last property, or by setting
+     * the list or array element or map entry.
+     *
+     * @param root  the object the path starts from
+     * @param value the new value
+     * @throws NullPointerException      if the root is null
+     * @throws PropertyAccessException   if a value along the path is null, or a property does not exist or is not
+     *                                   readable or writable
+     * @throws IndexOutOfBoundsException if the last index is out of range
+     */
+    public void set(final Object root, final Object value) {
+        if (root == null) {
+            throw new NullPointerException("Root cannot be null");
+        }
+        Object current = root;
+        int last = segments.length - 1;
+        for (int i = 0; i < last; i++) {
+            current = segments[i].get(current);
+            if (current == null) {
+                throw new PropertyAccessException("Cannot write '" + path + "', '" + segments[i].path + "' is null");
+            }
+        }
+        segments[last].set(current, value);
+    }
+
+    /**
+     * @return the path as it was compiled
+     */
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+    /**
+     * One step of a path.
+     */
+    private abstract static class Segment {
+
+        /**
+         * The path up to and including this segment, for error messages.
+         */
+        final String path;
+
+        Segment(final String path) {
+            this.path = path;
+        }
+
+        abstract Object get(Object target);
+
+        abstract void set(Object target, Object value);
+    }
+
+    /**
+     * A named property, or a key of a map.
+     */
+    private static final class PropertySegment extends Segment {
+
+        private final String name;
+        private volatile Binding binding;
+
+        PropertySegment(final String path, final String name) {
+            super(path);
+            this.name = name;
+        }
+
+        @Override
+        Object get(final Object target) {
+            if (target instanceof Map) {
+                return ((Map<?, ?>) target).get(name);
+            }
+            return property(target).get(target);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        void set(final Object target, final Object value) {
+            if (target instanceof Map) {
+                ((Map<Object, Object>) target).put(name, value);
+            } else {
+                property(target).set(target, value);
+            }
+        }
+
+        private BeanProperty property(final Object target) {
+            Class<?> type = target.getClass();
+            Binding current = binding;
+            if (current == null || current.type != type) {
+                BeanProperty property = PropertyModel.of(type).getProperty(name);
+                if (property == null) {
+                    throw new PropertyAccessException("Property '" + path + "' not found on " + type.getName());
+                }
+                current = new Binding(type, property);
+                binding = current;
+            }
+            return current.property;
+        }
+    }
+
+    /**
+     * The property a segment resolved on the last class it was evaluated on.
+     */
+    private static final class Binding {
+
+        final Class<?> type;
+        final BeanProperty property;
+
+        Binding(final Class<?> type, final BeanProperty property) {
+            this.type = type;
+            this.property = property;
+        }
+    }
+
+    /**
+     * An element of a list or array, or an entry of a map under the index as a string.
+     */
+    private static final class IndexSegment extends Segment {
+
+        private final int index;
+        private final String key;
+
+        IndexSegment(final String path, final int index) {
+            super(path);
+            this.index = index;
+            this.key = Integer.toString(index);
+        }
+
+        @Override
+        Object get(final Object target) {
+            if (target instanceof List) {
+                List<?> list = (List<?>) target;
+                return (index < list.size()) ? list.get(index) : null;
+            }
+            if (target instanceof Object[]) {
+                Object[] array = (Object[]) target;
+                return (index < array.length) ? array[index] : null;
+            }
+            if (target.getClass().isArray()) {
+                return (index < Array.getLength(target)) ? Array.get(target, index) : null;
+            }
+            if (target instanceof Map) {
+                return ((Map<?, ?>) target).get(key);
+            }
+            throw notIndexable(target);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        void set(final Object target, final Object value) {
+            if (target instanceof List) {
+                ((List<Object>) target).set(index, value);
+            } else if (target instanceof Object[]) {
+                ((Object[]) target)[index] = value;
+            } else if (target.getClass().isArray()) {
+                Array.set(target, index, value);
+            } else if (target instanceof Map) {
+                ((Map<Object, Object>) target).put(key, value);
+            } else {
+                throw notIndexable(target);
+            }
+        }
+
+        private PropertyAccessException notIndexable(final Object target) {
+            return new PropertyAccessException("Property '" + path + "' cannot index " + target.getClass().getName());
+        }
+    }
+
+    /**
+     * An entry of a map.
+     */
+    private static final class KeySegment extends Segment {
+
+        private final String key;
+
+        KeySegment(final String path, final String key) {
+            super(path);
+            this.key = key;
+        }
+
+        @Override
+        Object get(final Object target) {
+            return map(target).get(key);
+        }
+
+        @Override
+        void set(final Object target, final Object value) {
+            map(target).put(key, value);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<Object, Object> map(final Object target) {
+            if (!(target instanceof Map)) {
+                throw new PropertyAccessException("Property '" + path + "' cannot look up a key in "
+                        + target.getClass().getName());
+            }
+            return (Map<Object, Object>) target;
+        }
+    }
+
+    private static final class Parser {
+
+        private final String path;
+        private final List<Segment> segments = new ArrayList<>();
+        private int position;
+
+        Parser(final String path) {
+            this.path = path;
+        }
+
+        Segment[] parse() {
+            if (path.isEmpty()) {
+                throw new IllegalArgumentException("Path cannot be empty");
+            }
+            if (path.charAt(0) == '[') {
+                bracket();
+            } else {
+                property();
+            }
+            while (position < path.length()) {
+                char c = path.charAt(position);
+                if (c == '.') {
+                    position++;
+                    property();
+                } else if (c == '[') {
+                    bracket();
+                } else {
+                    throw invalid("expected '.' or '['");
+                }
+            }
+            return segments.toArray(new Segment[0]);
+        }
+
+        private void property() {
+            int start = position;
+            if (position < path.length() && Character.isJavaIdentifierStart(path.charAt(position))) {
+                position++;
+                while (position < path.length() && Character.isJavaIdentifierPart(path.charAt(position))) {
+                    position++;
+                }
+            }
+            if (start == position) {
+                throw invalid("expected a property name");
+            }
+            segments.add(new PropertySegment(path.substring(0, position), path.substring(start, position)));
+        }
+
+        private void bracket() {
+            position++;
+            if (position < path.length() && (path.charAt(position) == '\'' || path.charAt(position) == '"')) {
+                char quote = path.charAt(position);
+                int end = path.indexOf(quote, position + 1);
+                if (end < 0 || end + 1 >= path.length() || path.charAt(end + 1) != ']') {
+                    throw invalid("unterminated key");
+                }
+                String key = path.substring(position + 1, end);
+                position = end + 2;
+                segments.add(new KeySegment(path.substring(0, position), key));
+                return;
+            }
+            int end = path.indexOf(']', position);
+            if (end < 0 || end == position) {
+                throw invalid("expected an index or a key");
+            }
+            String content = path.substring(position, end);
+            position = end + 1;
+            if (isIndex(content)) {
+                try {
+                    segments.add(new IndexSegment(path.substring(0, position), Integer.parseInt(content)));
+                    return;
+                } catch (NumberFormatException e) {
+                    throw invalid("index out of range");
+                }
+            }
+            segments.add(new KeySegment(path.substring(0, position), content));
+        }
+
+        private static boolean isIndex(final String content) {
+            for (int i = 0; i < content.length(); i++) {
+                if (content.charAt(i) < '0' || content.charAt(i) > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private IllegalArgumentException invalid(final String reason) {
+            return new IllegalArgumentException("Invalid property path '" + path + "' at position " + position + ": " + reason);
+        }
+    }
+}
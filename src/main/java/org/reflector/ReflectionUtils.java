@@ -13,6 +13,8 @@ import java.net.URISyntaxException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.IntPredicate;
 
 import org.reflector.exception.FieldAccessException;
@@ -303,6 +305,30 @@ public final class ReflectionUtils {
         FieldUtils.setFieldAccessible(clazz, fieldName);
     }
 
+    /**
+     * Finds a field declared by the given class, without throwing when there is none.
+     *
+     * @param clazz     the class declaring the field
+     * @param fieldName the name of the field
+     * @return the field, or an empty optional if the class declares no field with that name
+     * @throws NullPointerException if the clazz or fieldName is null
+     */
+    public static Optional<Field> findDeclaredField(final Class<?> clazz, final String fieldName) {
+        return FieldUtils.findDeclaredField(clazz, fieldName);
+    }
+
+    /**
+     * Finds a field of the given class or of its superclasses, without throwing when there is none.
+     *
+     * @param clazz     the class to search from
+     * @param fieldName the name of the field
+     * @return the most specific field with that name, or an empty optional if there is none
+     * @throws NullPointerException if the clazz or fieldName is null
+     */
+    public static Optional<Field> findField(final Class<?> clazz, final String fieldName) {
+        return FieldUtils.findField(clazz, fieldName);
+    }
+
     /**
      * Checks if a field is annotated with a specific annotation.
      *
@@ -375,6 +401,47 @@ public final class ReflectionUtils {
         return FieldUtils.readField(object, fieldName);
     }
 
+    /**
+     * Writes the value of a field declared by the class of an object, including final instance fields.
+     *
+     * @param object    the object to write the field of
+     * @param fieldName the name of the field
+     * @param value     the new value
+     * @throws FieldAccessException if the field does not exist, is static final or cannot be written, or the value
+     *                              cannot be assigned to it
+     */
+    public static void writeField(final Object object, final String fieldName, final Object value) {
+        FieldUtils.writeField(object, fieldName, value);
+    }
+
+    /**
+     * Writes the value of a field, static or instance, including final instance fields of classes open to the
+     * library.
+     *
+     * @param field  the field
+     * @param target the object to write the field of, ignored for static fields
+     * @param value  the new value
+     * @throws NullPointerException if the field is null, or the target is null for an instance field
+     * @throws FieldAccessException if the field cannot be written, or the value cannot be assigned to it
+     * @see FieldUtils#writeFieldValue(Field, Object, Object)
+     */
+    public static void writeFieldValue(final Field field, final Object target, final Object value) {
+        FieldUtils.writeFieldValue(field, target, value);
+    }
+
+    /**
+     * Writes the value of a static field declared by a class. Static final fields are refused.
+     *
+     * @param clazz     the class declaring the field
+     * @param fieldName the name of the static field
+     * @param value     the new value
+     * @throws FieldAccessException if the class declares no such static field, or it is final or cannot be written,
+     *                              or the value cannot be assigned to it
+     */
+    public static void writeStaticField(final Class<?> clazz, final String fieldName, final Object value) {
+        FieldUtils.writeStaticField(clazz, fieldName, value);
+    }
+
     /**
      * Clears the values of unselected fields of the given object.
      *
@@ -481,6 +548,37 @@ public final class ReflectionUtils {
         return InvokeUtils.invokeSingleMethod(objectToInvokeOn, methodName, parameterType, parameter);
     }
 
+    /**
+     * Invokes the same method on every target of a collection, resolving it once per receiver class.
+     *
+     * @param targets        the objects to invoke the method on
+     * @param methodName     the name of the method to invoke
+     * @param parameterTypes the parameter types of the method, null for none
+     * @param args           the arguments passed to every invocation, null for none
+     * @return the result or failure of each invocation, in iteration order of the collection
+     * @throws NullPointerException if the collection or the method name is null
+     */
+    public static InvocationResults invokeAll(final Collection<?> targets, final String methodName, final Class<?>[] parameterTypes, final Object[] args) {
+        return InvokeUtils.invokeAll(targets, methodName, parameterTypes, args);
+    }
+
+    /**
+     * Invokes the same method on every target of a collection concurrently, with a timeout per invocation.
+     *
+     * @param targets        the objects to invoke the method on
+     * @param methodName     the name of the method to invoke
+     * @param parameterTypes the parameter types of the method, null for none
+     * @param args           the arguments passed to every invocation, null for none
+     * @param timeout        the time each invocation may take, counted from its submission
+     * @param unit           the unit of the timeout
+     * @return the result or failure of each invocation, in iteration order of the collection
+     * @throws NullPointerException if the collection, the method name or the unit is null
+     */
+    public static InvocationResults invokeAllParallel(final Collection<?> targets, final String methodName, final Class<?>[] parameterTypes,
+                                                      final Object[] args, final long timeout, final TimeUnit unit) {
+        return InvokeUtils.invokeAllParallel(targets, methodName, parameterTypes, args, timeout, unit);
+    }
+
     /**
      * Instantiates a class without constructor arguments.
      *
@@ -795,6 +893,20 @@ public final class ReflectionUtils {
         return PackageUtils.getClassesByPackage(packageName);
     }
 
+    /**
+     * Retrieves all classes within a package visible to the given class loader.
+     *
+     * @param packageName the name of the package
+     * @param classLoader the class loader to scan and load with
+     * @return a list of classes within the specified package
+     * @throws ClassNotFoundException if a class cannot be found
+     * @throws IOException            if an I/O error occurs
+     * @throws URISyntaxException     if a URI syntax error occurs
+     */
+    public static List<Class<?>> getClassesByPackage(final String packageName, final ClassLoader classLoader) throws ClassNotFoundException, IOException, URISyntaxException {
+        return PackageUtils.getClassesByPackage(packageName, classLoader);
+    }
+
     /**
      * Retrieves all classes within a directory and its subdirectories.
      *
@@ -821,6 +933,31 @@ public final class ReflectionUtils {
         return PackageUtils.getAllAnnotatedClassesByPackage(packageName, annotation);
     }
 
+    /**
+     * Scans a package once and builds an index of its classes from their class files.
+     *
+     * @param packageName the name of the package, subpackages are included
+     * @return the index of the classes within the specified package
+     * @throws IOException        if an I/O error occurs or a class file is malformed
+     * @throws URISyntaxException if a URI syntax error occurs
+     */
+    public static ClassIndex getClassIndex(final String packageName) throws IOException, URISyntaxException {
+        return PackageUtils.getClassIndex(packageName);
+    }
+
+    /**
+     * Scans a package visible to the given class loader once and builds an index of its classes.
+     *
+     * @param packageName the name of the package, subpackages are included
+     * @param classLoader the class loader to scan and resolve classes with
+     * @return the index of the classes within the specified package
+     * @throws IOException        if an I/O error occurs or a class file is malformed
+     * @throws URISyntaxException if a URI syntax error occurs
+     */
+    public static ClassIndex getClassIndex(final String packageName, final ClassLoader classLoader) throws IOException, URISyntaxException {
+        return PackageUtils.getClassIndex(packageName, classLoader);
+    }
+
     //SecurityUtils
 
     /**
@@ -25,7 +25,6 @@ import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Stack;
 import java.util.function.Predicate;
 
 public class ReflectionUtilsLegacy {
@@ -151,14 +150,9 @@ public class ReflectionUtilsLegacy {
     }
 
     public static List<Field> getAllFields(final Class<?> type) {
-        return getAllFields(new ArrayList<>(), type);
-    }
-
-    private static List<Field> getAllFields(final List<Field> fields, final Class<?> type) {
-        fields.addAll(Arrays.asList(type.getDeclaredFields()));
-
-        if (type.getSuperclass() != null) {
-            getAllFields(fields, type.getSuperclass());
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> clazz : TypeHierarchy.of(type).superclassArray()) {
+            fields.addAll(Arrays.asList(clazz.getDeclaredFields()));
         }
         return fields;
     }
@@ -229,10 +223,7 @@ public class ReflectionUtilsLegacy {
 
     private static List<Method> getAllMethodsWithModifiers(final Class<?> clazz1, final List<Predicate<Integer>> predicates) {
         List<Method> result = new ArrayList<>();
-        Stack<Class<?>> classStack = new Stack<>();
-        classStack.push(clazz1);
-        while (!classStack.isEmpty()) {
-            Class<?> clazz = classStack.pop();
+        for (Class<?> clazz : TypeHierarchy.of(clazz1).superclassArray()) {
             for (Method method : clazz.getDeclaredMethods()) {
                 int modifiers = method.getModifiers();
 
@@ -256,10 +247,6 @@ public class ReflectionUtilsLegacy {
                     result.add(method);
                 }
             }
-
-            if (clazz.getSuperclass() != null) {
-                classStack.push(clazz.getSuperclass());
-            }
         }
         return result;
     }
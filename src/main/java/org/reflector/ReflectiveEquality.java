@@ -0,0 +1,435 @@
+package org.reflector;
+
+import org.reflector.annotation.EqualityExclude;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Structural equality and hash codes computed from the fields of objects.
+ *
+ * <p>Each class is compiled once into a plan: primitive fields are compared and hashed through handles
+ * returning unboxed values, then references from the cheapest kind (strings, wrappers and enums) to the most
+ * expensive (arrays and nested objects), so a comparison stops at the first difference with as little work as
+ * possible. Nested objects are compared the same way, lists and arrays element by element and maps by looking
+ * up each key of one map in the other. JDK classes, and classes whose fields cannot be accessed, are compared
+ * with their own {@code equals} and {@code hashCode}.
+ *
+ * <p>Static and transient fields, and fields annotated with {@link EqualityExclude}, are ignored. Object graphs
+ * may contain cycles: objects are tracked by identity, and a pair already under comparison is assumed equal.
+ */
+public final class ReflectiveEquality {
+
+    private static final int HASH_MULTIPLIER = 31;
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ClassValueCache<EqualityPlan> PLANS = ReflectorCaches.create(ReflectorCaches.EQUALITY_PLANS, EqualityPlan::new);
+
+    private ReflectiveEquality() {
+    }
+
+    /**
+     * Compares two objects field by field.
+     *
+     * @param first  the first object, may be null
+     * @param second the second object, may be null
+     * @return true if both are null, or are of the same class with structurally equal fields
+     */
+    public static boolean equals(final Object first, final Object second) {
+        return deepEquals(first, second, new IdentityTracker());
+    }
+
+    /**
+     * Computes a hash code from the fields of the object, consistent with {@link #equals(Object, Object)}.
+     *
+     * @param object the object, may be null
+     * @return the hash code, 0 for null
+     */
+    public static int hashCode(final Object object) {
+        return deepHashCode(object, new IdentityTracker());
+    }
+
+    /**
+     * Compiles an unboxed comparison of a primitive field between two instances.
+     *
+     * @param field the primitive field
+     * @return a {@code (Object,Object)boolean} handle, or null if the field is not accessible
+     */
+    static MethodHandle primitiveComparator(final Field field) {
+        MethodHandle reader = Accessors.typedReader(field);
+        MethodHandle[] handles = (reader != null) ? EqualityPlan.primitiveHandles(reader, field.getType()) : null;
+        return (handles != null) ? handles[0] : null;
+    }
+
+    private static boolean deepEquals(final Object first, final Object second, final IdentityTracker tracker) {
+        if (first == second) {
+            return true;
+        }
+        if (first == null || second == null || first.getClass() != second.getClass()) {
+            return false;
+        }
+        Class<?> type = first.getClass();
+        if (type.isArray()) {
+            return type.getComponentType().isPrimitive() ? primitiveArrayEquals(first, second) : arrayEquals((Object[]) first, (Object[]) second, tracker);
+        }
+        if (first instanceof List) {
+            return listEquals((List<?>) first, (List<?>) second, tracker);
+        }
+        if (first instanceof Map) {
+            return mapEquals((Map<?, ?>) first, (Map<?, ?>) second, tracker);
+        }
+        EqualityPlan plan = PLANS.get(type);
+        if (!plan.reflective) {
+            return first.equals(second);
+        }
+        return plan.equals(first, second, tracker);
+    }
+
+    private static int deepHashCode(final Object object, final IdentityTracker tracker) {
+        if (object == null) {
+            return 0;
+        }
+        Class<?> type = object.getClass();
+        if (type.isArray()) {
+            return type.getComponentType().isPrimitive() ? primitiveArrayHashCode(object) : arrayHashCode((Object[]) object, tracker);
+        }
+        if (object instanceof List) {
+            int hash = 1;
+            for (Object element : (List<?>) object) {
+                hash = HASH_MULTIPLIER * hash + deepHashCode(element, tracker);
+            }
+            return hash;
+        }
+        if (object instanceof Map) {
+            int hash = 0;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                hash += (entry.getKey() == null ? 0 : entry.getKey().hashCode()) ^ deepHashCode(entry.getValue(), tracker);
+            }
+            return hash;
+        }
+        EqualityPlan plan = PLANS.get(type);
+        if (!plan.reflective) {
+            return object.hashCode();
+        }
+        if (!tracker.enter(object)) {
+            return 0;
+        }
+        try {
+            return plan.hashCode(object, tracker);
+        } finally {
+            tracker.exit(object);
+        }
+    }
+
+    private static boolean arrayEquals(final Object[] first, final Object[] second, final IdentityTracker tracker) {
+        if (first.length != second.length) {
+            return false;
+        }
+        for (int i = 0; i < first.length; i++) {
+            if (!deepEquals(first[i], second[i], tracker)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int arrayHashCode(final Object[] array, final IdentityTracker tracker) {
+        int hash = 1;
+        for (Object element : array) {
+            hash = HASH_MULTIPLIER * hash + deepHashCode(element, tracker);
+        }
+        return hash;
+    }
+
+    private static boolean listEquals(final List<?> first, final List<?> second, final IdentityTracker tracker) {
+        if (first.size() != second.size()) {
+            return false;
+        }
+        Iterator<?> others = second.iterator();
+        for (Object element : first) {
+            if (!deepEquals(element, others.next(), tracker)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean mapEquals(final Map<?, ?> first, final Map<?, ?> second, final IdentityTracker tracker) {
+        if (first.size() != second.size()) {
+            return false;
+        }
+        for (Map.Entry<?, ?> entry : first.entrySet()) {
+            Object other = second.get(entry.getKey());
+            if ((other == null && !second.containsKey(entry.getKey())) || !deepEquals(entry.getValue(), other, tracker)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean primitiveArrayEquals(final Object first, final Object second) {
+        if (first instanceof int[]) {
+            return Arrays.equals((int[]) first, (int[]) second);
+        } else if (first instanceof long[]) {
+            return Arrays.equals((long[]) first, (long[]) second);
+        } else if (first instanceof byte[]) {
+            return Arrays.equals((byte[]) first, (byte[]) second);
+        } else if (first instanceof char[]) {
+            return Arrays.equals((char[]) first, (char[]) second);
+        } else if (first instanceof double[]) {
+            return Arrays.equals((double[]) first, (double[]) second);
+        } else if (first instanceof float[]) {
+            return Arrays.equals((float[]) first, (float[]) second);
+        } else if (first instanceof short[]) {
+            return Arrays.equals((short[]) first, (short[]) second);
+        }
+        return Arrays.equals((boolean[]) first, (boolean[]) second);
+    }
+
+    private static int primitiveArrayHashCode(final Object array) {
+        if (array instanceof int[]) {
+            return Arrays.hashCode((int[]) array);
+        } else if (array instanceof long[]) {
+            return Arrays.hashCode((long[]) array);
+        } else if (array instanceof byte[]) {
+            return Arrays.hashCode((byte[]) array);
+        } else if (array instanceof char[]) {
+            return Arrays.hashCode((char[]) array);
+        } else if (array instanceof double[]) {
+            return Arrays.hashCode((double[]) array);
+        } else if (array instanceof float[]) {
+            return Arrays.hashCode((float[]) array);
+        } else if (array instanceof short[]) {
+            return Arrays.hashCode((short[]) array);
+        }
+        return Arrays.hashCode((boolean[]) array);
+    }
+
+    private static boolean same(final int first, final int second) {
+        return first == second;
+    }
+
+    private static boolean same(final long first, final long second) {
+        return first == second;
+    }
+
+    private static boolean same(final float first, final float second) {
+        return Float.floatToIntBits(first) == Float.floatToIntBits(second);
+    }
+
+    private static boolean same(final double first, final double second) {
+        return Double.doubleToLongBits(first) == Double.doubleToLongBits(second);
+    }
+
+    private static boolean same(final boolean first, final boolean second) {
+        return first == second;
+    }
+
+    private static boolean same(final char first, final char second) {
+        return first == second;
+    }
+
+    private static boolean same(final short first, final short second) {
+        return first == second;
+    }
+
+    private static boolean same(final byte first, final byte second) {
+        return first == second;
+    }
+
+    private static final class EqualityPlan {
+
+        private static final MethodType EQUALS_TYPE = MethodType.methodType(boolean.class, Object.class, Object.class);
+        private static final MethodType HASH_TYPE = MethodType.methodType(int.class, Object.class);
+
+        private final boolean reflective;
+        private final MethodHandle[] primitiveEquals;
+        private final MethodHandle[] primitiveHashes;
+        private final MethodHandle[] references;
+
+        EqualityPlan(final Class<?> type) {
+            FieldTable table = FieldTable.of(type);
+            List<Field> fields = new ArrayList<>();
+            for (int i = 0; i < table.size(); i++) {
+                Field field = table.field(i);
+                if (!Modifier.isTransient(field.getModifiers()) && !field.isAnnotationPresent(EqualityExclude.class)) {
+                    fields.add(field);
+                }
+            }
+            fields.sort(Comparator.comparingInt(EqualityPlan::cost));
+
+            boolean accessible = type.getClassLoader() != null && table.isAccessible();
+            List<MethodHandle> equalsHandles = new ArrayList<>();
+            List<MethodHandle> hashHandles = new ArrayList<>();
+            List<MethodHandle> referenceHandles = new ArrayList<>();
+            for (Field field : fields) {
+                if (!accessible) {
+                    break;
+                }
+                if (field.getType().isPrimitive()) {
+                    MethodHandle reader = Accessors.typedReader(field);
+                    MethodHandle[] handles = (reader != null) ? primitiveHandles(reader, field.getType()) : null;
+                    if (handles == null) {
+                        accessible = false;
+                        break;
+                    }
+                    equalsHandles.add(handles[0]);
+                    hashHandles.add(handles[1]);
+                } else {
+                    MethodHandle reader = Accessors.reader(field);
+                    accessible = reader != null;
+                    referenceHandles.add(reader);
+                }
+            }
+            this.reflective = accessible;
+            this.primitiveEquals = equalsHandles.toArray(new MethodHandle[0]);
+            this.primitiveHashes = hashHandles.toArray(new MethodHandle[0]);
+            this.references = referenceHandles.toArray(new MethodHandle[0]);
+        }
+
+        /**
+         * Orders fields by the cost of comparing them: primitives, then values with a cheap {@code equals},
+         * then nested objects, then arrays and collections.
+         */
+        private static int cost(final Field field) {
+            Class<?> type = field.getType();
+            if (type.isPrimitive()) {
+                return 0;
+            }
+            if (ObjectUtils.isFieldPrimitiveType(field) || type.isEnum()) {
+                return 1;
+            }
+            if (type.isArray() || Iterable.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+                return 3;
+            }
+            return 2;
+        }
+
+        /**
+         * Binds the unboxed reader of a primitive field to the matching {@code same} and {@code hashCode}
+         * methods, giving {@code (Object,Object)boolean} and {@code (Object)int} handles.
+         */
+        private static MethodHandle[] primitiveHandles(final MethodHandle reader, final Class<?> primitive) {
+            try {
+                MethodHandle same = LOOKUP.findStatic(ReflectiveEquality.class, "same", MethodType.methodType(boolean.class, primitive, primitive));
+                MethodHandle hash = LOOKUP.findStatic(MethodType.methodType(primitive).wrap().returnType(), "hashCode", MethodType.methodType(int.class, primitive));
+                return new MethodHandle[]{
+                        MethodHandles.filterArguments(same, 0, reader, reader).asType(EQUALS_TYPE),
+                        MethodHandles.filterReturnValue(reader, hash).asType(HASH_TYPE)
+                };
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+
+        boolean equals(final Object first, final Object second, final IdentityTracker tracker) {
+            try {
+                for (MethodHandle handle : primitiveEquals) {
+                    if (!(boolean) handle.invokeExact(first, second)) {
+                        return false;
+                    }
+                }
+                if (references.length == 0 || !tracker.enterPair(first, second)) {
+                    return true;
+                }
+                for (MethodHandle reader : references) {
+                    if (!deepEquals((Object) reader.invokeExact(first), (Object) reader.invokeExact(second), tracker)) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to compare instances of " + first.getClass().getName(), e);
+            }
+        }
+
+        int hashCode(final Object object, final IdentityTracker tracker) {
+            try {
+                int hash = 1;
+                for (MethodHandle handle : primitiveHashes) {
+                    hash = HASH_MULTIPLIER * hash + (int) handle.invokeExact(object);
+                }
+                for (MethodHandle reader : references) {
+                    hash = HASH_MULTIPLIER * hash + deepHashCode((Object) reader.invokeExact(object), tracker);
+                }
+                return hash;
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to hash instance of " + object.getClass().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Objects visited by one comparison or hash computation, allocated on the first nested object.
+     */
+    private static final class IdentityTracker {
+
+        private Set<IdentityPair> comparedPairs;
+        private Set<Object> hashing;
+
+        /**
+         * @return false if the pair is already being compared, so it is assumed equal
+         */
+        boolean enterPair(final Object first, final Object second) {
+            if (comparedPairs == null) {
+                comparedPairs = new HashSet<>();
+            }
+            return comparedPairs.add(new IdentityPair(first, second));
+        }
+
+        /**
+         * @return false if the object is already being hashed, that is the graph has a cycle
+         */
+        boolean enter(final Object object) {
+            if (hashing == null) {
+                hashing = Collections.newSetFromMap(new IdentityHashMap<>());
+            }
+            return hashing.add(object);
+        }
+
+        void exit(final Object object) {
+            hashing.remove(object);
+        }
+    }
+
+    /**
+     * Two objects compared by identity, to track the pairs visited while walking two object graphs.
+     */
+    static final class IdentityPair {
+
+        private final Object first;
+        private final Object second;
+
+        IdentityPair(final Object first, final Object second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof IdentityPair && ((IdentityPair) other).first == first && ((IdentityPair) other).second == second;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(first) * HASH_MULTIPLIER + System.identityHashCode(second);
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package org.reflector;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Renders objects as {@code SimpleName{field=value, ...}} from their fields.
+ *
+ * <p>Each class is compiled once into a template holding the literal text around every field and a compiled
+ * appender per field; primitive fields are read unboxed and passed straight to the matching
+ * {@link StringBuilder} {@code append} overload. Nested objects are rendered the same way down to a maximum
+ * depth, below which they are shortened to {@code SimpleName{...}}. Collections, maps and arrays are rendered
+ * up to a maximum number of elements. JDK classes, and classes whose fields cannot be accessed, are rendered
+ * with their own {@code toString}. The depth limit also bounds cyclic object graphs.
+ *
+ * <p>{@link #format(Object)} and {@link #append(Appendable, Object)} render into a per-thread buffer that is
+ * reused between calls. A call made while the buffer is in use, from a {@code toString} rendered by an outer call,
+ * renders into a buffer of its own.
+ */
+public final class ReflectiveToString {
+
+    public static final int DEFAULT_MAX_DEPTH = 3;
+    public static final int DEFAULT_MAX_ELEMENTS = 10;
+
+    private static final int MAX_RETAINED_BUFFER = 8192;
+    private static final String ELLIPSIS = "...";
+    private static final String SEPARATOR = ", ";
+    private static final String NULL = "null";
+
+    private static final ReflectiveToString DEFAULT = new ReflectiveToString(DEFAULT_MAX_DEPTH, DEFAULT_MAX_ELEMENTS);
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType APPENDER_TYPE = MethodType.methodType(void.class, Object.class, StringBuilder.class);
+
+    private static final ClassValueCache<Template> TEMPLATES = ReflectorCaches.create(ReflectorCaches.TO_STRING_TEMPLATES, Template::new);
+
+    private static final ThreadLocal<Buffer> BUFFERS = ThreadLocal.withInitial(Buffer::new);
+
+    private final int maxDepth;
+    private final int maxElements;
+
+    private ReflectiveToString(final int maxDepth, final int maxElements) {
+        this.maxDepth = maxDepth;
+        this.maxElements = maxElements;
+    }
+
+    /**
+     * Creates a renderer with the given limits.
+     *
+     * @param maxDepth    the number of nested levels rendered below the object itself
+     * @param maxElements the maximum number of elements rendered per collection, map or array
+     * @return the renderer
+     * @throws IllegalArgumentException if a limit is negative
+     */
+    public static ReflectiveToString withLimits(final int maxDepth, final int maxElements) {
+        if (maxDepth < 0 || maxElements < 0) {
+            throw new IllegalArgumentException("Limits cannot be negative");
+        }
+        return new ReflectiveToString(maxDepth, maxElements);
+    }
+
+    /**
+     * Renders the object with the default limits.
+     *
+     * @param object the object to render, may be null
+     * @return the rendered object
+     */
+    public static String toString(final Object object) {
+        return DEFAULT.format(object);
+    }
+
+    /**
+     * Renders the object into a new string.
+     *
+     * @param object the object to render, may be null
+     * @return the rendered object
+     */
+    public String format(final Object object) {
+        StringBuilder buffer = acquire();
+        try {
+            appendValue(buffer, object, 0);
+            return buffer.toString();
+        } finally {
+            release(buffer);
+        }
+    }
+
+    /**
+     * Renders the object at the end of the given builder.
+     *
+     * @param builder the builder to append to
+     * @param object  the object to render, may be null
+     * @return the builder
+     * @throws NullPointerException if the builder is null
+     */
+    public StringBuilder append(final StringBuilder builder, final Object object) {
+        if (builder == null) {
+            throw new NullPointerException("Builder cannot be null");
+        }
+        appendValue(builder, object, 0);
+        return builder;
+    }
+
+    /**
+     * Renders the object to the given appendable.
+     *
+     * @param appendable the appendable to write to
+     * @param object     the object to render, may be null
+     * @param <A>        the type of the appendable
+     * @return the appendable
+     * @throws NullPointerException if the appendable is null
+     * @throws IOException          if the appendable fails
+     */
+    public <A extends Appendable> A append(final A appendable, final Object object) throws IOException {
+        if (appendable == null) {
+            throw new NullPointerException("Appendable cannot be null");
+        }
+        if (appendable instanceof StringBuilder) {
+            appendValue((StringBuilder) appendable, object, 0);
+            return appendable;
+        }
+        StringBuilder buffer = acquire();
+        try {
+            appendValue(buffer, object, 0);
+            appendable.append(buffer);
+            return appendable;
+        } finally {
+            release(buffer);
+        }
+    }
+
+    private static StringBuilder acquire() {
+        Buffer buffer = BUFFERS.get();
+        if (buffer.inUse) {
+            return new StringBuilder();
+        }
+        buffer.inUse = true;
+        buffer.builder.setLength(0);
+        return buffer.builder;
+    }
+
+    private static void release(final StringBuilder builder) {
+        Buffer buffer = BUFFERS.get();
+        if (buffer.builder != builder) {
+            return;
+        }
+        buffer.inUse = false;
+        if (builder.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFERS.remove();
+        }
+    }
+
+    private void appendValue(final StringBuilder builder, final Object value, final int depth) {
+        if (value == null) {
+            builder.append(NULL);
+            return;
+        }
+        Class<?> type = value.getClass();
+        if (type.isArray()) {
+            if (depth > maxDepth) {
+                builder.append('[').append(ELLIPSIS).append(']');
+            } else if (type.getComponentType().isPrimitive()) {
+                appendPrimitiveArray(builder, value);
+            } else {
+                appendElements(builder, Arrays.asList((Object[]) value), depth);
+            }
+        } else if (value instanceof Collection) {
+            if (depth > maxDepth) {
+                builder.append('[').append(ELLIPSIS).append(']');
+            } else {
+                appendElements(builder, (Collection<?>) value, depth);
+            }
+        } else if (value instanceof Map) {
+            if (depth > maxDepth) {
+                builder.append('{').append(ELLIPSIS).append('}');
+            } else {
+                appendEntries(builder, (Map<?, ?>) value, depth);
+            }
+        } else {
+            Template template = TEMPLATES.get(type);
+            if (!template.reflective) {
+                builder.append(value);
+            } else if (depth > maxDepth) {
+                builder.append(template.open).append(ELLIPSIS).append('}');
+            } else {
+                template.append(this, builder, value, depth);
+            }
+        }
+    }
+
+    private void appendElements(final StringBuilder builder, final Collection<?> elements, final int depth) {
+        builder.append('[');
+        int count = 0;
+        for (Object element : elements) {
+            if (count > 0) {
+                builder.append(SEPARATOR);
+            }
+            if (count == maxElements) {
+                appendRemaining(builder, elements.size() - count);
+                break;
+            }
+            appendValue(builder, element, depth + 1);
+            count++;
+        }
+        builder.append(']');
+    }
+
+    private void appendEntries(final StringBuilder builder, final Map<?, ?> map, final int depth) {
+        builder.append('{');
+        int count = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (count > 0) {
+                builder.append(SEPARATOR);
+            }
+            if (count == maxElements) {
+                appendRemaining(builder, map.size() - count);
+                break;
+            }
+            appendValue(builder, entry.getKey(), depth + 1);
+            builder.append('=');
+            appendValue(builder, entry.getValue(), depth + 1);
+            count++;
+        }
+        builder.append('}');
+    }
+
+    private static void appendRemaining(final StringBuilder builder, final int remaining) {
+        builder.append(ELLIPSIS).append(remaining).append(" more");
+    }
+
+    private void appendPrimitiveArray(final StringBuilder builder, final Object array) {
+        int length = Array.getLength(array);
+        int shown = Math.min(length, maxElements);
+        builder.append('[');
+        for (int i = 0; i < shown; i++) {
+            if (i > 0) {
+                builder.append(SEPARATOR);
+            }
+            if (array instanceof int[]) {
+                builder.append(((int[]) array)[i]);
+            } else if (array instanceof long[]) {
+                builder.append(((long[]) array)[i]);
+            } else if (array instanceof double[]) {
+                builder.append(((double[]) array)[i]);
+            } else if (array instanceof float[]) {
+                builder.append(((float[]) array)[i]);
+            } else if (array instanceof boolean[]) {
+                builder.append(((boolean[]) array)[i]);
+            } else if (array instanceof char[]) {
+                builder.append(((char[]) array)[i]);
+            } else if (array instanceof short[]) {
+                builder.append(((short[]) array)[i]);
+            } else {
+                builder.append(((byte[]) array)[i]);
+            }
+        }
+        if (shown < length) {
+            if (shown > 0) {
+                builder.append(SEPARATOR);
+            }
+            appendRemaining(builder, length - shown);
+        }
+        builder.append(']');
+    }
+
+    private static final class Template {
+
+        private final boolean reflective;
+        private final String open;
+        private final String[] labels;
+        private final MethodHandle[] primitiveAppenders;
+        private final MethodHandle[] readers;
+
+        Template(final Class<?> type) {
+            FieldTable table = FieldTable.of(type);
+            Map<String, Field> visible = new LinkedHashMap<>();
+            for (int i = 0; i < table.size(); i++) {
+                visible.putIfAbsent(table.field(i).getName(), table.field(i));
+            }
+            this.open = ClassNames.of(type).getSimpleName() + '{';
+            this.labels = new String[visible.size()];
+            this.primitiveAppenders = new MethodHandle[labels.length];
+            this.readers = new MethodHandle[labels.length];
+
+            boolean accessible = type.getClassLoader() != null && table.isAccessible();
+            int index = 0;
+            for (Field field : visible.values()) {
+                labels[index] = (index == 0 ? "" : SEPARATOR) + field.getName() + '=';
+                if (field.getType().isPrimitive()) {
+                    primitiveAppenders[index] = primitiveAppender(field);
+                    accessible &= primitiveAppenders[index] != null;
+                } else {
+                    readers[index] = Accessors.reader(field);
+                    accessible &= readers[index] != null;
+                }
+                index++;
+            }
+            this.reflective = accessible;
+        }
+
+        /**
+         * Binds the unboxed reader of a primitive field to the {@code StringBuilder.append} overload of its type,
+         * giving an {@code (Object,StringBuilder)void} handle.
+         */
+        private static MethodHandle primitiveAppender(final Field field) {
+            MethodHandle reader = Accessors.typedReader(field);
+            if (reader == null) {
+                return null;
+            }
+            Class<?> type = field.getType();
+            Class<?> appendType = (type == byte.class || type == short.class) ? int.class : type;
+            try {
+                MethodHandle append = LOOKUP.findVirtual(StringBuilder.class, "append", MethodType.methodType(StringBuilder.class, appendType));
+                MethodHandle read = reader.asType(MethodType.methodType(appendType, Object.class));
+                MethodHandle bound = MethodHandles.filterArguments(append, 1, read);
+                return MethodHandles.permuteArguments(bound, MethodType.methodType(StringBuilder.class, Object.class, StringBuilder.class), 1, 0)
+                        .asType(APPENDER_TYPE);
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+
+        void append(final ReflectiveToString renderer, final StringBuilder builder, final Object object, final int depth) {
+            builder.append(open);
+            try {
+                for (int i = 0; i < labels.length; i++) {
+                    builder.append(labels[i]);
+                    if (primitiveAppenders[i] != null) {
+                        primitiveAppenders[i].invokeExact(object, builder);
+                    } else {
+                        renderer.appendValue(builder, (Object) readers[i].invokeExact(object), depth + 1);
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to render instance of " + object.getClass().getName(), e);
+            }
+            builder.append('}');
+        }
+    }
+
+    /**
+     * The per-thread buffer, marked while a call renders into it.
+     */
+    private static final class Buffer {
+
+        final StringBuilder builder = new StringBuilder();
+        boolean inUse;
+    }
+}
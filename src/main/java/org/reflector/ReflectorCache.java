@@ -0,0 +1,77 @@
+package org.reflector;
+
+/**
+ * A cache of metadata the library computes once per key, such as the fields, accessors or invokers of a class.
+ *
+ * <p>Keys are held weakly, so an entry never keeps its class alive, and the cache holds at most
+ * {@link #getMaximumSize()} entries, evicting according to its {@link EvictionPolicy}. Evicted entries are computed
+ * again on their next lookup. The caches of the library are listed and configured through {@link ReflectorCaches}.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public interface ReflectorCache<K, V> {
+
+    /**
+     * @return the name of the cache
+     */
+    String getName();
+
+    /**
+     * Returns the value cached for the key, computing and storing it on a miss.
+     *
+     * @param key the key
+     * @return the value
+     * @throws NullPointerException if the key is null
+     */
+    V get(K key);
+
+    /**
+     * Drops the entry of the key, if present.
+     *
+     * @param key the key
+     * @throws NullPointerException if the key is null
+     */
+    void invalidate(K key);
+
+    /**
+     * Drops every entry.
+     */
+    void invalidateAll();
+
+    /**
+     * @return the number of entries
+     */
+    int size();
+
+    /**
+     * @return the maximum number of entries, {@link Integer#MAX_VALUE} for an unbounded cache
+     */
+    int getMaximumSize();
+
+    /**
+     * Sets the maximum number of entries, evicting entries right away if the cache holds more.
+     *
+     * @param maximumSize the maximum number of entries, {@link Integer#MAX_VALUE} for an unbounded cache
+     * @throws IllegalArgumentException if the maximum size is negative
+     */
+    void setMaximumSize(int maximumSize);
+
+    /**
+     * @return the eviction policy
+     */
+    EvictionPolicy getEvictionPolicy();
+
+    /**
+     * Sets the eviction policy.
+     *
+     * @param policy the eviction policy
+     * @throws NullPointerException if the policy is null
+     */
+    void setEvictionPolicy(EvictionPolicy policy);
+
+    /**
+     * @return the statistics of the cache
+     */
+    CacheStats getStats();
+}
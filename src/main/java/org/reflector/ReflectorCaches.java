@@ -0,0 +1,281 @@
+package org.reflector;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The metadata caches of the library, with their sizes and eviction policies.
+ *
+ * <p>Every per-class cache is a {@link ReflectorCache} named by one of the constants of this class. A cache is
+ * created, and listed by {@link #getCaches()}, when the library first needs it; sizes and policies can be set
+ * before that and apply once it exists. Caches hold at most {@value #DEFAULT_MAXIMUM_SIZE} classes by default and
+ * evict the least recently used. {@link #invalidate(Class)} and {@link #invalidate(ClassLoader)} drop what the
+ * caches hold about redefined classes and unloaded class loaders.
+ *
+ * <pre>{@code
+ * ReflectorCaches.setMaximumSize(2_000);
+ * ReflectorCaches.setEvictionPolicy(ReflectorCaches.MEMBER_ACCESS, EvictionPolicy.TINY_LFU);
+ * ReflectorCaches.findCache(ReflectorCaches.MEMBER_ACCESS).ifPresent(cache -> log.info("{}", cache.getStats()));
+ * }</pre>
+ */
+public final class ReflectorCaches {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    /** Declared fields of a class indexed by name, see {@link FieldUtils#findField(Class, String)}. */
+    public static final String FIELD_INDEXES = "fieldIndexes";
+    /** Field readers of a class used by the reflective equality, diff and toString support. */
+    public static final String FIELD_TABLES = "fieldTables";
+    /** Compiled field and method accessors of a class, see {@link AccessStrategy}. */
+    public static final String MEMBER_ACCESS = "memberAccess";
+    /** Method handles of the methods invoked by name on a class through {@link InvokeUtils}. */
+    public static final String METHOD_INVOKERS = "methodInvokers";
+    /** Superclasses and interfaces of a class. */
+    public static final String TYPE_HIERARCHIES = "typeHierarchies";
+    /** Names of a class. */
+    public static final String CLASS_NAMES = "classNames";
+    /** Bean properties of a class, see {@link BeanUtils}. */
+    public static final String PROPERTY_MODELS = "propertyModels";
+    /** Compiled mappers from a class, see {@link TypeMapper}. */
+    public static final String TYPE_MAPPERS = "typeMappers";
+    /** Annotated handler methods of a class, see {@link AnnotatedDispatcher}. */
+    public static final String HANDLER_METHODS = "handlerMethods";
+    /** Handler methods reached by events of a class, see {@link AnnotatedDispatcher#dispatch(Object)}. */
+    public static final String EVENT_ROUTES = "eventRoutes";
+    /** Field sizes and reference readers of a class, see {@link ObjectSizeEstimator}. */
+    public static final String OBJECT_LAYOUTS = "objectLayouts";
+    /** Field comparison plans of a class, see {@link ReflectiveEquality}. */
+    public static final String EQUALITY_PLANS = "equalityPlans";
+    /** Field comparison plans of a class, see {@link ObjectDiff}. */
+    public static final String DIFF_PLANS = "diffPlans";
+    /** Map and array conversion plans of a class, see {@link ObjectMapping}. */
+    public static final String MAPPING_PLANS = "mappingPlans";
+    /** Field templates of a class, see {@link ReflectiveToString}. */
+    public static final String TO_STRING_TEMPLATES = "toStringTemplates";
+
+    private static final Object LOCK = new Object();
+    private static final Map<String, ClassValueCache<?>> CACHES = new LinkedHashMap<>();
+    private static final Map<String, Integer> MAXIMUM_SIZES = new HashMap<>();
+    private static final Map<String, EvictionPolicy> EVICTION_POLICIES = new HashMap<>();
+    private static int defaultMaximumSize = DEFAULT_MAXIMUM_SIZE;
+    private static EvictionPolicy defaultEvictionPolicy = EvictionPolicy.LRU;
+
+    private ReflectorCaches() {
+    }
+
+    /**
+     * @return the caches created so far, in order of creation
+     */
+    public static List<ReflectorCache<?, ?>> getCaches() {
+        synchronized (LOCK) {
+            return new ArrayList<>(CACHES.values());
+        }
+    }
+
+    /**
+     * @param name the name of the cache
+     * @return the cache with the given name, or an empty optional if it was not created yet
+     * @throws NullPointerException if the name is null
+     */
+    public static Optional<ReflectorCache<?, ?>> findCache(final String name) {
+        if (name == null) {
+            throw new NullPointerException("Cache name cannot be null");
+        }
+        synchronized (LOCK) {
+            return Optional.ofNullable(CACHES.get(name));
+        }
+    }
+
+    /**
+     * Sets the maximum size of every cache, replacing sizes set for single caches.
+     *
+     * @param maximumSize the maximum number of entries per cache, {@link Integer#MAX_VALUE} for unbounded caches
+     * @throws IllegalArgumentException if the maximum size is negative
+     */
+    public static void setMaximumSize(final int maximumSize) {
+        checkMaximumSize(maximumSize);
+        synchronized (LOCK) {
+            defaultMaximumSize = maximumSize;
+            MAXIMUM_SIZES.clear();
+            for (ClassValueCache<?> cache : CACHES.values()) {
+                cache.setMaximumSize(maximumSize);
+            }
+        }
+    }
+
+    /**
+     * Sets the maximum size of one cache, now or once it is created.
+     *
+     * @param name        the name of the cache
+     * @param maximumSize the maximum number of entries, {@link Integer#MAX_VALUE} for an unbounded cache
+     * @throws NullPointerException     if the name is null
+     * @throws IllegalArgumentException if the maximum size is negative
+     */
+    public static void setMaximumSize(final String name, final int maximumSize) {
+        if (name == null) {
+            throw new NullPointerException("Cache name cannot be null");
+        }
+        checkMaximumSize(maximumSize);
+        synchronized (LOCK) {
+            MAXIMUM_SIZES.put(name, maximumSize);
+            ClassValueCache<?> cache = CACHES.get(name);
+            if (cache != null) {
+                cache.setMaximumSize(maximumSize);
+            }
+        }
+    }
+
+    /**
+     * Sets the eviction policy of every cache, replacing policies set for single caches.
+     *
+     * @param policy the eviction policy
+     * @throws NullPointerException if the policy is null
+     */
+    public static void setEvictionPolicy(final EvictionPolicy policy) {
+        if (policy == null) {
+            throw new NullPointerException("Eviction policy cannot be null");
+        }
+        synchronized (LOCK) {
+            defaultEvictionPolicy = policy;
+            EVICTION_POLICIES.clear();
+            for (ClassValueCache<?> cache : CACHES.values()) {
+                cache.setEvictionPolicy(policy);
+            }
+        }
+    }
+
+    /**
+     * Sets the eviction policy of one cache, now or once it is created.
+     *
+     * @param name   the name of the cache
+     * @param policy the eviction policy
+     * @throws NullPointerException if the name or the policy is null
+     */
+    public static void setEvictionPolicy(final String name, final EvictionPolicy policy) {
+        if (name == null || policy == null) {
+            throw new NullPointerException("Cache name and eviction policy cannot be null");
+        }
+        synchronized (LOCK) {
+            EVICTION_POLICIES.put(name, policy);
+            ClassValueCache<?> cache = CACHES.get(name);
+            if (cache != null) {
+                cache.setEvictionPolicy(policy);
+            }
+        }
+    }
+
+    /**
+     * Drops everything the caches hold about a class, for instance after an agent redefined it. The entries are
+     * computed again on their next use.
+     *
+     * @param type the class
+     * @throws NullPointerException if the class is null
+     */
+    public static void invalidate(final Class<?> type) {
+        if (type == null) {
+            throw new NullPointerException("Class cannot be null");
+        }
+        invalidateIf(candidate -> candidate == type);
+        ClassResolver.invalidate(type);
+    }
+
+    /**
+     * Drops everything the caches hold about the classes defined by a class loader or its descendants, for
+     * instance when a plugin is unloaded or redeployed.
+     *
+     * <p>Calling this is not needed to let a class loader be collected: caches hold classes weakly, store their
+     * values with the class itself, and never keep metadata that refers to classes of an unrelated loader, so the
+     * entries of an unreachable loader are released with it. It drops stale entries right away instead.
+     *
+     * @param classLoader the class loader
+     * @throws NullPointerException if the class loader is null
+     */
+    public static void invalidate(final ClassLoader classLoader) {
+        if (classLoader == null) {
+            throw new NullPointerException("Class loader cannot be null");
+        }
+        invalidateIf(type -> isWithin(type.getClassLoader(), classLoader));
+        ClassResolver.invalidate(classLoader);
+    }
+
+    /**
+     * Drops every entry of every cache.
+     */
+    public static void invalidateAll() {
+        for (ReflectorCache<?, ?> cache : getCaches()) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Creates and registers a per-class cache with the configured size and policy.
+     *
+     * @param name   the name of the cache, one of the constants of this class
+     * @param loader computes the value of a class
+     * @param <V>    the type of the cached values
+     * @return the cache
+     */
+    static <V> ClassValueCache<V> create(final String name, final Function<Class<?>, V> loader) {
+        return create(name, loader, null);
+    }
+
+    /**
+     * Creates and registers a per-class cache whose values hold metadata of other classes.
+     *
+     * @param name   the name of the cache, one of the constants of this class
+     * @param loader computes the value of a class
+     * @param pruner drops from a value what it holds about the classes matching a predicate
+     * @param <V>    the type of the cached values
+     * @return the cache
+     */
+    static <V> ClassValueCache<V> create(final String name, final Function<Class<?>, V> loader,
+                                         final BiConsumer<V, Predicate<Class<?>>> pruner) {
+        synchronized (LOCK) {
+            ClassValueCache<V> cache = new ClassValueCache<>(name, loader, pruner,
+                    MAXIMUM_SIZES.getOrDefault(name, defaultMaximumSize),
+                    EVICTION_POLICIES.getOrDefault(name, defaultEvictionPolicy));
+            CACHES.put(name, cache);
+            return cache;
+        }
+    }
+
+    /**
+     * @param classLoader the class loader to test, null for the bootstrap class loader
+     * @param ancestor    the candidate ancestor, null for the bootstrap class loader
+     * @return true if the class loader is the ancestor or one of its descendants
+     */
+    static boolean isWithin(final ClassLoader classLoader, final ClassLoader ancestor) {
+        if (ancestor == null) {
+            return true;
+        }
+        for (ClassLoader current = classLoader; current != null; current = current.getParent()) {
+            if (current == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void invalidateIf(final Predicate<Class<?>> stale) {
+        List<ClassValueCache<?>> caches;
+        synchronized (LOCK) {
+            caches = new ArrayList<>(CACHES.values());
+        }
+        for (ClassValueCache<?> cache : caches) {
+            cache.invalidateIf(stale);
+        }
+    }
+
+    private static void checkMaximumSize(final int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size cannot be negative");
+        }
+    }
+}
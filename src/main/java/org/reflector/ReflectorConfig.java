@@ -0,0 +1,100 @@
+package org.reflector;
+
+import java.time.Duration;
+
+/**
+ * Library-wide settings.
+ */
+public final class ReflectorConfig {
+
+    private static volatile AccessStrategy accessStrategy = AccessStrategy.REFLECTION;
+    private static volatile MetadataSnapshot metadataSnapshot;
+    private static volatile FailurePolicy failurePolicy = FailurePolicy.LOG_AND_THROW;
+    private static volatile Duration failureLogInterval = Duration.ofSeconds(1);
+
+    private ReflectorConfig() {
+    }
+
+    /**
+     * @return the strategy used to access fields and methods
+     */
+    public static AccessStrategy getAccessStrategy() {
+        return accessStrategy;
+    }
+
+    /**
+     * Sets the strategy used to access fields and methods.
+     *
+     * @param strategy the access strategy
+     * @throws NullPointerException if the strategy is null
+     */
+    public static void setAccessStrategy(final AccessStrategy strategy) {
+        if (strategy == null) {
+            throw new NullPointerException("Access strategy cannot be null");
+        }
+        accessStrategy = strategy;
+    }
+
+    /**
+     * @return the installed metadata snapshot, or null if none is installed
+     */
+    public static MetadataSnapshot getMetadataSnapshot() {
+        return metadataSnapshot;
+    }
+
+    /**
+     * Installs the metadata snapshot that answers package scans and records new metadata, see
+     * {@link MetadataSnapshot}.
+     *
+     * @param snapshot the snapshot, or null to stop using one
+     */
+    public static void setMetadataSnapshot(final MetadataSnapshot snapshot) {
+        metadataSnapshot = snapshot;
+    }
+
+    /**
+     * @return the policy used to report failures
+     */
+    public static FailurePolicy getFailurePolicy() {
+        return failurePolicy;
+    }
+
+    /**
+     * Sets the policy used to report failures, see {@link FailurePolicy}.
+     *
+     * @param policy the failure policy
+     * @throws NullPointerException if the policy is null
+     */
+    public static void setFailurePolicy(final FailurePolicy policy) {
+        if (policy == null) {
+            throw new NullPointerException("Failure policy cannot be null");
+        }
+        failurePolicy = policy;
+    }
+
+    /**
+     * @return the minimum time between two failures logged by the same call site under
+     * {@link FailurePolicy#RATE_LIMITED_LOG}
+     */
+    public static Duration getFailureLogInterval() {
+        return failureLogInterval;
+    }
+
+    /**
+     * Sets the minimum time between two failures logged by the same call site under
+     * {@link FailurePolicy#RATE_LIMITED_LOG}, one second by default.
+     *
+     * @param interval the log interval
+     * @throws NullPointerException     if the interval is null
+     * @throws IllegalArgumentException if the interval is negative
+     */
+    public static void setFailureLogInterval(final Duration interval) {
+        if (interval == null) {
+            throw new NullPointerException("Failure log interval cannot be null");
+        }
+        if (interval.isNegative()) {
+            throw new IllegalArgumentException("Failure log interval cannot be negative");
+        }
+        failureLogInterval = interval;
+    }
+}
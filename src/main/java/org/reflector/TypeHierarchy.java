@@ -0,0 +1,125 @@
+package org.reflector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Flattened type hierarchy of a class, computed once per class and cached.
+ *
+ * <p>The superclass chain starts with the class itself and ends with {@code java.lang.Object}
+ * (for interfaces, primitives and {@code Object} it contains only the type itself).
+ * Interfaces are all transitively implemented interfaces, ordered by a depth-first walk over the
+ * superclass chain from the most specific class, each class contributing its interfaces in
+ * declaration order followed by their superinterfaces.
+ */
+public final class TypeHierarchy {
+
+    private static final ClassValueCache<TypeHierarchy> HIERARCHIES = ReflectorCaches.create(ReflectorCaches.TYPE_HIERARCHIES, TypeHierarchy::new);
+
+    private final Class<?> type;
+    private final Class<?>[] superclasses;
+    private final Class<?>[] interfaces;
+
+    private TypeHierarchy(final Class<?> type) {
+        this.type = type;
+
+        List<Class<?>> chain = new ArrayList<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            chain.add(current);
+        }
+        this.superclasses = chain.toArray(new Class<?>[0]);
+
+        Set<Class<?>> collected = new LinkedHashSet<>();
+        for (Class<?> current : superclasses) {
+            collectInterfaces(current, collected);
+        }
+        collected.remove(type);
+        this.interfaces = collected.toArray(new Class<?>[0]);
+    }
+
+    private static void collectInterfaces(final Class<?> type, final Set<Class<?>> collected) {
+        for (Class<?> anInterface : type.getInterfaces()) {
+            if (collected.add(anInterface)) {
+                collectInterfaces(anInterface, collected);
+            }
+        }
+    }
+
+    /**
+     * Returns the cached hierarchy of the given class.
+     *
+     * @param type the class
+     * @return the hierarchy of the class
+     */
+    static TypeHierarchy of(final Class<?> type) {
+        return HIERARCHIES.get(type);
+    }
+
+    /**
+     * Returns the class this hierarchy describes.
+     *
+     * @return the class
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the superclass chain, starting with the class itself.
+     *
+     * @return an unmodifiable list of the class and its superclasses, most specific first
+     */
+    public List<Class<?>> getSuperclasses() {
+        return Collections.unmodifiableList(Arrays.asList(superclasses));
+    }
+
+    /**
+     * Returns all interfaces implemented by the class or its superclasses, directly or through superinterfaces.
+     *
+     * @return an unmodifiable list of interfaces in deterministic order
+     */
+    public List<Class<?>> getInterfaces() {
+        return Collections.unmodifiableList(Arrays.asList(interfaces));
+    }
+
+    /**
+     * Returns the number of superclasses above the class, {@code java.lang.Object} has depth 0.
+     *
+     * @return the inheritance depth of the class
+     */
+    public int getDepth() {
+        return superclasses.length - 1;
+    }
+
+    /**
+     * Checks whether the given type is the class itself, one of its superclasses or one of its interfaces.
+     *
+     * @param supertype the type to look for
+     * @return true if the class is assignable to the given type through its hierarchy, false otherwise
+     */
+    public boolean contains(final Class<?> supertype) {
+        for (Class<?> superclass : superclasses) {
+            if (superclass == supertype) {
+                return true;
+            }
+        }
+        for (Class<?> anInterface : interfaces) {
+            if (anInterface == supertype) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    Class<?>[] superclassArray() {
+        return superclasses;
+    }
+
+    Class<?>[] interfaceArray() {
+        return interfaces;
+    }
+}
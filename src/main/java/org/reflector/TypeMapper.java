@@ -0,0 +1,313 @@
+package org.reflector;
+
+import org.reflector.annotation.MapField;
+import org.reflector.exception.InstanceInvocationException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Copies field values from instances of a source class to instances of a target class.
+ *
+ * <p>A mapper is compiled once per source and target class. Fields are matched by their mapping name, the
+ * value of {@link MapField} when present and the field name otherwise; a field of a subclass hides a superclass
+ * field of the same name. A pair is mapped when the target type is assignable from the source type, or when
+ * both are primitive or wrapper types and the source value widens to the target type, for example {@code int}
+ * to {@code long} or {@code Integer} to {@code long}. A null wrapper is not converted and leaves the target unchanged.
+ * Final target fields and fields without a compatible counterpart are left untouched.
+ *
+ * <p>Each mapped pair is compiled into a single handle reading the source field, converting the value and
+ * writing the target field, so a mapping is a straight sequence of calls with no lookups and, between
+ * primitive fields, no boxing.
+ *
+ * @param <S> the source type
+ * @param <T> the target type
+ */
+public final class TypeMapper<S, T> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType COPY_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodHandle IS_NULL;
+    private static final MethodHandle SKIP;
+
+    static {
+        try {
+            IS_NULL = LOOKUP.findStatic(Objects.class, "isNull", MethodType.methodType(boolean.class, Object.class));
+            SKIP = MethodHandles.dropArguments(LOOKUP.findStatic(TypeMapper.class, "skip", MethodType.methodType(void.class)),
+                    0, Object.class, Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final ClassValueCache<Mappers> MAPPERS =
+            ReflectorCaches.create(ReflectorCaches.TYPE_MAPPERS, type -> new Mappers(), Mappers::prune);
+
+    private final Class<S> sourceType;
+    private final Class<T> targetType;
+    private final List<String> mappedNames;
+    private final MethodHandle[] copies;
+    private final MethodHandle constructor;
+
+    private TypeMapper(final Class<S> sourceType, final Class<T> targetType) {
+        this.sourceType = sourceType;
+        this.targetType = targetType;
+
+        Map<String, Field> sourceFields = mappingNames(sourceType);
+        List<String> names = new ArrayList<>();
+        List<MethodHandle> handles = new ArrayList<>();
+        for (Map.Entry<String, Field> entry : mappingNames(targetType).entrySet()) {
+            Field source = sourceFields.get(entry.getKey());
+            MethodHandle copy = (source != null) ? copy(source, entry.getValue()) : null;
+            if (copy != null) {
+                names.add(entry.getKey());
+                handles.add(copy);
+            }
+        }
+        this.mappedNames = Collections.unmodifiableList(names);
+        this.copies = handles.toArray(new MethodHandle[0]);
+        this.constructor = Accessors.constructor(targetType);
+    }
+
+    /**
+     * Returns the cached mapper from the source class to the target class.
+     *
+     * <p>A mapper is cached with whichever of the two classes can see the other through its class loader, so the
+     * cache never keeps a class loader alive longer than its own classes would. Mappers between classes of unrelated
+     * class loaders are not cached, and are compiled on every call.
+     *
+     * @param sourceType the class to read from
+     * @param targetType the class to write to
+     * @param <S>        the source type
+     * @param <T>        the target type
+     * @return the mapper
+     * @throws NullPointerException if one of the classes is null
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> TypeMapper<S, T> of(final Class<S> sourceType, final Class<T> targetType) {
+        if (sourceType == null || targetType == null) {
+            throw new NullPointerException("Class cannot be null");
+        }
+        if (ReflectorCaches.isWithin(sourceType.getClassLoader(), targetType.getClassLoader())) {
+            return (TypeMapper<S, T>) MAPPERS.get(sourceType).to.computeIfAbsent(targetType, key -> new TypeMapper<>(sourceType, targetType));
+        }
+        if (ReflectorCaches.isWithin(targetType.getClassLoader(), sourceType.getClassLoader())) {
+            return (TypeMapper<S, T>) MAPPERS.get(targetType).from.computeIfAbsent(sourceType, key -> new TypeMapper<>(sourceType, targetType));
+        }
+        return new TypeMapper<>(sourceType, targetType);
+    }
+
+    /**
+     * @return the source class
+     */
+    public Class<S> getSourceType() {
+        return sourceType;
+    }
+
+    /**
+     * @return the target class
+     */
+    public Class<T> getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * @return the mapping names of the matched fields, in target field order
+     */
+    public List<String> getMappedNames() {
+        return mappedNames;
+    }
+
+    /**
+     * Creates an instance of the target class through its no-argument constructor and copies the matched fields.
+     *
+     * @param source the object to read from
+     * @return the new target instance
+     * @throws NullPointerException         if the source is null
+     * @throws InstanceInvocationException if the target class cannot be instantiated
+     */
+    public T map(final S source) {
+        if (source == null) {
+            throw new NullPointerException("Source cannot be null");
+        }
+        T target = newTarget();
+        copy(source, target);
+        return target;
+    }
+
+    /**
+     * Copies the matched fields into an existing target instance.
+     *
+     * @param source the object to read from
+     * @param target the object to write to
+     * @throws NullPointerException if the source or the target is null
+     */
+    public void map(final S source, final T target) {
+        if (source == null || target == null) {
+            throw new NullPointerException("Source and target cannot be null");
+        }
+        copy(source, target);
+    }
+
+    /**
+     * Maps each object of the collection to a new target instance, see {@link #map(Object)}.
+     *
+     * @param sources the objects to read from
+     * @return the target instances in iteration order of the collection
+     * @throws NullPointerException         if the collection or one of its elements is null
+     * @throws InstanceInvocationException if the target class cannot be instantiated
+     */
+    public List<T> mapAll(final Collection<? extends S> sources) {
+        if (sources == null) {
+            throw new NullPointerException("Collection cannot be null");
+        }
+        List<T> targets = new ArrayList<>(sources.size());
+        for (S source : sources) {
+            targets.add(map(source));
+        }
+        return targets;
+    }
+
+    private void copy(final Object source, final Object target) {
+        try {
+            for (MethodHandle copy : copies) {
+                copy.invokeExact(source, target);
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to map " + sourceType.getName() + " to " + targetType.getName(), e);
+        }
+    }
+
+    private T newTarget() {
+        if (constructor == null) {
+            throw new InstanceInvocationException("No accessible no-argument constructor for " + targetType.getName());
+        }
+        try {
+            return targetType.cast(constructor.invokeExact());
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InstanceInvocationException("Failed to instantiate " + targetType.getName(), e);
+        }
+    }
+
+    private static Map<String, Field> mappingNames(final Class<?> type) {
+        FieldTable table = FieldTable.of(type);
+        Map<String, Field> fields = new LinkedHashMap<>();
+        for (int i = 0; i < table.size(); i++) {
+            Field field = table.field(i);
+            MapField mapField = field.getAnnotation(MapField.class);
+            fields.putIfAbsent((mapField != null) ? mapField.value() : field.getName(), field);
+        }
+        return fields;
+    }
+
+    /**
+     * Compiles the copy of one field into a {@code (Object source, Object target)void} handle.
+     *
+     * @return the handle, or null if the types are not compatible or a field is not accessible
+     */
+    private static MethodHandle copy(final Field source, final Field target) {
+        Class<?> from = source.getType();
+        Class<?> to = target.getType();
+        boolean assignable = to.isAssignableFrom(from) || (from.isPrimitive() && to.isAssignableFrom(wrap(from)));
+        if (!assignable && !widens(unwrap(from), unwrap(to))) {
+            return null;
+        }
+        MethodHandle reader = Accessors.typedReader(source);
+        MethodHandle writer = Accessors.writer(target);
+        if (reader == null || writer == null) {
+            return null;
+        }
+        MethodHandle convert = reader;
+        if (!assignable) {
+            convert = convert.asType(MethodType.methodType(unwrap(from), Object.class))
+                    .asType(MethodType.methodType(unwrap(to), Object.class));
+        }
+        convert = convert.asType(MethodType.methodType(to, Object.class));
+        MethodHandle typedWriter = writer.asType(MethodType.methodType(void.class, Object.class, to));
+        MethodHandle copy = MethodHandles.permuteArguments(MethodHandles.filterArguments(typedWriter, 1, convert), COPY_TYPE, 1, 0);
+        if (!assignable && !from.isPrimitive()) {
+            MethodHandle isNull = MethodHandles.dropArguments(MethodHandles.filterReturnValue(
+                    reader.asType(MethodType.methodType(Object.class, Object.class)), IS_NULL), 1, Object.class);
+            copy = MethodHandles.guardWithTest(isNull, SKIP, copy);
+        }
+        return copy;
+    }
+
+    private static Class<?> wrap(final Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    private static Class<?> unwrap(final Class<?> type) {
+        return MethodType.methodType(type).unwrap().returnType();
+    }
+
+    /**
+     * Checks whether a primitive widening or identity conversion exists between the primitive types.
+     */
+    static boolean widens(final Class<?> from, final Class<?> to) {
+        if (!from.isPrimitive() || !to.isPrimitive() || from == void.class || to == void.class) {
+            return false;
+        }
+        if (from == to) {
+            return true;
+        }
+        if (from == boolean.class || to == boolean.class || to == char.class || to == byte.class) {
+            return false;
+        }
+        int fromRank = rank(from);
+        int toRank = rank(to);
+        if (from == char.class) {
+            return toRank >= rank(int.class);
+        }
+        return to != short.class ? fromRank < toRank : from == byte.class;
+    }
+
+    private static int rank(final Class<?> primitive) {
+        if (primitive == byte.class) {
+            return 0;
+        } else if (primitive == short.class || primitive == char.class) {
+            return 1;
+        } else if (primitive == int.class) {
+            return 2;
+        } else if (primitive == long.class) {
+            return 3;
+        } else if (primitive == float.class) {
+            return 4;
+        }
+        return 5;
+    }
+
+    private static void skip() {
+        // a null wrapper leaves the primitive target field unchanged
+    }
+
+    /**
+     * The cached mappers of a class, keyed by the other class, which is always defined by the class loader of the
+     * class or one of its ancestors.
+     */
+    private static final class Mappers {
+
+        private final Map<Class<?>, TypeMapper<?, ?>> to = new ConcurrentHashMap<>();
+        private final Map<Class<?>, TypeMapper<?, ?>> from = new ConcurrentHashMap<>();
+
+        void prune(final Predicate<Class<?>> stale) {
+            to.keySet().removeIf(stale);
+            from.keySet().removeIf(stale);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.reflector.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Excludes a field from {@link org.reflector.ReflectiveEquality} comparisons and hash codes,
+ * and from the changes reported by {@link org.reflector.ObjectDiff}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface EqualityExclude {
+}
@@ -0,0 +1,21 @@
+package org.reflector.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets the name under which a field is matched by {@link org.reflector.TypeMapper}, in place of the field name.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface MapField {
+
+    /**
+     * @return the mapping name of the field
+     */
+    String value();
+}
@@ -7,4 +7,21 @@ public class FieldAccessException extends RuntimeException {
     public FieldAccessException(String cause, ReflectiveOperationException e) {
         super(cause, e);
     }
+    public FieldAccessException(String cause, Throwable e) {
+        super(cause, e);
+    }
+    protected FieldAccessException(String cause, Throwable e, boolean enableSuppression, boolean writableStackTrace) {
+        super(cause, e, enableSuppression, writableStackTrace);
+    }
+
+    /**
+     * Creates an exception without a cause, suppression or stack trace, cheap enough to be created once and
+     * thrown repeatedly.
+     *
+     * @param cause the detail message
+     * @return the exception
+     */
+    public static FieldAccessException stackless(String cause) {
+        return new FieldAccessException(cause, null, false, false);
+    }
 }
@@ -4,4 +4,21 @@ public class InstanceInvocationException extends RuntimeException {
     public InstanceInvocationException(String cause) {
         super(cause);
     }
+    public InstanceInvocationException(String cause, Throwable e) {
+        super(cause, e);
+    }
+    protected InstanceInvocationException(String cause, Throwable e, boolean enableSuppression, boolean writableStackTrace) {
+        super(cause, e, enableSuppression, writableStackTrace);
+    }
+
+    /**
+     * Creates an exception without a cause, suppression or stack trace, cheap enough to be created once and
+     * thrown repeatedly.
+     *
+     * @param cause the detail message
+     * @return the exception
+     */
+    public static InstanceInvocationException stackless(String cause) {
+        return new InstanceInvocationException(cause, null, false, false);
+    }
 }
@@ -4,4 +4,21 @@ public class MethodInvokeException extends RuntimeException {
     public MethodInvokeException(String cause) {
         super(cause);
     }
+    public MethodInvokeException(String cause, Throwable e) {
+        super(cause, e);
+    }
+    protected MethodInvokeException(String cause, Throwable e, boolean enableSuppression, boolean writableStackTrace) {
+        super(cause, e, enableSuppression, writableStackTrace);
+    }
+
+    /**
+     * Creates an exception without a cause, suppression or stack trace, cheap enough to be created once and
+     * thrown repeatedly.
+     *
+     * @param cause the detail message
+     * @return the exception
+     */
+    public static MethodInvokeException stackless(String cause) {
+        return new MethodInvokeException(cause, null, false, false);
+    }
 }
@@ -0,0 +1,24 @@
+package org.reflector.exception;
+
+public class PropertyAccessException extends RuntimeException {
+    public PropertyAccessException(String cause) {
+        super(cause);
+    }
+    public PropertyAccessException(String cause, Throwable e) {
+        super(cause, e);
+    }
+    protected PropertyAccessException(String cause, Throwable e, boolean enableSuppression, boolean writableStackTrace) {
+        super(cause, e, enableSuppression, writableStackTrace);
+    }
+
+    /**
+     * Creates an exception without a cause, suppression or stack trace, cheap enough to be created once and
+     * thrown repeatedly.
+     *
+     * @param cause the detail message
+     * @return the exception
+     */
+    public static PropertyAccessException stackless(String cause) {
+        return new PropertyAccessException(cause, null, false, false);
+    }
+}
@@ -0,0 +1,91 @@
+package org.reflector;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Runtime features that depend on the version of the running JDK, implementation for JDK 21 and later: parallel
+ * invocations run on virtual threads and generated classes are defined as hidden nestmates of their host.
+ */
+final class JdkSupport {
+
+    private static final Executor DEFAULT_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private JdkSupport() {
+    }
+
+    /**
+     * Returns the executor used for parallel invocations when the caller does not provide one, a new virtual
+     * thread per task.
+     *
+     * @return the default executor
+     */
+    static Executor defaultExecutor() {
+        return DEFAULT_EXECUTOR;
+    }
+
+    /**
+     * @return true, classes are defined as hidden nestmates
+     */
+    static boolean supportsHiddenClasses() {
+        return true;
+    }
+
+    /**
+     * Defines a generated class as a hidden nestmate of the host class, in its package and with access to its
+     * private members. The class is initialized and can be unloaded with its host.
+     *
+     * @param host  the host class
+     * @param bytes the class file, naming a class of the host package
+     * @return the defined class, or null if the host does not allow it
+     */
+    static Class<?> defineAccessorClass(final Class<?> host, final byte[] bytes) {
+        try {
+            return MethodHandles.privateLookupIn(host, MethodHandles.lookup())
+                    .defineHiddenClass(bytes, true, MethodHandles.Lookup.ClassOption.NESTMATE)
+                    .lookupClass();
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Tells whether the library may override access checks on the members of a class, which it requires before
+     * writing final fields: whether the class was defined by neither the bootstrap nor the platform loader, which
+     * load the JDK itself, and its module opens its package to the library.
+     *
+     * @param type the class
+     * @return true if the class is open to the library
+     */
+    static boolean isOpen(final Class<?> type) {
+        ClassLoader loader = type.getClassLoader();
+        return loader != null && loader != ClassLoader.getPlatformClassLoader()
+                && type.getModule().isOpen(type.getPackageName(), JdkSupport.class.getModule());
+    }
+
+    /**
+     * Compiles a setter of a non-final field from a {@link VarHandle}, through a private lookup in the declaring
+     * class, so no accessibility override is needed for classes whose package is open to the library. Handles of
+     * final fields are read-only, so final fields have no such setter.
+     *
+     * @param field the field
+     * @return a {@code (C,T)void} handle for an instance field of class {@code C} and type {@code T}, a
+     * {@code (T)void} handle for a static field, or null if the field is final or not accessible
+     */
+    static MethodHandle fieldSetter(final Field field) {
+        if (Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+            return lookup.unreflectVarHandle(field).toMethodHandle(VarHandle.AccessMode.SET);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.reflector;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.Executor;
+
+/**
+ * Runtime features that depend on the version of the running JDK, implementation for JDK 9 to 16: generated
+ * classes are defined through {@link MethodHandles#privateLookupIn(Class, MethodHandles.Lookup)} as ordinary
+ * classes of the host package.
+ */
+final class JdkSupport {
+
+    private JdkSupport() {
+    }
+
+    /**
+     * Returns the executor used for parallel invocations when the caller does not provide one, the daemon
+     * threads of {@link InvocationExecutor}.
+     *
+     * @return the default executor
+     */
+    static Executor defaultExecutor() {
+        return InvocationExecutor.shared();
+    }
+
+    /**
+     * @return false, classes are not defined as hidden nestmates before JDK 17
+     */
+    static boolean supportsHiddenClasses() {
+        return false;
+    }
+
+    /**
+     * Defines a generated class in the package of the host class, as an ordinary class of the host's loader.
+     * The class is initialized.
+     *
+     * @param host  the host class
+     * @param bytes the class file, naming a class of the host package
+     * @return the defined class, or null if the host does not allow it
+     */
+    static Class<?> defineAccessorClass(final Class<?> host, final byte[] bytes) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(host, MethodHandles.lookup());
+            return Class.forName(lookup.defineClass(bytes).getName(), true, host.getClassLoader());
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Tells whether the library may override access checks on the members of a class, which it requires before
+     * writing final fields: whether the class was defined by neither the bootstrap nor the platform loader, which
+     * load the JDK itself, and its module opens its package to the library.
+     *
+     * @param type the class
+     * @return true if the class is open to the library
+     */
+    static boolean isOpen(final Class<?> type) {
+        ClassLoader loader = type.getClassLoader();
+        return loader != null && loader != ClassLoader.getPlatformClassLoader()
+                && type.getModule().isOpen(type.getPackageName(), JdkSupport.class.getModule());
+    }
+
+    /**
+     * Compiles a setter of a non-final field from a {@link VarHandle}, through a private lookup in the declaring
+     * class, so no accessibility override is needed for classes whose package is open to the library. Handles of
+     * final fields are read-only, so final fields have no such setter.
+     *
+     * @param field the field
+     * @return a {@code (C,T)void} handle for an instance field of class {@code C} and type {@code T}, a
+     * {@code (T)void} handle for a static field, or null if the field is final or not accessible
+     */
+    static MethodHandle fieldSetter(final Field field) {
+        if (Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+            return lookup.unreflectVarHandle(field).toMethodHandle(VarHandle.AccessMode.SET);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.common.reflector.data.access;
+
+public class FailingInitializer {
+    public static final String FAIL_PROPERTY = "reflector.test.failingInitializer";
+
+    static final int VALUE = init();
+
+    private static int init() {
+        if (Boolean.getBoolean(FAIL_PROPERTY)) {
+            throw new IllegalStateException("initializer failed");
+        }
+        return 1;
+    }
+}
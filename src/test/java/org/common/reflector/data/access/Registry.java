@@ -0,0 +1,39 @@
+package org.common.reflector.data.access;
+
+public class Registry {
+    private static final String DEFAULT_REGION = String.valueOf("eu");
+    private static final int LIMIT = Integer.parseInt("16");
+    private static long lookups;
+
+    private final String name;
+    private final int capacity;
+
+    public Registry() {
+        this("default", 1);
+    }
+
+    public Registry(String name, int capacity) {
+        this.name = name;
+        this.capacity = capacity;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public static String getDefaultRegion() {
+        return DEFAULT_REGION;
+    }
+
+    public static int getLimit() {
+        return LIMIT;
+    }
+
+    public static long getLookups() {
+        return lookups;
+    }
+}
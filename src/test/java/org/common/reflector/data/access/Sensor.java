@@ -0,0 +1,82 @@
+package org.common.reflector.data.access;
+
+public class Sensor {
+    private static int created;
+
+    private final String id;
+    private String label;
+    private long readings;
+    private double lastValue;
+    private boolean active;
+    private char unit;
+    private int[] thresholds;
+    private Calibration calibration;
+
+    public Sensor() {
+        this("default");
+    }
+
+    public Sensor(String id) {
+        this.id = id;
+        created++;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getReadings() {
+        return readings;
+    }
+
+    public double getLastValue() {
+        return lastValue;
+    }
+
+    public Calibration getCalibration() {
+        return calibration;
+    }
+
+    private double record(double value, boolean activate) {
+        readings++;
+        lastValue = value;
+        active |= activate;
+        return value * 2;
+    }
+
+    private void reset() {
+        readings = 0;
+    }
+
+    private static int created() {
+        return created;
+    }
+
+    private void fail(String message) {
+        throw new IllegalStateException(message);
+    }
+
+    private String calibrate(Calibration calibration) {
+        this.calibration = calibration;
+        return calibration.name;
+    }
+
+    public static final class Calibration {
+        private String name;
+
+        public Calibration() {
+        }
+
+        public Calibration(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
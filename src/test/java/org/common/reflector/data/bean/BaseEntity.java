@@ -0,0 +1,22 @@
+package org.common.reflector.data.bean;
+
+public class BaseEntity {
+    private Long id;
+    private boolean modified;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public boolean isModified() {
+        return modified;
+    }
+
+    protected void markModified() {
+        this.modified = true;
+    }
+}
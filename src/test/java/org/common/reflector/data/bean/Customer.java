@@ -0,0 +1,37 @@
+package org.common.reflector.data.bean;
+
+public class Customer extends BaseEntity {
+    private String name;
+    private int visits;
+    private String URL;
+    private final String region;
+
+    public Customer() {
+        this.region = "EU";
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = (name != null) ? name.trim() : null;
+        markModified();
+    }
+
+    public String getDisplayName() {
+        return "Customer " + name;
+    }
+
+    public String getURL() {
+        return URL;
+    }
+
+    public void setURL(String URL) {
+        this.URL = URL;
+    }
+
+    public int getVisits() {
+        return visits;
+    }
+}
@@ -0,0 +1,15 @@
+package org.common.reflector.data.diff;
+
+public class Address {
+    private String city;
+    private String street;
+
+    public Address(String city, String street) {
+        this.city = city;
+        this.street = street;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+}
@@ -0,0 +1,15 @@
+package org.common.reflector.data.diff;
+
+public class Item {
+    private String sku;
+    private double price;
+
+    public Item(String sku, double price) {
+        this.sku = sku;
+        this.price = price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+}
@@ -0,0 +1,46 @@
+package org.common.reflector.data.diff;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Order {
+    private String id;
+    private int quantity;
+    private Address address;
+    private List<Item> items = new ArrayList<>();
+    private Map<String, String> attributes = new LinkedHashMap<>();
+    private Order parent;
+    private transient boolean dirty;
+
+    public Order(String id, int quantity, Address address) {
+        this.id = id;
+        this.quantity = quantity;
+        this.address = address;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public Address getAddress() {
+        return address;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    public void setParent(Order parent) {
+        this.parent = parent;
+    }
+
+    public void setDirty(boolean dirty) {
+        this.dirty = dirty;
+    }
+}
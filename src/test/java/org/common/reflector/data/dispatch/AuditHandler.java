@@ -0,0 +1,26 @@
+package org.common.reflector.data.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AuditHandler {
+    private final List<String> received = new ArrayList<>();
+
+    public List<String> getReceived() {
+        return received;
+    }
+
+    @EventHandler
+    private void onEvent(Event event) {
+        received.add("event:" + event.getClass().getSimpleName());
+    }
+
+    @EventHandler
+    public void onOrder(OrderEvent event) {
+        received.add("order:" + event.getOrderId());
+    }
+
+    public void onIgnored(OrderEvent event) {
+        received.add("ignored");
+    }
+}
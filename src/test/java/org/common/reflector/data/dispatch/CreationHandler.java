@@ -0,0 +1,19 @@
+package org.common.reflector.data.dispatch;
+
+public class CreationHandler extends AuditHandler {
+
+    @Override
+    public void onOrder(OrderEvent event) {
+        getReceived().add("overridden:" + event.getOrderId());
+    }
+
+    @EventHandler
+    public void onCreated(OrderCreatedEvent event) {
+        getReceived().add("created:" + event.getOrderId());
+    }
+
+    @EventHandler
+    public void onCount(int count) {
+        getReceived().add("count:" + count);
+    }
+}
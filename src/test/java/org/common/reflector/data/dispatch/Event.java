@@ -0,0 +1,4 @@
+package org.common.reflector.data.dispatch;
+
+public interface Event {
+}
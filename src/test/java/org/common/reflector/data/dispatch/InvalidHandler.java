@@ -0,0 +1,8 @@
+package org.common.reflector.data.dispatch;
+
+public class InvalidHandler {
+
+    @EventHandler
+    public void onTwo(OrderEvent first, OrderEvent second) {
+    }
+}
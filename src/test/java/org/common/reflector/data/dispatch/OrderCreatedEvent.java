@@ -0,0 +1,8 @@
+package org.common.reflector.data.dispatch;
+
+public class OrderCreatedEvent extends OrderEvent {
+
+    public OrderCreatedEvent(String orderId) {
+        super(orderId);
+    }
+}
@@ -0,0 +1,13 @@
+package org.common.reflector.data.dispatch;
+
+public class OrderEvent implements Event {
+    private final String orderId;
+
+    public OrderEvent(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+}
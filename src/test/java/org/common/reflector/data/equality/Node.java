@@ -0,0 +1,50 @@
+package org.common.reflector.data.equality;
+
+import org.reflector.annotation.EqualityExclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class Node {
+    private int weight;
+    private double score;
+    private String name;
+    private int[] codes;
+    private Node next;
+    private List<Node> children = new ArrayList<>();
+    @EqualityExclude
+    private long version;
+    private transient String cachedLabel;
+
+    public Node() {
+    }
+
+    public Node(String name, int weight) {
+        this.name = name;
+        this.weight = weight;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public void setCodes(int[] codes) {
+        this.codes = codes;
+    }
+
+    public void setNext(Node next) {
+        this.next = next;
+    }
+
+    public List<Node> getChildren() {
+        return children;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public void setCachedLabel(String cachedLabel) {
+        this.cachedLabel = cachedLabel;
+    }
+}
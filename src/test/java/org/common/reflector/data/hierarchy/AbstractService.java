@@ -0,0 +1,11 @@
+package org.common.reflector.data.hierarchy;
+
+import java.io.Serializable;
+
+public abstract class AbstractService implements ExtendedService, Serializable {
+    protected String id;
+
+    @Override
+    public void start() {
+    }
+}
@@ -0,0 +1,14 @@
+package org.common.reflector.data.hierarchy;
+
+public class CustomService extends DefaultService implements Runnable {
+    private String label;
+
+    @Override
+    public String name() {
+        return "custom";
+    }
+
+    @Override
+    public void run() {
+    }
+}
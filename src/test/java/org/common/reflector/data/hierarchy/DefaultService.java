@@ -0,0 +1,15 @@
+package org.common.reflector.data.hierarchy;
+
+public class DefaultService extends AbstractService implements Comparable<DefaultService> {
+    private int priority;
+
+    @Override
+    public String name() {
+        return "default";
+    }
+
+    @Override
+    public int compareTo(DefaultService other) {
+        return Integer.compare(priority, other.priority);
+    }
+}
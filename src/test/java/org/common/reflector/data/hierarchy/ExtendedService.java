@@ -0,0 +1,5 @@
+package org.common.reflector.data.hierarchy;
+
+public interface ExtendedService extends Service {
+    void start();
+}
@@ -0,0 +1,5 @@
+package org.common.reflector.data.hierarchy;
+
+public interface Service {
+    String name();
+}
@@ -0,0 +1,8 @@
+package org.common.reflector.data.invoke;
+
+public class CachedComponent extends Component {
+
+    public CachedComponent(String name) {
+        super(name, false);
+    }
+}
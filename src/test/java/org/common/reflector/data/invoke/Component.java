@@ -0,0 +1,36 @@
+package org.common.reflector.data.invoke;
+
+public class Component {
+    private final String name;
+    private final boolean failing;
+    private int refreshCount;
+
+    public Component(String name, boolean failing) {
+        this.name = name;
+        this.failing = failing;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getRefreshCount() {
+        return refreshCount;
+    }
+
+    private int refresh() {
+        if (failing) {
+            throw new IllegalStateException(name + " failed");
+        }
+        return ++refreshCount;
+    }
+
+    public String rename(String prefix, int suffix) {
+        return prefix + name + suffix;
+    }
+
+    public String pause(long millis) throws InterruptedException {
+        Thread.sleep(millis);
+        return name;
+    }
+}
@@ -0,0 +1,51 @@
+package org.common.reflector.data.mapping;
+
+public class CustomerDto {
+    private long id;
+    private String name;
+    private Long visits;
+    private int score = -1;
+    private String email;
+    private long ratio;
+    private String region;
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Long getVisits() {
+        return visits;
+    }
+
+    public void setVisits(Long visits) {
+        this.visits = visits;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public long getRatio() {
+        return ratio;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+}
@@ -0,0 +1,62 @@
+package org.common.reflector.data.mapping;
+
+import org.reflector.annotation.MapField;
+
+public class CustomerEntity {
+    private Long id;
+    private String name;
+    private int visits;
+    private Integer score;
+    @MapField("email")
+    private String emailAddress;
+    private double ratio;
+    private final String region = "EU";
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getVisits() {
+        return visits;
+    }
+
+    public void setVisits(int visits) {
+        this.visits = visits;
+    }
+
+    public Integer getScore() {
+        return score;
+    }
+
+    public void setScore(Integer score) {
+        this.score = score;
+    }
+
+    public String getEmailAddress() {
+        return emailAddress;
+    }
+
+    public void setEmailAddress(String emailAddress) {
+        this.emailAddress = emailAddress;
+    }
+
+    public void setRatio(double ratio) {
+        this.ratio = ratio;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+}
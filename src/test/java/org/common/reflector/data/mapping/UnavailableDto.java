@@ -0,0 +1,15 @@
+package org.common.reflector.data.mapping;
+
+import java.io.IOException;
+
+public class UnavailableDto {
+    private String name;
+
+    public UnavailableDto() throws IOException {
+        throw new IOException("offline");
+    }
+
+    public String getName() {
+        return name;
+    }
+}
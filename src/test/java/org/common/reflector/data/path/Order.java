@@ -0,0 +1,86 @@
+package org.common.reflector.data.path;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Order {
+    private Customer customer;
+    private List<Item> items = new ArrayList<>();
+    private Map<String, String> attributes = new HashMap<>();
+    private int[] quantities;
+
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(Customer customer) {
+        this.customer = customer;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    public int[] getQuantities() {
+        return quantities;
+    }
+
+    public void setQuantities(int[] quantities) {
+        this.quantities = quantities;
+    }
+
+    public static class Customer {
+        private Address address;
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+    }
+
+    public static class Address {
+        private String city;
+
+        public Address() {
+        }
+
+        public Address(String city) {
+            this.city = city;
+        }
+
+        public String getCity() {
+            return city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+    }
+
+    public static class Item {
+        private final String sku;
+
+        public Item(String sku) {
+            this.sku = sku;
+        }
+
+        public String getSku() {
+            return sku;
+        }
+    }
+
+    public static class DigitalItem extends Item {
+        public DigitalItem(String sku) {
+            super(sku);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.common.reflector.data.tostring;
+
+import java.util.Optional;
+
+public class Account {
+    private final String id;
+    private final Optional<Holder> holder;
+
+    public Account(String id, Holder holder) {
+        this.id = id;
+        this.holder = Optional.ofNullable(holder);
+    }
+}
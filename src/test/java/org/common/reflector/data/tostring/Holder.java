@@ -0,0 +1,16 @@
+package org.common.reflector.data.tostring;
+
+import org.reflector.ReflectiveToString;
+
+public class Holder {
+    private final String name;
+
+    public Holder(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return ReflectiveToString.toString(this);
+    }
+}
@@ -0,0 +1,161 @@
+package org.common.reflector.utils;
+
+import org.common.reflector.data.SimpleEntryClass;
+import org.common.reflector.data.access.Sensor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reflector.AccessStrategy;
+import org.reflector.FieldUtils;
+import org.reflector.InvokeUtils;
+import org.reflector.ObjectUtils;
+import org.reflector.ReflectorConfig;
+import org.reflector.exception.FieldAccessException;
+import org.reflector.exception.MethodInvokeException;
+
+import java.lang.reflect.Field;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AccessStrategyTest {
+
+    private static final AccessStrategy[] COMPILED = {AccessStrategy.METHOD_HANDLES, AccessStrategy.GENERATED};
+
+    @AfterEach
+    void resetStrategy() {
+        ReflectorConfig.setAccessStrategy(AccessStrategy.REFLECTION);
+    }
+
+    @Test
+    void defaultStrategyIsReflection() {
+        assertEquals(AccessStrategy.REFLECTION, ReflectorConfig.getAccessStrategy());
+        assertTrue(AccessStrategy.REFLECTION.isSupported());
+        assertTrue(AccessStrategy.METHOD_HANDLES.isSupported());
+        assertThrows(NullPointerException.class, () -> ReflectorConfig.setAccessStrategy(null));
+    }
+
+    @Test
+    void readFieldWithEveryStrategy() {
+        Sensor sensor = new Sensor("s-1");
+        ReflectorConfig.setAccessStrategy(AccessStrategy.METHOD_HANDLES);
+        InvokeUtils.invokeMethod(sensor, "record", new Class[]{double.class, boolean.class}, new Object[]{2.5, true});
+        for (AccessStrategy strategy : AccessStrategy.values()) {
+            ReflectorConfig.setAccessStrategy(strategy);
+            assertAll(strategy.name(),
+                    () -> assertEquals("s-1", FieldUtils.readField(sensor, "id")),
+                    () -> assertEquals(1L, FieldUtils.readField(sensor, "readings")),
+                    () -> assertEquals(2.5, FieldUtils.readField(sensor, "lastValue")),
+                    () -> assertEquals(true, FieldUtils.readField(sensor, "active")),
+                    () -> assertEquals('\0', FieldUtils.readField(sensor, "unit")),
+                    () -> assertNull(FieldUtils.readField(sensor, "thresholds")),
+                    () -> assertTrue((Integer) FieldUtils.readField(sensor, "created") > 0),
+                    () -> assertThrows(FieldAccessException.class, () -> FieldUtils.readField(sensor, "missing")));
+        }
+    }
+
+    @Test
+    void invokePrivateMethodsWithCompiledStrategies() {
+        for (AccessStrategy strategy : COMPILED) {
+            ReflectorConfig.setAccessStrategy(strategy);
+            Sensor sensor = new Sensor("s-2");
+            Object doubled = InvokeUtils.invokeMethod(sensor, "record", new Class[]{double.class, boolean.class}, new Object[]{4.0, false});
+            Object reset = InvokeUtils.invokeMethod(sensor, "reset", null, null);
+            Object created = InvokeUtils.invokeMethod(sensor, "created", null, null);
+            Object calibrated = InvokeUtils.invokeMethod(sensor, "calibrate", new Class[]{Sensor.Calibration.class},
+                    new Object[]{new Sensor.Calibration("zero")});
+            assertAll(strategy.name(),
+                    () -> assertEquals(8.0, doubled),
+                    () -> assertEquals(4.0, sensor.getLastValue()),
+                    () -> assertNull(reset),
+                    () -> assertEquals(0L, sensor.getReadings()),
+                    () -> assertTrue((Integer) created > 0),
+                    () -> assertEquals("zero", calibrated),
+                    () -> assertEquals("zero", sensor.getCalibration().getName()));
+        }
+    }
+
+    @Test
+    void invokeFailuresWithCompiledStrategies() {
+        for (AccessStrategy strategy : COMPILED) {
+            ReflectorConfig.setAccessStrategy(strategy);
+            Sensor sensor = new Sensor();
+            assertAll(strategy.name(),
+                    () -> assertThrows(MethodInvokeException.class,
+                            () -> InvokeUtils.invokeMethod(sensor, "fail", new Class[]{String.class}, new Object[]{"broken"})),
+                    () -> assertThrows(MethodInvokeException.class,
+                            () -> InvokeUtils.invokeMethod(sensor, "record", new Class[]{double.class, boolean.class}, new Object[]{"x", true})),
+                    () -> assertThrows(MethodInvokeException.class,
+                            () -> InvokeUtils.invokeMethod(sensor, "missing", null, null)));
+        }
+    }
+
+    @Test
+    void argumentMismatchesAreReportedAlikeByCompiledStrategies() {
+        for (AccessStrategy strategy : COMPILED) {
+            ReflectorConfig.setAccessStrategy(strategy);
+            Sensor sensor = new Sensor();
+            Class<?>[] types = {double.class, boolean.class};
+            MethodInvokeException wrongType = assertThrows(MethodInvokeException.class,
+                    () -> InvokeUtils.invokeMethod(sensor, "record", types, new Object[]{"x", true}));
+            MethodInvokeException wrongCount = assertThrows(MethodInvokeException.class,
+                    () -> InvokeUtils.invokeMethod(sensor, "record", types, new Object[]{1.0}));
+            assertAll(strategy.name(),
+                    () -> assertInstanceOf(IllegalArgumentException.class, wrongType.getCause()),
+                    () -> assertInstanceOf(IllegalArgumentException.class, wrongCount.getCause()),
+                    () -> assertEquals(4.0, InvokeUtils.invokeMethod(sensor, "record", types, new Object[]{2, true})));
+        }
+    }
+
+    @Test
+    void primitiveValuesAreWidenedWithEveryStrategy() throws NoSuchFieldException {
+        Field readings = Sensor.class.getDeclaredField("readings");
+        for (AccessStrategy strategy : AccessStrategy.values()) {
+            ReflectorConfig.setAccessStrategy(strategy);
+            Sensor sensor = new Sensor();
+            FieldUtils.writeFieldValue(readings, sensor, 3);
+            assertEquals(3L, sensor.getReadings(), strategy.name());
+        }
+    }
+
+    @Test
+    void reflectionStrategyDoesNotReachPrivateMethods() {
+        assertThrows(MethodInvokeException.class, () -> InvokeUtils.invokeMethod(new Sensor(), "reset", null, null));
+    }
+
+    @Test
+    void copyWithEveryStrategy() {
+        for (AccessStrategy strategy : AccessStrategy.values()) {
+            ReflectorConfig.setAccessStrategy(strategy);
+            SimpleEntryClass entry = new SimpleEntryClass("K", "V");
+            Sensor.Calibration calibration = new Sensor.Calibration("offset");
+            Sensor.Calibration calibrationCopy = (Sensor.Calibration) ObjectUtils.copy(calibration);
+            assertAll(strategy.name(),
+                    () -> assertEquals(entry, ObjectUtils.copy(entry)),
+                    () -> assertNotSame(calibration, calibrationCopy),
+                    () -> assertSame(calibration.getName(), calibrationCopy.getName()));
+        }
+    }
+
+    @Test
+    void copyNestedObjectWithCompiledStrategies() {
+        for (AccessStrategy strategy : COMPILED) {
+            ReflectorConfig.setAccessStrategy(strategy);
+            Sensor sensor = new Sensor("s-3");
+            InvokeUtils.invokeMethod(sensor, "calibrate", new Class[]{Sensor.Calibration.class}, new Object[]{new Sensor.Calibration("gain")});
+            InvokeUtils.invokeMethod(sensor, "record", new Class[]{double.class, boolean.class}, new Object[]{1.5, true});
+            Sensor copy = (Sensor) ObjectUtils.copy(sensor);
+            assertAll(strategy.name(),
+                    () -> assertEquals("s-3", copy.getId()),
+                    () -> assertEquals(1L, copy.getReadings()),
+                    () -> assertEquals(1.5, copy.getLastValue()),
+                    () -> assertNotSame(sensor.getCalibration(), copy.getCalibration()),
+                    () -> assertEquals("gain", copy.getCalibration().getName()));
+        }
+    }
+}
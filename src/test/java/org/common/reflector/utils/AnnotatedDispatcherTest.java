@@ -0,0 +1,70 @@
+package org.common.reflector.utils;
+
+import org.common.reflector.data.dispatch.AuditHandler;
+import org.common.reflector.data.dispatch.CreationHandler;
+import org.common.reflector.data.dispatch.EventHandler;
+import org.common.reflector.data.dispatch.InvalidHandler;
+import org.common.reflector.data.dispatch.OrderCreatedEvent;
+import org.common.reflector.data.dispatch.OrderEvent;
+import org.junit.jupiter.api.Test;
+import org.reflector.AnnotatedDispatcher;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AnnotatedDispatcherTest {
+
+    @Test
+    public void testHandlerMethodsAreScannedOnce() {
+        List<Method> methods = AnnotatedDispatcher.getHandlerMethods(CreationHandler.class, EventHandler.class);
+        assertEquals(Arrays.asList("onCount", "onCreated", "onEvent", "onOrder"),
+                methods.stream().map(Method::getName).collect(Collectors.toList()));
+        assertSame(methods, AnnotatedDispatcher.getHandlerMethods(CreationHandler.class, EventHandler.class));
+    }
+
+    @Test
+    public void testDispatchHonorsEventHierarchy() {
+        AuditHandler audit = new AuditHandler();
+        AnnotatedDispatcher dispatcher = AnnotatedDispatcher.create(EventHandler.class, audit);
+
+        assertEquals(2, dispatcher.dispatch(new OrderEvent("1")));
+        assertEquals(2, dispatcher.dispatch(new OrderCreatedEvent("2")));
+        assertEquals(Arrays.asList("event:OrderEvent", "order:1", "event:OrderCreatedEvent", "order:2"), audit.getReceived());
+    }
+
+    @Test
+    public void testOverriddenAndPrimitiveHandlers() {
+        AuditHandler audit = new AuditHandler();
+        CreationHandler creation = new CreationHandler();
+        AnnotatedDispatcher dispatcher = AnnotatedDispatcher.create(EventHandler.class, Arrays.asList(audit, creation));
+
+        assertEquals(5, dispatcher.dispatch(new OrderCreatedEvent("7")));
+        assertEquals(Arrays.asList("created:7", "event:OrderCreatedEvent", "overridden:7"), creation.getReceived());
+        assertEquals(1, dispatcher.dispatch(3));
+        assertEquals("count:3", creation.getReceived().get(3));
+    }
+
+    @Test
+    public void testEventsWithoutHandlers() {
+        AnnotatedDispatcher dispatcher = AnnotatedDispatcher.create(EventHandler.class, Collections.singletonList(new AuditHandler()));
+        assertEquals(0, dispatcher.dispatch("text"));
+        assertFalse(dispatcher.hasHandlers(String.class));
+        assertTrue(dispatcher.hasHandlers(OrderCreatedEvent.class));
+    }
+
+    @Test
+    public void testInvalidHandlers() {
+        assertThrows(IllegalArgumentException.class, () -> AnnotatedDispatcher.create(EventHandler.class, new InvalidHandler()));
+        assertThrows(NullPointerException.class, () -> AnnotatedDispatcher.create(EventHandler.class, (Object) null));
+        assertThrows(NullPointerException.class, () -> AnnotatedDispatcher.create(EventHandler.class).dispatch(null));
+    }
+}
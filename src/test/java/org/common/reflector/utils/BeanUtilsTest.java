@@ -0,0 +1,80 @@
+package org.common.reflector.utils;
+
+import org.common.reflector.data.bean.BaseEntity;
+import org.common.reflector.data.bean.Customer;
+import org.junit.jupiter.api.Test;
+import org.reflector.BeanProperty;
+import org.reflector.BeanUtils;
+import org.reflector.PropertyModel;
+import org.reflector.exception.PropertyAccessException;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BeanUtilsTest {
+
+    @Test
+    public void testPropertyNamesIncludeInheritedAndFieldBackedProperties() {
+        assertEquals(Arrays.asList("URL", "displayName", "id", "modified", "name", "region", "visits"),
+                BeanUtils.getPropertyNames(Customer.class));
+        assertTrue(BeanUtils.hasProperty(Customer.class, "id"));
+        assertFalse(BeanUtils.hasProperty(Customer.class, "class"));
+    }
+
+    @Test
+    public void testPropertyModelIsCached() {
+        assertSame(BeanUtils.getPropertyModel(Customer.class), BeanUtils.getPropertyModel(Customer.class));
+    }
+
+    @Test
+    public void testSetterSideEffectsArePreserved() {
+        Customer customer = new Customer();
+        BeanUtils.setProperty(customer, "name", "  John  ");
+        assertEquals("John", BeanUtils.getProperty(customer, "name"));
+        assertEquals(Boolean.TRUE, BeanUtils.getProperty(customer, "modified"));
+        assertEquals("Customer John", BeanUtils.getProperty(customer, "displayName"));
+    }
+
+    @Test
+    public void testPropertyMetadata() {
+        PropertyModel model = BeanUtils.getPropertyModel(Customer.class);
+
+        BeanProperty id = model.getProperty("id");
+        assertEquals(Long.class, id.getType());
+        assertEquals(BaseEntity.class, id.getReadMethod().getDeclaringClass());
+        assertNotNull(id.getWriteMethod());
+        assertNull(id.getField());
+
+        BeanProperty visits = model.getProperty("visits");
+        assertEquals(int.class, visits.getType());
+        assertTrue(visits.isReadable());
+        assertFalse(visits.isWritable());
+
+        BeanProperty region = model.getProperty("region");
+        assertNotNull(region.getField());
+        assertFalse(region.isWritable());
+    }
+
+    @Test
+    public void testReadOnlyAndMissingProperties() {
+        Customer customer = new Customer();
+        assertEquals("EU", BeanUtils.getProperty(customer, "region"));
+        assertThrows(PropertyAccessException.class, () -> BeanUtils.setProperty(customer, "displayName", "x"));
+        assertThrows(PropertyAccessException.class, () -> BeanUtils.getProperty(customer, "unknown"));
+        assertThrows(NullPointerException.class, () -> BeanUtils.getProperty(null, "name"));
+    }
+
+    @Test
+    public void testAcronymPropertyName() {
+        Customer customer = new Customer();
+        BeanUtils.setProperty(customer, "URL", "http://example.org");
+        assertEquals("http://example.org", customer.getURL());
+    }
+}
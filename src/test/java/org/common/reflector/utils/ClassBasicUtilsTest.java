@@ -2,16 +2,29 @@ package org.common.reflector.utils;
 
 
 import org.common.reflector.data.CustomTestInvokeClass;
+import org.common.reflector.data.hierarchy.AbstractService;
+import org.common.reflector.data.hierarchy.CustomService;
+import org.common.reflector.data.hierarchy.DefaultService;
+import org.common.reflector.data.hierarchy.ExtendedService;
+import org.common.reflector.data.hierarchy.Service;
 import org.common.reflector.util.TestConstant;
 import org.junit.jupiter.api.Test;
 import org.reflector.ClassBasicUtils;
-
+import org.reflector.ClassNames;
+import org.reflector.TypeHierarchy;
+
+import java.io.Serializable;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -600,4 +613,81 @@ public class ClassBasicUtilsTest {
         assertEquals(Object.class, ClassBasicUtils.getSuperClass(CustomTestInvokeClass.class));
     }
 
+    //type hierarchy tests
+
+    @Test
+    public void testGetTypeHierarchy_SuperclassChainAndDepth() {
+        TypeHierarchy hierarchy = ClassBasicUtils.getTypeHierarchy(CustomService.class);
+        assertEquals(CustomService.class, hierarchy.getType());
+        assertEquals(Arrays.asList(CustomService.class, DefaultService.class, AbstractService.class, Object.class), hierarchy.getSuperclasses());
+        assertEquals(3, hierarchy.getDepth());
+        assertEquals(0, ClassBasicUtils.getTypeHierarchy(Object.class).getDepth());
+    }
+
+    @Test
+    public void testGetTypeHierarchy_IsCached() {
+        assertSame(ClassBasicUtils.getTypeHierarchy(DefaultService.class), ClassBasicUtils.getTypeHierarchy(DefaultService.class));
+    }
+
+    @Test
+    public void testGetAllInterfaces_TransitiveInDeterministicOrder() {
+        List<Class<?>> interfaces = ClassBasicUtils.getAllInterfaces(CustomService.class);
+        assertEquals(Arrays.asList(Runnable.class, Comparable.class, ExtendedService.class, Service.class, Serializable.class), interfaces);
+        assertTrue(ClassBasicUtils.getTypeHierarchy(CustomService.class).contains(Service.class));
+        assertEquals(Collections.singletonList(Service.class), ClassBasicUtils.getAllInterfaces(ExtendedService.class));
+    }
+
+    @Test
+    public void testGetTypeHierarchy_NullClass() {
+        Exception exception = assertThrows(NullPointerException.class, () -> {
+            ClassBasicUtils.getTypeHierarchy(null);
+        });
+        assertTrue(exception.getMessage().contains("Class must not be null"));
+    }
+
+    //class names tests
+
+    @Test
+    public void testGetClassNames_InnerClass() {
+        ClassNames names = ClassBasicUtils.getClassNames(OuterClass.InnerClass.class);
+        assertEquals(OuterClass.InnerClass.class.getName(), names.getName());
+        assertEquals("InnerClass", names.getSimpleName());
+        assertEquals(OuterClass.InnerClass.class.getCanonicalName(), names.getCanonicalName());
+        assertEquals(this.getClass().getPackage().getName(), names.getPackageName());
+        assertEquals(OuterClass.class.getName(), names.getEnclosingName());
+    }
+
+    @Test
+    public void testGetClassNames_AnonymousClassAndCaching() {
+        Object anonymous = new Object() {
+        };
+        ClassNames names = ClassBasicUtils.getClassNames(anonymous.getClass());
+        assertEquals("", names.getSimpleName());
+        assertNull(names.getCanonicalName());
+        assertEquals(ClassBasicUtilsTest.class.getName(), names.getEnclosingName());
+        assertSame(names, ClassBasicUtils.getClassNames(anonymous.getClass()));
+        assertNull(ClassBasicUtils.getClassNames(NonInnerClass.class).getEnclosingName());
+    }
+
+    @Test
+    public void testGetClassNames_EnclosingClassMissing() throws Exception {
+        String outerName = OuterClass.class.getName();
+        URL classes = OuterClass.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes}, null) {
+            @Override
+            protected Class<?> findClass(final String name) throws ClassNotFoundException {
+                if (name.equals(outerName)) {
+                    throw new ClassNotFoundException(name);
+                }
+                return super.findClass(name);
+            }
+        }) {
+            Class<?> inner = loader.loadClass(OuterClass.InnerClass.class.getName());
+            assertEquals(OuterClass.InnerClass.class.getName(), ClassBasicUtils.getClassFullNameByClass(inner));
+            ClassNames names = ClassBasicUtils.getClassNames(inner);
+            assertEquals(OuterClass.InnerClass.class.getName(), names.getName());
+            assertEquals(this.getClass().getPackage().getName(), names.getPackageName());
+            assertThrows(NoClassDefFoundError.class, names::getEnclosingName);
+        }
+    }
 }
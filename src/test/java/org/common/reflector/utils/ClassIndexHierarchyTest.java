@@ -0,0 +1,72 @@
+package org.common.reflector.utils;
+
+import org.common.reflector.data.hierarchy.AbstractService;
+import org.common.reflector.data.hierarchy.CustomService;
+import org.common.reflector.data.hierarchy.DefaultService;
+import org.common.reflector.data.hierarchy.ExtendedService;
+import org.common.reflector.data.hierarchy.Service;
+import org.common.reflector.util.TestConstant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.reflector.AnnotationQuery;
+import org.reflector.ClassIndex;
+import org.reflector.PackageUtils;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClassIndexHierarchyTest {
+
+    private static final String HIERARCHY_PACKAGE = TestConstant.REFLECTOR_DATA_PACKAGE + ".hierarchy";
+
+    private static ClassIndex index;
+
+    @BeforeAll
+    public static void scan() throws IOException, URISyntaxException {
+        index = PackageUtils.getClassIndex(HIERARCHY_PACKAGE);
+    }
+
+    @Test
+    public void testFindSubclassesIncludesInterfacesAndAbstractClasses() throws ClassNotFoundException {
+        List<Class<?>> subclasses = index.findSubclasses(Service.class);
+        assertEquals(4, subclasses.size());
+        assertTrue(subclasses.containsAll(Arrays.asList(ExtendedService.class, AbstractService.class, DefaultService.class, CustomService.class)));
+    }
+
+    @Test
+    public void testFindImplementationsReturnsConcreteClasses() throws ClassNotFoundException {
+        List<Class<?>> implementations = index.findImplementations(Service.class);
+        assertEquals(2, implementations.size());
+        assertTrue(implementations.containsAll(Arrays.asList(DefaultService.class, CustomService.class)));
+    }
+
+    @Test
+    public void testExternalSupertypesAreResolvedTransitively() {
+        assertEquals(5, index.findSubclassNames(Object.class.getName()).size());
+        List<String> serializable = index.findImplementationNames(Serializable.class.getName());
+        assertEquals(2, serializable.size());
+        assertTrue(serializable.containsAll(Arrays.asList(DefaultService.class.getName(), CustomService.class.getName())));
+        assertEquals(Arrays.asList(CustomService.class.getName()), index.findImplementationNames(Runnable.class.getName()));
+        assertTrue(index.findSubclassNames(CustomService.class.getName()).isEmpty());
+    }
+
+    @Test
+    public void testSubtypeQueryCombinesWithOtherQueries() {
+        List<String> names = index.findClassNames(AnnotationQuery.subtypeOf(DefaultService.class)
+                .or(AnnotationQuery.subtypeOf(Runnable.class)));
+        assertEquals(Arrays.asList(CustomService.class.getName()), names);
+    }
+
+    @Test
+    public void testNullType() {
+        assertThrows(NullPointerException.class, () -> index.findImplementations(null));
+        assertThrows(NullPointerException.class, () -> index.findSubclassNames(null));
+    }
+}
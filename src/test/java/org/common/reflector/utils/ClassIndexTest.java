@@ -0,0 +1,92 @@
+package org.common.reflector.utils;
+
+import org.common.reflector.data.ClassAnnotated;
+import org.common.reflector.data.ExtendedAnnotatedClass;
+import org.common.reflector.data.MethodAnnotatedClass;
+import org.common.reflector.data.SimpleAnnotatedEntry;
+import org.common.reflector.data.annotation.ClassAnnotation;
+import org.common.reflector.data.annotation.ClassAnnotation1;
+import org.common.reflector.data.annotation.CustomAnnotationForTest;
+import org.common.reflector.data.annotation.CustomMethodAnnotation;
+import org.common.reflector.util.TestConstant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.reflector.AnnotationQuery;
+import org.reflector.ClassIndex;
+import org.reflector.PackageUtils;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.reflector.AnnotationQuery.all;
+import static org.reflector.AnnotationQuery.classAnnotated;
+import static org.reflector.AnnotationQuery.fieldAnnotated;
+import static org.reflector.AnnotationQuery.methodAnnotated;
+import static org.reflector.AnnotationQuery.not;
+
+public class ClassIndexTest {
+
+    private static ClassIndex index;
+
+    @BeforeAll
+    public static void scan() throws IOException, URISyntaxException {
+        index = PackageUtils.getClassIndex(TestConstant.REFLECTOR_DATA_PACKAGE);
+    }
+
+    @Test
+    public void testIndexContainsPackageClasses() {
+        assertTrue(index.contains(ClassAnnotated.class.getName()));
+        assertTrue(index.contains(ClassAnnotation.class.getName()));
+        assertFalse(index.contains(ClassIndexTest.class.getName()));
+        assertEquals(index.size(), index.getClassNames().size());
+    }
+
+    @Test
+    public void testClassAnnotatedMatchesPackageScan() throws IOException, URISyntaxException, ClassNotFoundException {
+        List<Class<?>> expected = PackageUtils.getAllAnnotatedClassesByPackage(TestConstant.REFLECTOR_DATA_PACKAGE, ClassAnnotation.class);
+        List<Class<?>> actual = index.getAnnotatedClasses(ClassAnnotation.class);
+        assertEquals(expected.size(), actual.size());
+        assertTrue(actual.containsAll(expected));
+    }
+
+    @Test
+    public void testMethodAndFieldAnnotated() throws ClassNotFoundException {
+        List<Class<?>> methodAnnotated = index.findClasses(methodAnnotated(CustomMethodAnnotation.class));
+        assertTrue(methodAnnotated.contains(MethodAnnotatedClass.class));
+        assertFalse(methodAnnotated.contains(SimpleAnnotatedEntry.class));
+
+        List<Class<?>> fieldAnnotated = index.findClasses(fieldAnnotated(CustomAnnotationForTest.class));
+        assertTrue(fieldAnnotated.contains(SimpleAnnotatedEntry.class));
+        assertFalse(fieldAnnotated.contains(MethodAnnotatedClass.class));
+    }
+
+    @Test
+    public void testCompositeQueries() {
+        AnnotationQuery annotated = classAnnotated(ClassAnnotation.class);
+
+        List<String> either = index.findClassNames(annotated.or(methodAnnotated(CustomMethodAnnotation.class)));
+        assertTrue(either.contains(ClassAnnotated.class.getName()));
+        assertTrue(either.contains(ExtendedAnnotatedClass.class.getName()));
+        assertTrue(either.contains(MethodAnnotatedClass.class.getName()));
+
+        assertTrue(index.findClassNames(annotated.and(methodAnnotated(CustomMethodAnnotation.class))).isEmpty());
+        assertEquals(index.findClassNames(annotated), index.findClassNames(annotated.andNot(classAnnotated(ClassAnnotation1.class))));
+
+        List<String> notAnnotated = index.findClassNames(not(annotated));
+        assertEquals(index.size() - index.findClassNames(annotated).size(), notAnnotated.size());
+        assertFalse(notAnnotated.contains(ClassAnnotated.class.getName()));
+        assertEquals(index.size(), index.findClassNames(all()).size());
+    }
+
+    @Test
+    public void testNullArguments() {
+        assertThrows(NullPointerException.class, () -> classAnnotated(null));
+        assertThrows(NullPointerException.class, () -> not(null));
+        assertThrows(NullPointerException.class, () -> index.findClassNames(null));
+    }
+}
@@ -0,0 +1,70 @@
+package org.common.reflector.utils;
+
+import org.common.reflector.data.CustomTestInvokeClass;
+import org.common.reflector.data.access.FailingInitializer;
+import org.common.reflector.util.TestConstant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reflector.ClassResolver;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ClassResolverTest {
+
+    private static final String UNKNOWN_CLASS = TestConstant.REFLECTOR_DATA_PACKAGE + ".UnknownClass";
+
+    @AfterEach
+    public void clear() {
+        ClassResolver.clear();
+    }
+
+    @Test
+    public void testFindClass() {
+        Class<?> clazz = ClassResolver.findClass(TestConstant.CUSTOM_TEST_INVOKE_CLASS_PACKAGE);
+        assertSame(CustomTestInvokeClass.class, clazz);
+        assertSame(clazz, ClassResolver.findClass(TestConstant.CUSTOM_TEST_INVOKE_CLASS_PACKAGE));
+    }
+
+    @Test
+    public void testFindUnknownClassReturnsNullRepeatedly() {
+        assertNull(ClassResolver.findClass(UNKNOWN_CLASS));
+        assertNull(ClassResolver.findClass(UNKNOWN_CLASS));
+    }
+
+    @Test
+    public void testResolveUnknownClassThrows() {
+        assertThrows(ClassNotFoundException.class, () -> ClassResolver.resolve(UNKNOWN_CLASS, getClass().getClassLoader()));
+    }
+
+    @Test
+    public void testEntriesAreScopedPerClassLoader() throws Exception {
+        try (URLClassLoader isolated = new URLClassLoader(new URL[0], null)) {
+            assertNull(ClassResolver.findClass(TestConstant.CUSTOM_TEST_INVOKE_CLASS_PACKAGE, isolated));
+            assertSame(CustomTestInvokeClass.class, ClassResolver.findClass(TestConstant.CUSTOM_TEST_INVOKE_CLASS_PACKAGE, getClass().getClassLoader()));
+            assertSame(String.class, ClassResolver.findClass(String.class.getName(), null));
+        }
+    }
+
+    @Test
+    public void testLinkageErrorsAreNotCachedAsMissing() throws Exception {
+        String className = FailingInitializer.class.getName();
+        URL classes = FailingInitializer.class.getProtectionDomain().getCodeSource().getLocation();
+        System.setProperty(FailingInitializer.FAIL_PROPERTY, "true");
+        try (URLClassLoader isolated = new URLClassLoader(new URL[]{classes}, null)) {
+            assertThrows(ExceptionInInitializerError.class, () -> ClassResolver.findClass(className, isolated));
+            assertThrows(NoClassDefFoundError.class, () -> ClassResolver.findClass(className, isolated));
+        } finally {
+            System.clearProperty(FailingInitializer.FAIL_PROPERTY);
+        }
+    }
+
+    @Test
+    public void testNullClassName() {
+        assertThrows(NullPointerException.class, () -> ClassResolver.findClass(null));
+    }
+}
@@ -0,0 +1,115 @@
+package org.common.reflector.utils;
+
+import org.common.reflector.data.access.Sensor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reflector.FailurePolicy;
+import org.reflector.FieldUtils;
+import org.reflector.InvokeUtils;
+import org.reflector.ReflectorConfig;
+import org.reflector.exception.FieldAccessException;
+import org.reflector.exception.InstanceInvocationException;
+import org.reflector.exception.MethodInvokeException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FailurePolicyTest {
+
+    @AfterEach
+    void resetPolicy() {
+        ReflectorConfig.setFailurePolicy(FailurePolicy.LOG_AND_THROW);
+        ReflectorConfig.setFailureLogInterval(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void defaultPolicyLogsAndThrows() {
+        assertAll(
+                () -> assertEquals(FailurePolicy.LOG_AND_THROW, ReflectorConfig.getFailurePolicy()),
+                () -> assertEquals(Duration.ofSeconds(1), ReflectorConfig.getFailureLogInterval()),
+                () -> assertThrows(NullPointerException.class, () -> ReflectorConfig.setFailurePolicy(null)),
+                () -> assertThrows(NullPointerException.class, () -> ReflectorConfig.setFailureLogInterval(null)),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> ReflectorConfig.setFailureLogInterval(Duration.ofMillis(-1))));
+    }
+
+    @Test
+    void exceptionsCarryTheCause() {
+        for (FailurePolicy policy : new FailurePolicy[]{FailurePolicy.LOG_AND_THROW, FailurePolicy.RATE_LIMITED_LOG, FailurePolicy.THROW}) {
+            ReflectorConfig.setFailurePolicy(policy);
+            FieldAccessException readFailure = assertThrows(FieldAccessException.class,
+                    () -> FieldUtils.readField(new Sensor("probe"), "missing"));
+            MethodInvokeException invokeFailure = assertThrows(MethodInvokeException.class,
+                    () -> InvokeUtils.invokeMethod(new Sensor("probe"), "missing", new Class<?>[0], new Object[0]));
+            assertAll(
+                    () -> assertTrue(readFailure.getCause() instanceof NoSuchFieldException),
+                    () -> assertTrue(invokeFailure.getCause() instanceof NoSuchMethodException),
+                    () -> assertTrue(readFailure.getStackTrace().length > 0),
+                    () -> assertNotSame(readFailure, assertThrows(FieldAccessException.class,
+                            () -> FieldUtils.readField(new Sensor("probe"), "missing"))));
+        }
+    }
+
+    @Test
+    void stacklessExceptionsAreCachedPerCallSite() {
+        ReflectorConfig.setFailurePolicy(FailurePolicy.STACKLESS);
+        FieldAccessException readFailure = assertThrows(FieldAccessException.class,
+                () -> FieldUtils.readField(new Sensor("probe"), "missing"));
+        MethodInvokeException invokeFailure = assertThrows(MethodInvokeException.class,
+                () -> InvokeUtils.invokeMethod(new Sensor("probe"), "missing", new Class<?>[0], new Object[0]));
+        InstanceInvocationException instanceFailure = assertThrows(InstanceInvocationException.class,
+                () -> InvokeUtils.invokeInstance("org.common.reflector.data.Missing"));
+        assertAll(
+                () -> assertNull(readFailure.getCause()),
+                () -> assertEquals(0, readFailure.getStackTrace().length),
+                () -> assertEquals(0, invokeFailure.getStackTrace().length),
+                () -> assertNotNull(instanceFailure.getMessage()),
+                () -> assertSame(readFailure, assertThrows(FieldAccessException.class,
+                        () -> FieldUtils.readField(new Sensor("probe"), "other"))),
+                () -> assertSame(invokeFailure, assertThrows(MethodInvokeException.class,
+                        () -> InvokeUtils.invokeMethod(new Sensor("probe"), "other", new Class<?>[0], new Object[0]))));
+    }
+
+    @Test
+    void stacklessExceptionsAreOfTheLibraryTypes() {
+        ReflectorConfig.setFailurePolicy(FailurePolicy.STACKLESS);
+        assertAll(
+                () -> assertEquals(FieldAccessException.class, assertThrows(FieldAccessException.class,
+                        () -> FieldUtils.readField(new Sensor("probe"), "missing")).getClass()),
+                () -> assertEquals(FieldAccessException.class, assertThrows(FieldAccessException.class,
+                        () -> FieldUtils.writeField(new Sensor("probe"), "missing", "value")).getClass()),
+                () -> assertEquals(MethodInvokeException.class, assertThrows(MethodInvokeException.class,
+                        () -> InvokeUtils.invokeMethod(new Sensor("probe"), "missing", new Class<?>[0], new Object[0])).getClass()),
+                () -> assertEquals(InstanceInvocationException.class, assertThrows(InstanceInvocationException.class,
+                        () -> InvokeUtils.invokeInstance("org.common.reflector.data.Missing")).getClass()));
+    }
+
+    @Test
+    void stacklessExceptionsCannotBeChangedByCallers() {
+        ReflectorConfig.setFailurePolicy(FailurePolicy.STACKLESS);
+        FieldAccessException failure = assertThrows(FieldAccessException.class,
+                () -> FieldUtils.readField(new Sensor("probe"), "missing"));
+        failure.addSuppressed(new IllegalStateException("suppressed"));
+        assertAll(
+                () -> assertEquals(0, failure.getSuppressed().length),
+                () -> assertThrows(IllegalStateException.class, () -> failure.initCause(new IllegalStateException("cause"))),
+                () -> assertNull(failure.getCause()));
+    }
+
+    @Test
+    void rateLimitedLoggingStillThrowsEveryFailure() {
+        ReflectorConfig.setFailurePolicy(FailurePolicy.RATE_LIMITED_LOG);
+        ReflectorConfig.setFailureLogInterval(Duration.ofMinutes(1));
+        for (int i = 0; i < 100; i++) {
+            assertThrows(FieldAccessException.class, () -> FieldUtils.readField(new Sensor("probe"), "missing"));
+        }
+    }
+}
@@ -482,4 +482,37 @@ public class FieldUtilsTest {
                 () -> assertNotEquals(entry.getValue(), null)
         );
     }
+
+    // find fields
+
+    private static class ShadowingClass extends SubSimpleClass {
+        private long subClassField;
+    }
+
+    @Test
+    void findDeclaredFieldTest() {
+        assertAll("findDeclaredField",
+                () -> assertEquals("intField", FieldUtils.findDeclaredField(SampleClass1.class, "intField").map(Field::getName).orElse(null)),
+                () -> assertFalse(FieldUtils.findDeclaredField(SampleClass1.class, "nonExistentField").isPresent()),
+                () -> assertFalse(FieldUtils.findDeclaredField(SubSimpleClass.class, "superClassField").isPresent()),
+                () -> assertEquals(null, FieldUtils.getDeclaredFieldOrNull(SampleClass1.class, "nonExistentField")),
+                () -> assertEquals(String.class, FieldUtils.getDeclaredFieldOrNull(SampleClass1.class, "stringField").getType()),
+                () -> assertTrue(ReflectionUtils.findDeclaredField(SampleClass1.class, "doubleField").isPresent()),
+                () -> assertThrows(NullPointerException.class, () -> FieldUtils.findDeclaredField(null, "intField")),
+                () -> assertThrows(NullPointerException.class, () -> FieldUtils.getDeclaredFieldOrNull(SampleClass1.class, null)));
+    }
+
+    @Test
+    void findFieldTest() {
+        assertAll("findField",
+                () -> assertEquals(SuperSimpleClass.class, FieldUtils.findField(SubSimpleClass.class, "superClassField")
+                        .map(Field::getDeclaringClass).orElse(null)),
+                () -> assertEquals(long.class, FieldUtils.getFieldOrNull(ShadowingClass.class, "subClassField").getType()),
+                () -> assertEquals(double.class, FieldUtils.getFieldOrNull(SubSimpleClass.class, "subClassField").getType()),
+                () -> assertFalse(FieldUtils.findField(ShadowingClass.class, "nonExistentField").isPresent()),
+                () -> assertEquals(null, FieldUtils.getFieldOrNull(SuperSimpleClass.class, "subClassField")),
+                () -> assertTrue(ReflectionUtils.findField(ShadowingClass.class, "superClassPublicField").isPresent()),
+                () -> assertThrows(NullPointerException.class, () -> FieldUtils.findField(SubSimpleClass.class, null)),
+                () -> assertThrows(NullPointerException.class, () -> FieldUtils.getFieldOrNull(null, "subClassField")));
+    }
 }
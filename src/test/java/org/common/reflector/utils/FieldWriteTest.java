@@ -0,0 +1,111 @@
+package org.common.reflector.utils;
+
+import org.common.reflector.data.access.Registry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.reflector.AccessStrategy;
+import org.reflector.FieldUtils;
+import org.reflector.ObjectUtils;
+import org.reflector.ReflectorConfig;
+import org.reflector.exception.FieldAccessException;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FieldWriteTest {
+
+    @AfterEach
+    void restoreStrategy() {
+        ReflectorConfig.setAccessStrategy(AccessStrategy.REFLECTION);
+    }
+
+    @Test
+    void writeFinalInstanceFieldsWithEveryStrategy() {
+        for (AccessStrategy strategy : AccessStrategy.values()) {
+            ReflectorConfig.setAccessStrategy(strategy);
+            Registry registry = new Registry("orders", 4);
+            FieldUtils.writeField(registry, "name", "invoices");
+            FieldUtils.writeField(registry, "capacity", 8);
+            assertAll(strategy.name(),
+                    () -> assertEquals("invoices", registry.getName()),
+                    () -> assertEquals(8, registry.getCapacity()));
+        }
+    }
+
+    @Test
+    void writeStaticFieldsWithEveryStrategy() {
+        for (AccessStrategy strategy : AccessStrategy.values()) {
+            ReflectorConfig.setAccessStrategy(strategy);
+            FieldUtils.writeStaticField(Registry.class, "lookups", 3L);
+            assertEquals(3L, Registry.getLookups(), strategy.name());
+        }
+    }
+
+    @Test
+    void writeRefusesStaticFinalFields() {
+        for (AccessStrategy strategy : AccessStrategy.values()) {
+            ReflectorConfig.setAccessStrategy(strategy);
+            assertAll(strategy.name(),
+                    () -> assertThrows(FieldAccessException.class, () -> FieldUtils.writeStaticField(Registry.class, "LIMIT", 32)),
+                    () -> assertThrows(FieldAccessException.class, () -> FieldUtils.writeStaticField(Boolean.class, "TRUE", false)),
+                    () -> assertEquals(16, Registry.getLimit()),
+                    () -> assertEquals(Boolean.TRUE, Boolean.valueOf(true)));
+        }
+    }
+
+    @Test
+    void writeRefusesFinalFieldsOfJdkClasses() {
+        for (AccessStrategy strategy : AccessStrategy.values()) {
+            ReflectorConfig.setAccessStrategy(strategy);
+            assertAll(strategy.name(),
+                    () -> assertThrows(FieldAccessException.class, () -> FieldUtils.writeField(Integer.valueOf(100), "value", 7)),
+                    () -> assertEquals(100, Integer.valueOf(100).intValue()));
+        }
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_9)
+    void writeReportsFieldsOfClosedPackages() throws NoSuchFieldException {
+        Field size = ArrayList.class.getDeclaredField("size");
+        for (AccessStrategy strategy : AccessStrategy.values()) {
+            ReflectorConfig.setAccessStrategy(strategy);
+            List<String> list = new ArrayList<>(Collections.singletonList("a"));
+            assertAll(strategy.name(),
+                    () -> assertThrows(FieldAccessException.class, () -> FieldUtils.writeFieldValue(size, list, 0)),
+                    () -> assertEquals(1, list.size()));
+        }
+    }
+
+    @Test
+    void writeRejectsInvalidRequests() throws NoSuchFieldException {
+        Field capacity = Registry.class.getDeclaredField("capacity");
+        assertAll(
+                () -> assertThrows(FieldAccessException.class, () -> FieldUtils.writeField(new Registry(), "missing", 1)),
+                () -> assertThrows(FieldAccessException.class, () -> FieldUtils.writeStaticField(Registry.class, "name", "x")),
+                () -> assertThrows(FieldAccessException.class, () -> FieldUtils.writeFieldValue(capacity, new Registry(), "eight")),
+                () -> assertThrows(FieldAccessException.class, () -> FieldUtils.writeField(new Registry(), "capacity", "eight")),
+                () -> assertThrows(FieldAccessException.class, () -> FieldUtils.writeStaticField(Registry.class, "lookups", "many")),
+                () -> assertThrows(FieldAccessException.class, () -> FieldUtils.writeFieldValue(capacity, "registry", 8)),
+                () -> assertThrows(NullPointerException.class, () -> FieldUtils.writeFieldValue(null, new Registry(), 1)));
+    }
+
+    @Test
+    void copyKeepsFinalFields() {
+        for (AccessStrategy strategy : AccessStrategy.values()) {
+            ReflectorConfig.setAccessStrategy(strategy);
+            Registry copy = (Registry) ObjectUtils.copy(new Registry("orders", 4));
+            assertAll(strategy.name(),
+                    () -> assertEquals("orders", copy.getName()),
+                    () -> assertEquals(4, copy.getCapacity()),
+                    () -> assertEquals("eu", Registry.getDefaultRegion()));
+        }
+    }
+}
@@ -1,13 +1,30 @@
 package org.common.reflector.utils;
 
 import org.common.reflector.data.CustomTestInvokeClass;
+import org.common.reflector.data.invoke.CachedComponent;
+import org.common.reflector.data.invoke.Component;
 import org.common.reflector.util.TestConstant;
 import org.junit.jupiter.api.Test;
+import org.reflector.InvocationResults;
 import org.reflector.InvokeUtils;
+import org.reflector.exception.InstanceInvocationException;
+import org.reflector.exception.MethodInvokeException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class InvokeUtilsTest {
     @Test
@@ -56,4 +73,98 @@ public class InvokeUtilsTest {
                 () -> assertEquals(instance.getValue(), obj[0])
         );
     }
+
+    @Test
+    void invokeUnknownClassInstanceTest() {
+        String unknownClass = TestConstant.REFLECTOR_DATA_PACKAGE + ".UnknownClass";
+        assertThrows(InstanceInvocationException.class, () -> InvokeUtils.invokeInstance(unknownClass));
+        assertThrows(InstanceInvocationException.class, () -> InvokeUtils.invokeInstance(unknownClass, TestConstant.SOME_VALUE));
+    }
+
+    @Test
+    void invokeAllCollectsResultsAndFailuresTest() {
+        Component first = new Component("a", false);
+        Component failing = new Component("b", true);
+        CachedComponent inherited = new CachedComponent("c");
+        List<Object> targets = Arrays.asList(first, failing, inherited, "text", null);
+
+        InvocationResults results = InvokeUtils.invokeAll(targets, "refresh", null, null);
+
+        assertEquals(5, results.size());
+        assertEquals(1, results.getResult(0));
+        assertInstanceOf(IllegalStateException.class, results.getFailure(1));
+        assertEquals(1, results.getResult(2));
+        assertInstanceOf(MethodInvokeException.class, results.getFailure(3));
+        assertInstanceOf(NullPointerException.class, results.getFailure(4));
+        assertEquals(3, results.getFailureCount());
+        assertEquals(3, results.getFailures().size());
+        assertTrue(results.hasFailures());
+        assertNull(results.getResults().get(1));
+        assertEquals(1, first.getRefreshCount());
+        assertEquals(1, inherited.getRefreshCount());
+    }
+
+    @Test
+    void invokeAllWithArgumentsTest() {
+        List<Component> targets = Arrays.asList(new Component("a", false), new CachedComponent("b"));
+
+        InvocationResults results = InvokeUtils.invokeAll(targets, "rename",
+                new Class[]{String.class, int.class}, new Object[]{"x-", 1});
+
+        assertFalse(results.hasFailures());
+        assertEquals(Arrays.asList("x-a1", "x-b1"), results.getResults());
+        assertThrows(NullPointerException.class, () -> InvokeUtils.invokeAll(null, "rename", null, null));
+    }
+
+    @Test
+    void invokeAllParallelRunsCallsConcurrentlyTest() {
+        List<Component> targets = Arrays.asList(new Component("a", false), new Component("b", false),
+                new Component("c", false), new Component("d", false));
+        ExecutorService executor = Executors.newFixedThreadPool(targets.size());
+        try {
+            long start = System.nanoTime();
+            InvocationResults results = InvokeUtils.invokeAllParallel(targets, "pause", new Class[]{long.class}, new Object[]{300L},
+                    5, TimeUnit.SECONDS, executor);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertFalse(results.hasFailures());
+            assertEquals(Arrays.asList("a", "b", "c", "d"), results.getResults());
+            assertTrue(elapsedMillis < 1000, "calls should overlap, took " + elapsedMillis + " ms");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void invokeAllParallelTimesCallsFromTheirStartTest() {
+        List<Component> targets = Arrays.asList(new Component("a", false), new Component("b", false),
+                new Component("c", false));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            InvocationResults results = InvokeUtils.invokeAllParallel(targets, "pause", new Class[]{long.class}, new Object[]{400L},
+                    600, TimeUnit.MILLISECONDS, executor);
+
+            assertFalse(results.hasFailures());
+            assertEquals(Arrays.asList("a", "b", "c"), results.getResults());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void invokeAllParallelTimeoutAndFailuresTest() {
+        List<Object> targets = Arrays.asList(new Component("slow", false), "text");
+
+        InvocationResults results = InvokeUtils.invokeAllParallel(targets, "pause", new Class[]{long.class}, new Object[]{5000L},
+                100, TimeUnit.MILLISECONDS);
+
+        assertInstanceOf(TimeoutException.class, results.getFailure(0));
+        assertInstanceOf(MethodInvokeException.class, results.getFailure(1));
+        assertEquals(2, results.getFailureCount());
+
+        InvocationResults refreshed = InvokeUtils.invokeAllParallel(Arrays.asList(new Component("a", false), new Component("b", true)),
+                "refresh", null, null, 5, TimeUnit.SECONDS);
+        assertEquals(1, refreshed.getResult(0));
+        assertInstanceOf(IllegalStateException.class, refreshed.getFailure(1));
+    }
 }
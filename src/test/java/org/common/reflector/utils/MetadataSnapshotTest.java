@@ -0,0 +1,132 @@
+package org.common.reflector.utils;
+
+import org.common.reflector.data.access.Sensor;
+import org.common.reflector.util.TestConstant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.reflector.ClassIndex;
+import org.reflector.MetadataSnapshot;
+import org.reflector.PackageUtils;
+import org.reflector.ReflectorConfig;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MetadataSnapshotTest {
+
+    private static final String HIERARCHY_PACKAGE = TestConstant.REFLECTOR_DATA_PACKAGE + ".hierarchy";
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void uninstall() {
+        ReflectorConfig.setMetadataSnapshot(null);
+    }
+
+    @Test
+    void fingerprintIsStable() {
+        ClassLoader loader = getClass().getClassLoader();
+        String fingerprint = MetadataSnapshot.fingerprint(loader);
+        assertAll(
+                () -> assertEquals(64, fingerprint.length()),
+                () -> assertEquals(fingerprint, MetadataSnapshot.fingerprint(loader)),
+                () -> assertEquals(fingerprint, MetadataSnapshot.create().getFingerprint()),
+                () -> assertThrows(NullPointerException.class, () -> MetadataSnapshot.fingerprint(null)));
+    }
+
+    @Test
+    void scansAreRecordedAndRestored() throws Exception {
+        Path file = directory.resolve("reflector.snapshot");
+        MetadataSnapshot snapshot = MetadataSnapshot.create();
+        ReflectorConfig.setMetadataSnapshot(snapshot);
+        ClassIndex scanned = PackageUtils.getClassIndex(HIERARCHY_PACKAGE);
+        List<Class<?>> classes = PackageUtils.getClassesByPackage(HIERARCHY_PACKAGE);
+        assertTrue(snapshot.isModified());
+        snapshot.save(file);
+        assertFalse(snapshot.isModified());
+
+        MetadataSnapshot restored = MetadataSnapshot.load(file);
+        ReflectorConfig.setMetadataSnapshot(restored);
+        ClassIndex index = PackageUtils.getClassIndex(HIERARCHY_PACKAGE);
+        assertAll(
+                () -> assertTrue(restored.isRestored()),
+                () -> assertFalse(restored.isModified()),
+                () -> assertTrue(restored.getPackageNames().contains(HIERARCHY_PACKAGE)),
+                () -> assertEquals(scanned.getClassNames(), index.getClassNames()),
+                () -> assertEquals(scanned.findSubclassNames(Object.class.getName()), index.findSubclassNames(Object.class.getName())),
+                () -> assertEquals(classes, PackageUtils.getClassesByPackage(HIERARCHY_PACKAGE)),
+                () -> assertFalse(restored.isModified()));
+    }
+
+    @Test
+    void classTablesAreRestoredAndWarmedUp() throws Exception {
+        Path file = directory.resolve("classes.snapshot");
+        MetadataSnapshot snapshot = MetadataSnapshot.create();
+        snapshot.addClass(Sensor.class);
+        snapshot.addClass(String.class);
+        snapshot.save(file);
+
+        MetadataSnapshot restored = MetadataSnapshot.load(file);
+        assertAll(
+                () -> assertTrue(restored.getClassNames().contains(Sensor.class.getName())),
+                () -> assertFalse(restored.getClassNames().contains(String.class.getName())),
+                () -> assertEquals(1, restored.warmUp()),
+                () -> assertFalse(restored.isModified()));
+    }
+
+    @Test
+    void unusableFilesGiveEmptySnapshots() throws Exception {
+        Path missing = directory.resolve("missing.snapshot");
+        Path corrupted = directory.resolve("corrupted.snapshot");
+        Path foreign = directory.resolve("foreign.snapshot");
+
+        MetadataSnapshot snapshot = MetadataSnapshot.create();
+        snapshot.addClass(Sensor.class);
+        snapshot.save(foreign);
+        byte[] bytes = Files.readAllBytes(foreign);
+        Files.write(corrupted, Arrays.copyOf(bytes, bytes.length - 3));
+        // the fingerprint follows the magic, the format version and its length
+        bytes[10] = (byte) (bytes[10] == 'a' ? 'b' : 'a');
+        Files.write(foreign, bytes);
+
+        assertAll(
+                () -> assertFalse(MetadataSnapshot.load(missing).isRestored()),
+                () -> assertFalse(MetadataSnapshot.load(corrupted).isRestored()),
+                () -> assertFalse(MetadataSnapshot.load(foreign).isRestored()),
+                () -> assertTrue(MetadataSnapshot.load(foreign).getClassNames().isEmpty()),
+                () -> assertThrows(NullPointerException.class, () -> MetadataSnapshot.load(null)));
+    }
+
+    @Test
+    void corruptedCountsGiveEmptySnapshots() throws Exception {
+        Path empty = directory.resolve("empty.snapshot");
+        MetadataSnapshot.create().save(empty);
+        // the magic, the format version and the fingerprint precede the package count
+        byte[] header = Arrays.copyOf(Files.readAllBytes(empty), 4 + 4 + 2 + 64);
+
+        for (int count : new int[]{-1, Integer.MAX_VALUE}) {
+            Path file = directory.resolve("count" + count + ".snapshot");
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.write(header);
+                out.writeInt(1);
+                out.writeUTF(HIERARCHY_PACKAGE);
+                out.writeInt(count);
+            }
+            Files.write(file, bytes.toByteArray());
+            assertFalse(MetadataSnapshot.load(file).isRestored(), "count " + count);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package org.common.reflector.utils;
 import org.common.reflector.data.MethodAnnotatedClass;
 import org.common.reflector.data.Person;
 import org.common.reflector.data.SimpleAnnotatedEntry;
+import org.common.reflector.data.hierarchy.AbstractService;
+import org.common.reflector.data.hierarchy.Service;
 import org.common.reflector.util.TestConstant;
 import org.junit.jupiter.api.Test;
 import org.reflector.MethodUtils;
@@ -538,6 +540,16 @@ public class MethodUtilsTest {
         assertEquals("defaultMethod1", method.getName());
     }
 
+    /**
+     * Tests if findMethodByName retrieves abstract methods declared on transitively implemented interfaces.
+     */
+    @Test
+    void testFindMethodByNameOnTransitiveInterface() {
+        Method method = MethodUtils.findMethodByName(AbstractService.class, "name");
+        assertNotNull(method);
+        assertEquals(Service.class, method.getDeclaringClass());
+    }
+
     /**
      * Tests if findMethodByName returns null when the method name is not found.
      */
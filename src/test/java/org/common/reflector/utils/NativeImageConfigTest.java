@@ -0,0 +1,93 @@
+package org.common.reflector.utils;
+
+import org.common.reflector.data.CustomTestInvokeClass;
+import org.common.reflector.data.Person;
+import org.common.reflector.data.access.Sensor;
+import org.common.reflector.data.bean.BaseEntity;
+import org.common.reflector.data.bean.Customer;
+import org.common.reflector.util.TestConstant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.reflector.InvokeUtils;
+import org.reflector.MetadataSnapshot;
+import org.reflector.NativeImageConfig;
+import org.reflector.PackageUtils;
+import org.reflector.ReflectorConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NativeImageConfigTest {
+
+    private static final String HIERARCHY_PACKAGE = TestConstant.REFLECTOR_DATA_PACKAGE + ".hierarchy";
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void uninstall() {
+        ReflectorConfig.setMetadataSnapshot(null);
+    }
+
+    @Test
+    void recordedClassesAndScansAreRegistered() throws Exception {
+        MetadataSnapshot training = MetadataSnapshot.create();
+        ReflectorConfig.setMetadataSnapshot(training);
+        PackageUtils.getClassIndex(HIERARCHY_PACKAGE);
+        training.addClass(Sensor.class);
+        training.addClass(Customer.class);
+
+        NativeImageConfig config = NativeImageConfig.from(training);
+        String reflectConfig = config.toReflectConfig();
+        assertAll(
+                () -> assertTrue(config.getClassNames().contains(Sensor.class.getName())),
+                () -> assertTrue(config.getClassNames().contains(BaseEntity.class.getName())),
+                () -> assertFalse(config.getClassNames().contains(Object.class.getName())),
+                () -> assertTrue(config.getClassNames().stream().anyMatch(name -> name.startsWith(HIERARCHY_PACKAGE + "."))),
+                () -> assertTrue(reflectConfig.startsWith("[\n  {\n")),
+                () -> assertTrue(reflectConfig.contains("\"name\": \"" + Sensor.class.getName() + "\",\n    \"allDeclaredConstructors\": true")),
+                () -> assertEquals(config.getClassNames().size(), reflectConfig.split("\"allPublicMethods\": true").length - 1),
+                () -> assertTrue(config.getResourcePatterns().contains("\\Qorg/common/reflector/data/hierarchy\\E(/.*)?")),
+                () -> assertTrue(config.toResourceConfig().contains("{\"pattern\": \"\\\\Qorg/common/reflector/data/hierarchy\\\\E(/.*)?\"}")));
+    }
+
+    @Test
+    void classesInstantiatedByNameAreRegistered() {
+        MetadataSnapshot training = MetadataSnapshot.create();
+        ReflectorConfig.setMetadataSnapshot(training);
+        InvokeUtils.invokeInstance(Person.class.getName());
+        Object instance = InvokeUtils.invokeInstance(CustomTestInvokeClass.class.getName(), "value");
+        InvokeUtils.invokeSingleMethod(instance, "setKey", String.class, "key");
+
+        NativeImageConfig config = NativeImageConfig.from(training);
+        assertAll(
+                () -> assertTrue(config.getClassNames().contains(CustomTestInvokeClass.class.getName())),
+                () -> assertTrue(config.getClassNames().contains(Person.class.getName())),
+                () -> assertTrue(config.toReflectConfig().contains("\"name\": \"" + CustomTestInvokeClass.class.getName()
+                        + "\",\n    \"allDeclaredConstructors\": true")));
+    }
+
+    @Test
+    void writesBothFiles() throws Exception {
+        MetadataSnapshot training = MetadataSnapshot.create();
+        training.addClass(Sensor.class);
+        NativeImageConfig config = NativeImageConfig.from(training);
+        Path target = directory.resolve("META-INF/native-image/test");
+        config.writeTo(target);
+        assertAll(
+                () -> assertEquals(config.toReflectConfig(),
+                        new String(Files.readAllBytes(target.resolve(NativeImageConfig.REFLECT_CONFIG_FILE)), StandardCharsets.UTF_8)),
+                () -> assertEquals("{\n  \"resources\": {\n    \"includes\": [\n    ]\n  }\n}\n",
+                        new String(Files.readAllBytes(target.resolve(NativeImageConfig.RESOURCE_CONFIG_FILE)), StandardCharsets.UTF_8)),
+                () -> assertThrows(NullPointerException.class, () -> NativeImageConfig.from(null)),
+                () -> assertThrows(NullPointerException.class, () -> config.writeTo(null)));
+    }
+}
@@ -0,0 +1,105 @@
+package org.common.reflector.utils;
+
+import org.common.reflector.data.diff.Address;
+import org.common.reflector.data.diff.Item;
+import org.common.reflector.data.diff.Order;
+import org.junit.jupiter.api.Test;
+import org.reflector.FieldChange;
+import org.reflector.ObjectDiff;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ObjectDiffTest {
+
+    @Test
+    public void testEqualSnapshotsHaveNoChanges() {
+        assertTrue(ObjectDiff.compare(order(), order()).isEmpty());
+        assertFalse(ObjectDiff.hasChanges(order(), order()));
+    }
+
+    @Test
+    public void testChangedFieldPaths() {
+        Order before = order();
+        Order after = order();
+        after.setQuantity(3);
+        after.getAddress().setCity("Berlin");
+        after.getItems().get(1).setPrice(9.5);
+        after.getAttributes().put("gift", "yes");
+        after.getAttributes().remove("channel");
+        after.setDirty(true);
+
+        List<FieldChange> changes = ObjectDiff.compare(before, after);
+        assertEquals(paths("quantity", "address.city", "items[1].price", "attributes[channel]", "attributes[gift]"), paths(changes));
+
+        assertEquals(2, changes.get(0).getOldValue());
+        assertEquals(3, changes.get(0).getNewValue());
+        assertEquals("Paris", changes.get(1).getOldValue());
+        assertEquals("Berlin", changes.get(1).getNewValue());
+        assertEquals("web", changes.get(3).getOldValue());
+        assertNull(changes.get(3).getNewValue());
+        assertEquals("items[1].price: 4.0 -> 9.5", changes.get(2).toString());
+    }
+
+    @Test
+    public void testAddedElementsAndReplacedObjects() {
+        Order before = order();
+        Order after = order();
+        after.getItems().add(new Item("c", 1.0));
+
+        List<FieldChange> changes = ObjectDiff.compare(before, after);
+        assertEquals(paths("items[2]"), paths(changes));
+        assertNull(changes.get(0).getOldValue());
+
+        Order moved = new Order("1", 2, null);
+        assertEquals(paths("address", "items[0]", "items[1]", "attributes[channel]"), paths(ObjectDiff.compare(before, moved)));
+    }
+
+    @Test
+    public void testCyclicGraphs() {
+        Order before = order();
+        before.setParent(before);
+        Order after = order();
+        after.setParent(after);
+        assertTrue(ObjectDiff.compare(before, after).isEmpty());
+
+        after.setQuantity(5);
+        assertEquals(paths("quantity"), paths(ObjectDiff.compare(before, after)));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(NullPointerException.class, () -> ObjectDiff.compare(order(), null));
+        assertThrows(IllegalArgumentException.class, () -> ObjectDiff.compare(order(), new Address("Paris", "Main")));
+    }
+
+    private static Order order() {
+        Order order = new Order("1", 2, new Address("Paris", "Main"));
+        order.getItems().add(new Item("a", 2.0));
+        order.getItems().add(new Item("b", 4.0));
+        order.getAttributes().put("channel", "web");
+        return order;
+    }
+
+    private static List<String> paths(final String... paths) {
+        List<String> result = new ArrayList<>();
+        for (String path : paths) {
+            result.add(path);
+        }
+        return result;
+    }
+
+    private static List<String> paths(final List<FieldChange> changes) {
+        List<String> result = new ArrayList<>();
+        for (FieldChange change : changes) {
+            result.add(change.getPath());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,122 @@
+package org.common.reflector.utils;
+
+import org.common.reflector.data.bean.BaseEntity;
+import org.common.reflector.data.bean.Customer;
+import org.common.reflector.data.hierarchy.Service;
+import org.common.reflector.data.mapping.UnavailableDto;
+import org.junit.jupiter.api.Test;
+import org.reflector.ObjectMapping;
+import org.reflector.exception.FieldAccessException;
+import org.reflector.exception.InstanceInvocationException;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ObjectMappingTest {
+
+    @Test
+    public void testFieldNamesListOwnFieldsFirst() {
+        assertEquals(Arrays.asList("name", "visits", "URL", "region", "id", "modified"),
+                ObjectMapping.getFieldNames(Customer.class));
+    }
+
+    @Test
+    public void testToMap() {
+        Customer customer = new Customer();
+        customer.setName("John");
+        customer.setId(7L);
+
+        Map<String, Object> map = ObjectMapping.toMap(customer);
+        assertEquals(Arrays.asList("name", "visits", "URL", "region", "id", "modified"), Arrays.asList(map.keySet().toArray()));
+        assertEquals("John", map.get("name"));
+        assertEquals(0, map.get("visits"));
+        assertNull(map.get("URL"));
+        assertEquals("EU", map.get("region"));
+        assertEquals(7L, map.get("id"));
+        assertEquals(true, map.get("modified"));
+    }
+
+    @Test
+    public void testFromMapIgnoresUnknownKeysAndFinalFields() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("name", "Jane");
+        map.put("visits", 3);
+        map.put("region", "US");
+        map.put("unknown", "value");
+
+        Customer customer = ObjectMapping.fromMap(map, Customer.class);
+        assertEquals("Jane", customer.getName());
+        assertEquals(3, customer.getVisits());
+        assertEquals("EU", ObjectMapping.toMap(customer).get("region"));
+        assertNull(customer.getId());
+    }
+
+    @Test
+    public void testRoundTrip() {
+        Customer customer = new Customer();
+        customer.setName("John");
+        customer.setURL("http://example.com");
+
+        Customer restored = ObjectMapping.fromMap(ObjectMapping.toMap(customer), Customer.class);
+        assertEquals(ObjectMapping.toMap(customer), ObjectMapping.toMap(restored));
+    }
+
+    @Test
+    public void testArrayRoundTrip() {
+        Customer customer = new Customer();
+        customer.setName("John");
+        customer.setId(1L);
+
+        Object[] values = ObjectMapping.toArray(customer);
+        assertArrayEquals(new Object[]{"John", 0, null, "EU", 1L, true}, values);
+
+        Customer restored = ObjectMapping.fromArray(values, Customer.class);
+        assertArrayEquals(values, ObjectMapping.toArray(restored));
+        assertThrows(IllegalArgumentException.class, () -> ObjectMapping.fromArray(new Object[1], Customer.class));
+    }
+
+    @Test
+    public void testBatchConversion() {
+        Customer first = new Customer();
+        first.setName("A");
+        BaseEntity second = new BaseEntity();
+        second.setId(2L);
+
+        List<Map<String, Object>> maps = ObjectMapping.toMaps(Arrays.asList(first, second));
+        assertEquals("A", maps.get(0).get("name"));
+        assertEquals(Arrays.asList("id", "modified"), Arrays.asList(maps.get(1).keySet().toArray()));
+        assertEquals(2L, maps.get(1).get("id"));
+
+        List<BaseEntity> entities = ObjectMapping.fromMaps(maps.subList(1, 2), BaseEntity.class);
+        assertEquals(2L, entities.get(0).getId());
+    }
+
+    @Test
+    public void testInvalidValues() {
+        Map<String, Object> wrongType = Collections.singletonMap("visits", "three");
+        assertThrows(FieldAccessException.class, () -> ObjectMapping.fromMap(wrongType, Customer.class));
+
+        Map<String, Object> nullPrimitive = Collections.singletonMap("visits", null);
+        assertThrows(FieldAccessException.class, () -> ObjectMapping.fromMap(nullPrimitive, Customer.class));
+
+        assertThrows(InstanceInvocationException.class, () -> ObjectMapping.fromMap(Collections.emptyMap(), Service.class));
+        assertThrows(NullPointerException.class, () -> ObjectMapping.toMap(null));
+    }
+
+    @Test
+    public void testConstructorFailureKeepsCause() {
+        InstanceInvocationException e = assertThrows(InstanceInvocationException.class,
+                () -> ObjectMapping.fromMap(Collections.emptyMap(), UnavailableDto.class));
+        assertTrue(e.getCause() instanceof IOException);
+    }
+}
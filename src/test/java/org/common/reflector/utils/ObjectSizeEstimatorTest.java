@@ -0,0 +1,66 @@
+package org.common.reflector.utils;
+
+import org.common.reflector.data.diff.Address;
+import org.common.reflector.data.diff.Item;
+import org.common.reflector.data.diff.Order;
+import org.junit.jupiter.api.Test;
+import org.reflector.ObjectSizeEstimator;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ObjectSizeEstimatorTest {
+
+    @Test
+    public void testInstanceSizeFromFieldTypes() {
+        ObjectSizeEstimator estimator = ObjectSizeEstimator.getDefault();
+        assertEquals(24, estimator.instanceSize(Item.class));
+        assertEquals(24, estimator.instanceSize(Address.class));
+        assertEquals(40, estimator.instanceSize(Order.class));
+        assertEquals(32, ObjectSizeEstimator.withLayout(16, 24, 8, 8).instanceSize(Item.class));
+        assertThrows(IllegalArgumentException.class, () -> estimator.instanceSize(int[].class));
+    }
+
+    @Test
+    public void testShallowSizeOfArrays() {
+        assertEquals(56, ObjectSizeEstimator.shallowSizeOf(new int[10]));
+        assertEquals(16, ObjectSizeEstimator.shallowSizeOf(new long[0]));
+        assertEquals(24, ObjectSizeEstimator.shallowSizeOf(new Object[2]));
+        assertEquals(0, ObjectSizeEstimator.shallowSizeOf(null));
+    }
+
+    @Test
+    public void testRetainedSizeCountsSharedObjectsOnce() {
+        Address first = new Address(null, null);
+        Address second = new Address(null, null);
+        assertEquals(32 + 2 * 24, ObjectSizeEstimator.retainedSizeOf(new Object[]{first, first, second}));
+        assertEquals(24, ObjectSizeEstimator.retainedSizeOf(new Object[]{Thread.State.NEW, String.class}));
+    }
+
+    @Test
+    public void testRetainedSizeOfCyclicGraph() {
+        Order order = new Order(null, 1, null);
+        order.setParent(order);
+        order.getItems().add(new Item(null, 1.0));
+        long expected = ObjectSizeEstimator.shallowSizeOf(order) + ObjectSizeEstimator.retainedSizeOf(order.getItems())
+                + ObjectSizeEstimator.retainedSizeOf(order.getAttributes());
+        assertEquals(expected, ObjectSizeEstimator.retainedSizeOf(order));
+    }
+
+    @Test
+    public void testLargeArraysAreSampled() {
+        Object[] addresses = new Object[2000];
+        for (int i = 0; i < addresses.length; i++) {
+            addresses[i] = new Address(null, null);
+        }
+        long exact = ObjectSizeEstimator.retainedSizeOf(addresses);
+        assertEquals(16 + 2000 * 4 + 2000 * 24, exact);
+        assertEquals(exact, ObjectSizeEstimator.getDefault().withArraySampling(100, 10).retainedSize(addresses));
+
+        Object[] sparse = Arrays.copyOf(addresses, 4000);
+        assertEquals(16 + 4000 * 4 + 2000 * 24, ObjectSizeEstimator.getDefault().withArraySampling(100, 10).retainedSize(sparse));
+        assertThrows(IllegalArgumentException.class, () -> ObjectSizeEstimator.getDefault().withArraySampling(10, 20));
+    }
+}
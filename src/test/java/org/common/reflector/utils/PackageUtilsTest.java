@@ -1,16 +1,23 @@
 package org.common.reflector.utils;
 
+import org.common.reflector.data.access.Sensor;
 import org.common.reflector.data.annotation.ClassAnnotation;
 import org.common.reflector.data.annotation.CustomMethodAnnotation;
 import org.common.reflector.util.TestConstant;
 import org.junit.jupiter.api.Test;
+import org.reflector.ClassIndex;
 import org.reflector.PackageUtils;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class PackageUtilsTest {
@@ -33,4 +40,19 @@ public class PackageUtilsTest {
         int expectedAnnotationClassesQuantity = 0;
         assertEquals(expectedAnnotationClassesQuantity, classes.size());
     }
+
+    @Test
+    public void scanWithClassLoaderTest() throws Exception {
+        String packageName = Sensor.class.getPackage().getName();
+        URL classes = Sensor.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes}, null)) {
+            List<Class<?>> scanned = PackageUtils.getClassesByPackage(packageName, loader);
+            ClassIndex index = PackageUtils.getClassIndex(packageName, loader);
+            assertAll(
+                    () -> assertFalse(scanned.isEmpty()),
+                    () -> assertTrue(scanned.stream().allMatch(clazz -> clazz.getClassLoader() == loader)),
+                    () -> assertTrue(index.getClassNames().contains(Sensor.class.getName())),
+                    () -> assertThrows(NullPointerException.class, () -> PackageUtils.getClassIndex(packageName, null)));
+        }
+    }
 }
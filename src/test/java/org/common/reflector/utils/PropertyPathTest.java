@@ -0,0 +1,101 @@
+package org.common.reflector.utils;
+
+import org.common.reflector.data.path.Order;
+import org.junit.jupiter.api.Test;
+import org.reflector.PropertyPath;
+import org.reflector.exception.PropertyAccessException;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PropertyPathTest {
+
+    private static final PropertyPath CITY = PropertyPath.compile("customer.address.city");
+
+    private static Order order(String city) {
+        Order order = new Order();
+        Order.Customer customer = new Order.Customer();
+        customer.setAddress(new Order.Address(city));
+        order.setCustomer(customer);
+        order.getItems().add(new Order.Item("A-1"));
+        order.getItems().add(new Order.DigitalItem("D-2"));
+        order.getAttributes().put("gift.wrap", "yes");
+        order.getAttributes().put("7", "seven");
+        order.setQuantities(new int[]{3, 5});
+        return order;
+    }
+
+    @Test
+    void readNestedProperties() {
+        assertAll(
+                () -> assertEquals("Lyon", CITY.get(order("Lyon"))),
+                () -> assertEquals("Oslo", CITY.get(order("Oslo"))),
+                () -> assertEquals("customer.address.city", CITY.getPath()));
+    }
+
+    @Test
+    void readIndexedAndKeyedSegments() {
+        Order order = order("Lyon");
+        assertAll(
+                () -> assertEquals("A-1", PropertyPath.compile("items[0].sku").get(order)),
+                () -> assertEquals("D-2", PropertyPath.compile("items[1].sku").get(order)),
+                () -> assertEquals(5, PropertyPath.compile("quantities[1]").get(order)),
+                () -> assertEquals("yes", PropertyPath.compile("attributes['gift.wrap']").get(order)),
+                () -> assertEquals("yes", PropertyPath.compile("attributes[\"gift.wrap\"]").get(order)),
+                () -> assertEquals("seven", PropertyPath.compile("attributes[7]").get(order)),
+                () -> assertEquals("Lyon", PropertyPath.compile("[0].address.city")
+                        .get(Collections.singletonList(order.getCustomer()))),
+                () -> assertEquals("Lyon", PropertyPath.compile("order.customer.address.city")
+                        .get(Collections.singletonMap("order", order))));
+    }
+
+    @Test
+    void readShortCircuitsToNull() {
+        Order order = order("Lyon");
+        order.getCustomer().setAddress(null);
+        assertAll(
+                () -> assertNull(CITY.get(order)),
+                () -> assertNull(CITY.get(null)),
+                () -> assertNull(CITY.get(new Order())),
+                () -> assertNull(PropertyPath.compile("items[5].sku").get(order)),
+                () -> assertNull(PropertyPath.compile("quantities[2]").get(order)),
+                () -> assertNull(PropertyPath.compile("attributes[missing]").get(order)));
+    }
+
+    @Test
+    void writeNestedProperties() {
+        Order order = order("Lyon");
+        CITY.set(order, "Porto");
+        PropertyPath.compile("attributes[priority]").set(order, "high");
+        PropertyPath.compile("quantities[0]").set(order, 9);
+        PropertyPath.compile("items[0]").set(order, new Order.Item("B-3"));
+        assertAll(
+                () -> assertEquals("Porto", order.getCustomer().getAddress().getCity()),
+                () -> assertEquals("high", order.getAttributes().get("priority")),
+                () -> assertEquals(9, order.getQuantities()[0]),
+                () -> assertEquals("B-3", order.getItems().get(0).getSku()),
+                () -> assertThrows(PropertyAccessException.class, () -> CITY.set(new Order(), "Porto")),
+                () -> assertThrows(NullPointerException.class, () -> CITY.set(null, "Porto")));
+    }
+
+    @Test
+    void invalidPathsAreRejected() {
+        Order order = order("Lyon");
+        assertAll(
+                () -> assertThrows(NullPointerException.class, () -> PropertyPath.compile(null)),
+                () -> assertThrows(IllegalArgumentException.class, () -> PropertyPath.compile("")),
+                () -> assertThrows(IllegalArgumentException.class, () -> PropertyPath.compile("customer..city")),
+                () -> assertThrows(IllegalArgumentException.class, () -> PropertyPath.compile("customer.")),
+                () -> assertThrows(IllegalArgumentException.class, () -> PropertyPath.compile("items[")),
+                () -> assertThrows(IllegalArgumentException.class, () -> PropertyPath.compile("items[]")),
+                () -> assertThrows(IllegalArgumentException.class, () -> PropertyPath.compile("attributes['key]")),
+                () -> assertThrows(IllegalArgumentException.class, () -> PropertyPath.compile("items[0]sku")),
+                () -> assertThrows(PropertyAccessException.class, () -> PropertyPath.compile("customer.missing").get(order)),
+                () -> assertThrows(PropertyAccessException.class, () -> PropertyPath.compile("customer[0]").get(order)),
+                () -> assertThrows(PropertyAccessException.class, () -> PropertyPath.compile("customer['key']").get(order)));
+    }
+}
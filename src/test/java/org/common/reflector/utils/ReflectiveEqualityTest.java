@@ -0,0 +1,96 @@
+package org.common.reflector.utils;
+
+import org.common.reflector.data.equality.Node;
+import org.junit.jupiter.api.Test;
+import org.reflector.ReflectiveEquality;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReflectiveEqualityTest {
+
+    @Test
+    public void testEqualStructures() {
+        Node first = tree();
+        Node second = tree();
+
+        assertTrue(ReflectiveEquality.equals(first, second));
+        assertEquals(ReflectiveEquality.hashCode(first), ReflectiveEquality.hashCode(second));
+    }
+
+    @Test
+    public void testDifferencesAreDetected() {
+        Node first = tree();
+
+        Node weight = tree();
+        weight.getChildren().get(0).getChildren().add(new Node("leaf", 1));
+        assertFalse(ReflectiveEquality.equals(first, weight));
+
+        Node score = tree();
+        score.setScore(0.5);
+        assertFalse(ReflectiveEquality.equals(first, score));
+        assertNotEquals(ReflectiveEquality.hashCode(first), ReflectiveEquality.hashCode(score));
+
+        Node codes = tree();
+        codes.setCodes(new int[]{1, 2, 4});
+        assertFalse(ReflectiveEquality.equals(first, codes));
+
+        assertFalse(ReflectiveEquality.equals(first, null));
+        assertFalse(ReflectiveEquality.equals(first, "root"));
+    }
+
+    @Test
+    public void testExcludedAndTransientFieldsAreIgnored() {
+        Node first = tree();
+        first.setVersion(1L);
+        first.setCachedLabel("a");
+        Node second = tree();
+        second.setVersion(2L);
+        second.setCachedLabel("b");
+
+        assertTrue(ReflectiveEquality.equals(first, second));
+        assertEquals(ReflectiveEquality.hashCode(first), ReflectiveEquality.hashCode(second));
+    }
+
+    @Test
+    public void testCyclicGraphs() {
+        Node first = new Node("a", 1);
+        Node firstPeer = new Node("b", 2);
+        first.setNext(firstPeer);
+        firstPeer.setNext(first);
+
+        Node second = new Node("a", 1);
+        Node secondPeer = new Node("b", 2);
+        second.setNext(secondPeer);
+        secondPeer.setNext(second);
+
+        assertTrue(ReflectiveEquality.equals(first, second));
+        assertEquals(ReflectiveEquality.hashCode(first), ReflectiveEquality.hashCode(second));
+
+        secondPeer.setScore(1.0);
+        assertFalse(ReflectiveEquality.equals(first, second));
+    }
+
+    @Test
+    public void testJdkValuesUseTheirOwnEquality() {
+        assertTrue(ReflectiveEquality.equals("text", new String("text")));
+        assertTrue(ReflectiveEquality.equals(Collections.singletonMap("key", tree()), Collections.singletonMap("key", tree())));
+        assertTrue(ReflectiveEquality.equals(new Node[]{tree()}, new Node[]{tree()}));
+        assertEquals("text".hashCode(), ReflectiveEquality.hashCode("text"));
+        assertEquals(0, ReflectiveEquality.hashCode(null));
+    }
+
+    private static Node tree() {
+        Node root = new Node("root", 10);
+        root.setCodes(new int[]{1, 2, 3});
+        Node child = new Node("child", 5);
+        child.setScore(Double.NaN);
+        root.getChildren().add(child);
+        root.setNext(child);
+        return root;
+    }
+}
@@ -0,0 +1,79 @@
+package org.common.reflector.utils;
+
+import org.common.reflector.data.diff.Address;
+import org.common.reflector.data.diff.Item;
+import org.common.reflector.data.diff.Order;
+import org.common.reflector.data.equality.Node;
+import org.common.reflector.data.tostring.Account;
+import org.common.reflector.data.tostring.Holder;
+import org.junit.jupiter.api.Test;
+import org.reflector.ReflectiveToString;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ReflectiveToStringTest {
+
+    @Test
+    public void testRendersFieldsInDeclarationOrder() {
+        Order order = new Order("1", 2, new Address("Paris", "Main"));
+        order.getItems().add(new Item("a", 2.5));
+        order.getAttributes().put("channel", "web");
+
+        assertEquals("Order{id=1, quantity=2, address=Address{city=Paris, street=Main}, items=[Item{sku=a, price=2.5}], "
+                + "attributes={channel=web}, parent=null, dirty=false}", ReflectiveToString.toString(order));
+    }
+
+    @Test
+    public void testNestedRenderFromToString() throws IOException {
+        Account account = new Account("a-1", new Holder("Ann"));
+        String expected = "Account{id=a-1, holder=Optional[Holder{name=Ann}]}";
+
+        assertEquals(expected, ReflectiveToString.toString(account));
+        assertEquals(expected, ReflectiveToString.withLimits(2, 2).append(new StringWriter(), account).toString());
+    }
+
+    @Test
+    public void testDepthAndElementLimits() {
+        Order order = new Order("1", 2, new Address("Paris", "Main"));
+        for (int i = 0; i < 4; i++) {
+            order.getItems().add(new Item("i" + i, i));
+        }
+        order.setParent(order);
+
+        ReflectiveToString renderer = ReflectiveToString.withLimits(1, 2);
+        assertEquals("Order{id=1, quantity=2, address=Address{city=Paris, street=Main}, "
+                        + "items=[Item{...}, Item{...}, ...2 more], attributes={}, parent=Order{id=1, quantity=2, address=Address{...}, "
+                        + "items=[...], attributes={...}, parent=Order{...}, dirty=false}, dirty=false}",
+                renderer.format(order));
+    }
+
+    @Test
+    public void testPrimitiveArraysAndNulls() {
+        Node node = new Node("n", 3);
+        node.setCodes(new int[]{1, 2, 3, 4});
+
+        String rendered = ReflectiveToString.withLimits(1, 3).format(node);
+        assertEquals("Node{weight=3, score=0.0, name=n, codes=[1, 2, 3, ...1 more], next=null, children=[], version=0, cachedLabel=null}",
+                rendered);
+        assertEquals("null", ReflectiveToString.toString(null));
+        assertEquals("text", ReflectiveToString.toString("text"));
+    }
+
+    @Test
+    public void testAppendTargets() throws IOException {
+        StringBuilder builder = new StringBuilder("item: ");
+        assertSame(builder, ReflectiveToString.withLimits(1, 1).append(builder, new Item("a", 1.0)));
+        assertEquals("item: Item{sku=a, price=1.0}", builder.toString());
+
+        StringWriter writer = new StringWriter();
+        ReflectiveToString.withLimits(1, 1).append(writer, new Item("b", 2.0));
+        assertEquals("Item{sku=b, price=2.0}", writer.toString());
+
+        assertThrows(IllegalArgumentException.class, () -> ReflectiveToString.withLimits(-1, 1));
+    }
+}
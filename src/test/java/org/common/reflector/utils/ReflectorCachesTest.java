@@ -0,0 +1,246 @@
+package org.common.reflector.utils;
+
+import org.common.reflector.data.access.Sensor;
+import org.common.reflector.data.dispatch.AuditHandler;
+import org.common.reflector.data.dispatch.EventHandler;
+import org.common.reflector.data.dispatch.OrderEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reflector.AnnotatedDispatcher;
+import org.reflector.CacheStats;
+import org.reflector.EvictionPolicy;
+import org.reflector.FieldUtils;
+import org.reflector.ObjectSizeEstimator;
+import org.reflector.ReflectorCache;
+import org.reflector.ReflectorCaches;
+import org.reflector.TypeMapper;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReflectorCachesTest {
+
+    private static final Class<?>[] CLASSES = {
+            String.class, Integer.class, Long.class, Short.class, Byte.class, Double.class, Float.class,
+            Character.class, Boolean.class, Thread.class, StringBuilder.class, Number.class
+    };
+
+    @AfterEach
+    void resetCaches() {
+        ReflectorCaches.setMaximumSize(ReflectorCaches.DEFAULT_MAXIMUM_SIZE);
+        ReflectorCaches.setEvictionPolicy(EvictionPolicy.LRU);
+    }
+
+    @Test
+    void cachesAreRegisteredOnFirstUse() {
+        FieldUtils.findField(Sensor.class, "label");
+        ReflectorCache<?, ?> cache = fieldIndexes();
+        long hits = cache.getStats().getHitCount();
+        FieldUtils.findField(Sensor.class, "label");
+        assertAll(
+                () -> assertEquals(ReflectorCaches.FIELD_INDEXES, cache.getName()),
+                () -> assertTrue(ReflectorCaches.getCaches().contains(cache)),
+                () -> assertEquals(hits + 1, cache.getStats().getHitCount()),
+                () -> assertEquals(ReflectorCaches.DEFAULT_MAXIMUM_SIZE, cache.getMaximumSize()),
+                () -> assertEquals(EvictionPolicy.LRU, cache.getEvictionPolicy()),
+                () -> assertTrue(cache.getStats().getHitRate() > 0.0),
+                () -> assertThrows(NullPointerException.class, () -> ReflectorCaches.findCache(null)),
+                () -> assertThrows(IllegalArgumentException.class, () -> ReflectorCaches.setMaximumSize(-1)),
+                () -> assertThrows(NullPointerException.class, () -> ReflectorCaches.setEvictionPolicy(null)));
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvicted() {
+        FieldUtils.findField(Sensor.class, "label");
+        ReflectorCaches.invalidateAll();
+        ReflectorCaches.setMaximumSize(ReflectorCaches.FIELD_INDEXES, 4);
+        ReflectorCache<?, ?> cache = fieldIndexes();
+        for (int i = 0; i < 4; i++) {
+            FieldUtils.findField(CLASSES[i], "value");
+        }
+        FieldUtils.findField(CLASSES[0], "value");
+        long evictions = cache.getStats().getEvictionCount();
+        FieldUtils.findField(CLASSES[4], "value");
+
+        CacheStats before = cache.getStats();
+        FieldUtils.findField(CLASSES[0], "value");
+        CacheStats afterHit = cache.getStats();
+        FieldUtils.findField(CLASSES[1], "value");
+        CacheStats afterMiss = cache.getStats();
+        assertAll(
+                () -> assertEquals(4, cache.size()),
+                () -> assertEquals(evictions + 1, before.getEvictionCount()),
+                () -> assertEquals(before.getHitCount() + 1, afterHit.getHitCount()),
+                () -> assertEquals(afterHit.getMissCount() + 1, afterMiss.getMissCount()));
+    }
+
+    @Test
+    void frequentlyUsedEntriesSurviveScans() {
+        FieldUtils.findField(Sensor.class, "label");
+        ReflectorCaches.invalidateAll();
+        ReflectorCaches.setEvictionPolicy(ReflectorCaches.FIELD_INDEXES, EvictionPolicy.TINY_LFU);
+        ReflectorCaches.setMaximumSize(ReflectorCaches.FIELD_INDEXES, 4);
+        ReflectorCache<?, ?> cache = fieldIndexes();
+        for (int i = 1; i < CLASSES.length; i++) {
+            FieldUtils.findField(Sensor.class, "label");
+            FieldUtils.findField(CLASSES[i], "value");
+        }
+
+        long misses = cache.getStats().getMissCount();
+        FieldUtils.findField(Sensor.class, "label");
+        long sensorMisses = cache.getStats().getMissCount() - misses;
+        for (int i = 3; i > 0; i--) {
+            FieldUtils.findField(CLASSES[i], "value");
+        }
+        long scanMisses = cache.getStats().getMissCount() - misses - sensorMisses;
+        assertAll(
+                () -> assertEquals(EvictionPolicy.TINY_LFU, cache.getEvictionPolicy()),
+                () -> assertTrue(cache.size() <= 4),
+                () -> assertEquals(0, sensorMisses),
+                () -> assertTrue(scanMisses < 3, "the first classes of the scan were all displaced"));
+    }
+
+    @Test
+    void newEntriesUsedAgainAreAdmitted() {
+        FieldUtils.findField(Sensor.class, "label");
+        ReflectorCaches.invalidateAll();
+        ReflectorCaches.setEvictionPolicy(ReflectorCaches.FIELD_INDEXES, EvictionPolicy.TINY_LFU);
+        ReflectorCaches.setMaximumSize(ReflectorCaches.FIELD_INDEXES, 4);
+        ReflectorCache<?, ?> cache = fieldIndexes();
+        for (int i = 0; i < 4; i++) {
+            FieldUtils.findField(CLASSES[i], "value");
+        }
+        for (int i = 0; i < 4; i++) {
+            FieldUtils.findField(Sensor.class, "label");
+        }
+
+        long misses = cache.getStats().getMissCount();
+        FieldUtils.findField(Sensor.class, "label");
+        assertAll(
+                () -> assertEquals(4, cache.size()),
+                () -> assertEquals(misses, cache.getStats().getMissCount()));
+    }
+
+    @Test
+    void dispatchRoutesAndObjectLayoutsAreCached() {
+        AnnotatedDispatcher dispatcher = AnnotatedDispatcher.create(EventHandler.class, new AuditHandler());
+        dispatcher.dispatch(new OrderEvent("1"));
+        ObjectSizeEstimator.shallowSizeOf(new Sensor());
+        ReflectorCache<?, ?> routes = cache(ReflectorCaches.EVENT_ROUTES);
+        ReflectorCache<?, ?> layouts = cache(ReflectorCaches.OBJECT_LAYOUTS);
+
+        ReflectorCaches.invalidate(OrderEvent.class);
+        ReflectorCaches.invalidate(Sensor.class);
+        long routeMisses = routes.getStats().getMissCount();
+        long layoutMisses = layouts.getStats().getMissCount();
+        dispatcher.dispatch(new OrderEvent("2"));
+        AnnotatedDispatcher.create(EventHandler.class, new AuditHandler()).dispatch(new OrderEvent("3"));
+        ObjectSizeEstimator.shallowSizeOf(new Sensor());
+        ObjectSizeEstimator.withLayout(16, 24, 8, 8).shallowSize(new Sensor());
+        assertAll(
+                () -> assertEquals(routeMisses + 1, routes.getStats().getMissCount()),
+                () -> assertEquals(layoutMisses + 1, layouts.getStats().getMissCount()));
+    }
+
+    @Test
+    void invalidatedEntriesAreComputedAgain() {
+        FieldUtils.findField(Sensor.class, "label");
+        ReflectorCache<?, ?> cache = fieldIndexes();
+        ReflectorCaches.invalidateAll();
+        long misses = cache.getStats().getMissCount();
+        FieldUtils.findField(Sensor.class, "label");
+        assertAll(
+                () -> assertEquals(1, cache.size()),
+                () -> assertEquals(misses + 1, cache.getStats().getMissCount()),
+                () -> assertEquals(Sensor.class, FieldUtils.findField(Sensor.class, "label").get().getDeclaringClass()));
+    }
+
+    @Test
+    void invalidatedClassIsComputedAgain() {
+        FieldUtils.findField(Sensor.class, "label");
+        ReflectorCache<?, ?> cache = fieldIndexes();
+        long misses = cache.getStats().getMissCount();
+        ReflectorCaches.invalidate(Sensor.class);
+        FieldUtils.findField(Sensor.class, "label");
+        assertAll(
+                () -> assertEquals(misses + 1, cache.getStats().getMissCount()),
+                () -> assertThrows(NullPointerException.class, () -> ReflectorCaches.invalidate((Class<?>) null)),
+                () -> assertThrows(NullPointerException.class, () -> ReflectorCaches.invalidate((ClassLoader) null)));
+    }
+
+    @Test
+    void classLoaderEntriesAreInvalidated() throws Exception {
+        try (URLClassLoader loader = isolatedLoader()) {
+            Class<?> isolated = loader.loadClass(Sensor.class.getName());
+            FieldUtils.findField(isolated, "label");
+            TypeMapper<?, ?> mapper = TypeMapper.of(Sensor.class, isolated);
+            ReflectorCache<?, ?> cache = fieldIndexes();
+            int size = cache.size();
+            assertSame(mapper, TypeMapper.of(Sensor.class, isolated));
+
+            ReflectorCaches.invalidate(loader);
+            assertAll(
+                    () -> assertNotSame(Sensor.class, isolated),
+                    () -> assertEquals(size - 1, cache.size()),
+                    () -> assertNotSame(mapper, TypeMapper.of(Sensor.class, isolated)));
+        }
+    }
+
+    @Test
+    void unreachableClassLoadersAreReleased() throws Exception {
+        WeakReference<ClassLoader> reference = useIsolatedLoader();
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull(reference.get());
+    }
+
+    private static WeakReference<ClassLoader> useIsolatedLoader() throws Exception {
+        try (URLClassLoader loader = isolatedLoader()) {
+            Class<?> isolated = loader.loadClass(Sensor.class.getName());
+            FieldUtils.findField(isolated, "label");
+            TypeMapper.of(Sensor.class, isolated);
+            TypeMapper.of(isolated, Sensor.class);
+            return new WeakReference<>(loader);
+        }
+    }
+
+    /**
+     * @return a child of the test class loader that defines its own copies of the fixture classes, as a plugin
+     * class loader would
+     */
+    private static URLClassLoader isolatedLoader() {
+        URL classes = Sensor.class.getProtectionDomain().getCodeSource().getLocation();
+        String fixturePackage = Sensor.class.getPackage().getName() + ".";
+        return new URLClassLoader(new URL[]{classes}, ReflectorCachesTest.class.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+                if (!name.startsWith(fixturePackage)) {
+                    return super.loadClass(name, resolve);
+                }
+                synchronized (getClassLoadingLock(name)) {
+                    Class<?> loaded = findLoadedClass(name);
+                    return (loaded != null) ? loaded : findClass(name);
+                }
+            }
+        };
+    }
+
+    private static ReflectorCache<?, ?> fieldIndexes() {
+        return cache(ReflectorCaches.FIELD_INDEXES);
+    }
+
+    private static ReflectorCache<?, ?> cache(final String name) {
+        return ReflectorCaches.findCache(name).orElseThrow(() -> new AssertionError("Cache " + name + " was not created"));
+    }
+}
@@ -0,0 +1,102 @@
+package org.common.reflector.utils;
+
+import org.common.reflector.data.mapping.CustomerDto;
+import org.common.reflector.data.mapping.CustomerEntity;
+import org.common.reflector.data.hierarchy.Service;
+import org.common.reflector.data.mapping.UnavailableDto;
+import org.junit.jupiter.api.Test;
+import org.reflector.TypeMapper;
+import org.reflector.exception.InstanceInvocationException;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TypeMapperTest {
+
+    @Test
+    public void testMapperIsCachedPerTypePair() {
+        assertSame(TypeMapper.of(CustomerEntity.class, CustomerDto.class), TypeMapper.of(CustomerEntity.class, CustomerDto.class));
+    }
+
+    @Test
+    public void testMatchesByNameAndAnnotation() {
+        assertEquals(Arrays.asList("id", "name", "visits", "score", "email", "region"),
+                TypeMapper.of(CustomerEntity.class, CustomerDto.class).getMappedNames());
+        assertEquals(Arrays.asList("id", "name", "score", "email", "ratio"),
+                TypeMapper.of(CustomerDto.class, CustomerEntity.class).getMappedNames());
+    }
+
+    @Test
+    public void testEntityToDto() {
+        CustomerEntity entity = entity();
+        CustomerDto dto = TypeMapper.of(CustomerEntity.class, CustomerDto.class).map(entity);
+
+        assertEquals(42L, dto.getId());
+        assertEquals("John", dto.getName());
+        assertEquals(Long.valueOf(7), dto.getVisits());
+        assertEquals(3, dto.getScore());
+        assertEquals("john@example.com", dto.getEmail());
+        assertEquals(0L, dto.getRatio());
+        assertEquals("EU", dto.getRegion());
+    }
+
+    @Test
+    public void testNullWrapperLeavesPrimitiveUnchanged() {
+        CustomerEntity entity = entity();
+        entity.setScore(null);
+        entity.setId(null);
+
+        CustomerDto dto = new CustomerDto();
+        dto.setId(5L);
+        TypeMapper.of(CustomerEntity.class, CustomerDto.class).map(entity, dto);
+        assertEquals(-1, dto.getScore());
+        assertEquals(5L, dto.getId());
+    }
+
+    @Test
+    public void testDtoToEntity() {
+        CustomerDto dto = new CustomerDto();
+        dto.setId(9L);
+        dto.setVisits(null);
+        dto.setEmail("jane@example.com");
+
+        List<CustomerEntity> entities = TypeMapper.of(CustomerDto.class, CustomerEntity.class).mapAll(Arrays.asList(dto, dto));
+        assertEquals(2, entities.size());
+        assertEquals(Long.valueOf(9), entities.get(0).getId());
+        assertEquals("jane@example.com", entities.get(1).getEmailAddress());
+        assertEquals(-1, entities.get(0).getScore());
+        assertNull(entities.get(0).getName());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(NullPointerException.class, () -> TypeMapper.of(null, CustomerDto.class));
+        assertThrows(NullPointerException.class, () -> TypeMapper.of(CustomerEntity.class, CustomerDto.class).map(null));
+        assertThrows(InstanceInvocationException.class, () -> TypeMapper.of(CustomerEntity.class, Service.class).map(entity()));
+    }
+
+    @Test
+    public void testConstructorFailureKeepsCause() {
+        InstanceInvocationException e = assertThrows(InstanceInvocationException.class,
+                () -> TypeMapper.of(CustomerEntity.class, UnavailableDto.class).map(entity()));
+        assertTrue(e.getCause() instanceof IOException);
+    }
+
+    private static CustomerEntity entity() {
+        CustomerEntity entity = new CustomerEntity();
+        entity.setId(42L);
+        entity.setName("John");
+        entity.setVisits(7);
+        entity.setScore(3);
+        entity.setEmailAddress("john@example.com");
+        entity.setRatio(0.5);
+        return entity;
+    }
+}